@@ -9,5 +9,13 @@ public enum AlgoritmoDispersor {
     /** Algoritmo de Bob Jenkins para cadenas. */
     BJ_STRING,
     /** Algoritmo de Daniel J. Bernstein para cadenas. */
-    DJB_STRING;
+    DJB_STRING,
+    /** Algoritmo Murmur3 de 32 bits para cadenas. */
+    MURMUR3_STRING,
+    /** Algoritmo xxHash de 32 bits para cadenas. */
+    XXH32_STRING,
+    /** Algoritmo xxHash de 64 bits para cadenas, doblado a 32 bits. */
+    XXH64_STRING,
+    /** Algoritmo FNV-1a de 32 bits para cadenas. */
+    FNV1A_STRING;
 }
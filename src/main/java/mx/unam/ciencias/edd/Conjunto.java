@@ -8,13 +8,13 @@ import java.util.Iterator;
 public class Conjunto<T> implements Coleccion<T> {
 
     /* El conjunto de elementos. */
-    private Diccionario<T, T> conjunto;
+    private DiccionarioAbierto<T, T> conjunto;
 
     /**
      * Crea un nuevo conjunto.
      */
     public Conjunto() {
-        conjunto = new Diccionario<T, T>();
+        conjunto = new DiccionarioAbierto<T, T>();
     }
 
     /**
@@ -22,7 +22,7 @@ public class Conjunto<T> implements Coleccion<T> {
      * @param n el número tentativo de elementos.
      */
     public Conjunto(int n) {
-        conjunto = new Diccionario<>(n);
+        conjunto = new DiccionarioAbierto<>(n);
     }
 
     /**
@@ -0,0 +1,315 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * <p>Clase para conjuntos de enteros. Funciona como {@link Conjunto}, pero los
+ * elementos se guardan directamente en un arreglo de <code>int</code> con
+ * direccionamiento abierto: no se envuelven en {@link Integer}, y ni {@link
+ * #agrega} (salvo al crecer) ni {@link #contiene} crean objetos.</p>
+ *
+ * <p>Las posiciones libres se marcan con {@link Integer#MIN_VALUE}; ese valor
+ * también puede estar en el conjunto, pero se registra aparte.</p>
+ */
+public class ConjuntoInt implements Iterable<Integer> {
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador implements PrimitiveIterator.OfInt {
+
+        /* La posición del siguiente elemento; la longitud de la tabla si
+         * sólo falta el valor libre. */
+        private int indice;
+        /* Si falta regresar el valor libre. */
+        private boolean libre;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            indice = -1;
+            libre = tieneLibre;
+            mueveIndice();
+        }
+
+        /* Nos dice si hay un siguiente elemento. */
+        @Override public boolean hasNext() {
+            return indice < tabla.length || libre;
+        }
+
+        /* Regresa el siguiente elemento. */
+        @Override public int nextInt() {
+            if (indice < tabla.length) {
+                int elemento = tabla[indice];
+                mueveIndice();
+                return elemento;
+            }
+            if (!libre)
+                throw new NoSuchElementException("No hay siguiente elemento.");
+            libre = false;
+            return LIBRE;
+        }
+
+        /* Mueve el índice a la siguiente posición ocupada. */
+        private void mueveIndice() {
+            while (++indice < tabla.length && tabla[indice] == LIBRE)
+                ;
+        }
+    }
+
+    /** Máxima carga permitida por el conjunto. */
+    public static final double MAXIMA_CARGA = Diccionario.MAXIMA_CARGA;
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+    /* Constante de la dispersión de Fibonacci: 2^32 entre la razón áurea. */
+    private static final int FIBONACCI = 0x9e3779b9;
+    /* El valor de las posiciones libres. */
+    private static final int LIBRE = Integer.MIN_VALUE;
+
+    /* La tabla de elementos. */
+    private int[] tabla;
+    /* Número de bits de las posiciones. */
+    private int bits;
+    /* Número de elementos en la tabla. */
+    private int ocupadas;
+    /* Si el valor libre está en el conjunto. */
+    private boolean tieneLibre;
+    /* Número de elementos con el que la carga llega a la máxima. */
+    private int umbral;
+
+    /**
+     * Crea un nuevo conjunto.
+     */
+    public ConjuntoInt() {
+        this(MINIMA_CAPACIDAD);
+    }
+
+    /**
+     * Crea un nuevo conjunto para un número determinado de elementos.
+     * @param n el número tentativo de elementos.
+     */
+    public ConjuntoInt(int n) {
+        n = n < MINIMA_CAPACIDAD ? MINIMA_CAPACIDAD : n;
+        bits = 32 - Integer.numberOfLeadingZeros(n * 2 - 1);
+        tabla = new int[1 << bits];
+        Arrays.fill(tabla, LIBRE);
+        umbral = umbral(1 << bits);
+    }
+
+    /**
+     * Agrega un elemento al conjunto. Si ya estaba, no hace nada.
+     * @param elemento el elemento que queremos agregar al conjunto.
+     */
+    public void agrega(int elemento) {
+        if (elemento == LIBRE) {
+            tieneLibre = true;
+            return;
+        }
+
+        int i = busca(elemento);
+        if (tabla[i] == elemento)
+            return;
+
+        tabla[i] = elemento;
+        if (++ocupadas >= umbral)
+            reordena();
+    }
+
+    /**
+     * Nos dice si el elemento está en el conjunto.
+     * @param elemento el elemento que queremos saber si está en el conjunto.
+     * @return <code>true</code> si el elemento está en el conjunto,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(int elemento) {
+        if (elemento == LIBRE)
+            return tieneLibre;
+
+        return tabla[busca(elemento)] == elemento;
+    }
+
+    /**
+     * Elimina el elemento del conjunto, si está.
+     * @param elemento el elemento que queremos eliminar del conjunto.
+     */
+    public void elimina(int elemento) {
+        if (elemento == LIBRE) {
+            tieneLibre = false;
+            return;
+        }
+
+        int i = busca(elemento);
+        if (tabla[i] == LIBRE)
+            return;
+
+        // Recorre hacia atrás los elementos siguientes cuya posición original
+        // no está entre el hueco y ellos, para que sigan siendo alcanzables.
+        int mascara = tabla.length - 1;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (tabla[j] == LIBRE)
+                break;
+            int k = posicion(tabla[j]);
+            if (i <= j ? (i < k && k <= j) : (i < k || k <= j))
+                continue;
+            tabla[i] = tabla[j];
+            i = j;
+        }
+        tabla[i] = LIBRE;
+        ocupadas--;
+    }
+
+    /**
+     * Nos dice si el conjunto es vacío.
+     * @return <code>true</code> si el conjunto es vacío, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean esVacia() {
+        return getElementos() == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el conjunto.
+     * @return el número de elementos en el conjunto.
+     */
+    public int getElementos() {
+        return tieneLibre ? ocupadas + 1 : ocupadas;
+    }
+
+    /**
+     * Limpia el conjunto de elementos, dejándolo vacío.
+     */
+    public void limpia() {
+        Arrays.fill(tabla, LIBRE);
+        ocupadas = 0;
+        tieneLibre = false;
+    }
+
+    /**
+     * Regresa la intersección del conjunto y el conjunto recibido.
+     * @param conjunto el conjunto que queremos intersectar con éste.
+     * @return la intersección del conjunto y el conjunto recibido.
+     */
+    public ConjuntoInt interseccion(ConjuntoInt conjunto) {
+        ConjuntoInt conjuntoInterseccion = new ConjuntoInt();
+
+        PrimitiveIterator.OfInt iterador = iterator();
+        while (iterador.hasNext()) {
+            int elemento = iterador.nextInt();
+            if (conjunto.contiene(elemento))
+                conjuntoInterseccion.agrega(elemento);
+        }
+
+        return conjuntoInterseccion;
+    }
+
+    /**
+     * Regresa la unión del conjunto y el conjunto recibido.
+     * @param conjunto el conjunto que queremos unir con éste.
+     * @return la unión del conjunto y el conjunto recibido.
+     */
+    public ConjuntoInt union(ConjuntoInt conjunto) {
+        ConjuntoInt conjuntoUnion = new ConjuntoInt(getElementos());
+
+        PrimitiveIterator.OfInt iterador = iterator();
+        while (iterador.hasNext())
+            conjuntoUnion.agrega(iterador.nextInt());
+
+        iterador = conjunto.iterator();
+        while (iterador.hasNext())
+            conjuntoUnion.agrega(iterador.nextInt());
+
+        return conjuntoUnion;
+    }
+
+    /**
+     * Regresa una representación en cadena del conjunto.
+     * @return una representación en cadena del conjunto.
+     */
+    @Override public String toString() {
+        if (esVacia())
+            return "{}";
+
+        StringBuilder texto = new StringBuilder("{ ");
+
+        int i = getElementos();
+        PrimitiveIterator.OfInt iterador = iterator();
+        while (iterador.hasNext())
+            texto.append(iterador.nextInt()).append(i-- > 1 ? ", " : " }");
+
+        return texto.toString();
+    }
+
+    /**
+     * Nos dice si el conjunto es igual al objeto recibido.
+     * @param o el objeto que queremos saber si es igual al conjunto.
+     * @return <code>true</code> si el objeto recibido es instancia de
+     *         ConjuntoInt, y tiene los mismos elementos.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        ConjuntoInt c = (ConjuntoInt)o;
+
+        if (c.ocupadas != ocupadas || c.tieneLibre != tieneLibre)
+            return false;
+
+        for (int i = 0; i < tabla.length; i++)
+            if (tabla[i] != LIBRE && !c.contiene(tabla[i]))
+                return false;
+
+        return true;
+    }
+
+    /**
+     * Regresa un iterador para iterar el conjunto, sin ningún orden
+     * específico; {@link PrimitiveIterator.OfInt#nextInt} regresa los
+     * elementos sin envolverlos.
+     * @return un iterador para iterar el conjunto.
+     */
+    @Override public PrimitiveIterator.OfInt iterator() {
+        return new Iterador();
+    }
+
+    /* Regresa la posición que le toca a un elemento. El elemento se
+     * multiplica por una constante y se toman los bits altos, para que los
+     * elementos consecutivos no se amontonen. */
+    private int posicion(int elemento) {
+        return (elemento * FIBONACCI) >>> (32 - bits);
+    }
+
+    /* Regresa la posición del elemento, o la posición libre donde iría. */
+    private int busca(int elemento) {
+        int mascara = tabla.length - 1;
+        int i = posicion(elemento);
+        while (tabla[i] != LIBRE && tabla[i] != elemento)
+            i = (i + 1) & mascara;
+        return i;
+    }
+
+    /* Regresa el número de elementos con el que una tabla de la longitud
+     * dada llega a la carga máxima. */
+    private static int umbral(int longitud) {
+        return (int)Math.ceil(longitud * MAXIMA_CARGA);
+    }
+
+    /* Duplica la capacidad y vuelve a acomodar todos los elementos. */
+    private void reordena() {
+        int[] vieja = tabla;
+        bits++;
+        umbral = umbral(1 << bits);
+        tabla = new int[1 << bits];
+        Arrays.fill(tabla, LIBRE);
+
+        int mascara = tabla.length - 1;
+        for (int i = 0; i < vieja.length; i++) {
+            if (vieja[i] == LIBRE)
+                continue;
+            int j = posicion(vieja[i]);
+            while (tabla[j] != LIBRE)
+                j = (j + 1) & mascara;
+            tabla[j] = vieja[i];
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para conjuntos disjuntos (unión y búsqueda) sobre los enteros de 0
+ * a <i>n</i>-1. Al principio cada entero está en su propio conjunto.</p>
+ *
+ * <p>Los conjuntos son árboles guardados en un arreglo de padres; la unión es
+ * por rango y la búsqueda comprime los caminos, así que ambas operaciones
+ * cuestan tiempo <i>O</i>(α(<i>n</i>)) amortizado.</p>
+ */
+public class ConjuntosDisjuntos {
+
+    /* El padre de cada elemento; las raíces son su propio padre. */
+    private int[] padres;
+    /* Cota superior de la altura del árbol de cada raíz. */
+    private byte[] rangos;
+    /* Número de conjuntos. */
+    private int conjuntos;
+
+    /**
+     * Crea <i>n</i> conjuntos, uno por cada entero de 0 a <i>n</i>-1.
+     * @param n el número de elementos.
+     * @throws IllegalArgumentException si n es negativo.
+     */
+    public ConjuntosDisjuntos(int n) {
+        if (n < 0)
+            throw new IllegalArgumentException("El número de elementos no es válido.");
+
+        padres = new int[n];
+        rangos = new byte[n];
+        limpia();
+    }
+
+    /**
+     * Regresa el representante del conjunto del elemento.
+     * @param elemento el elemento.
+     * @return el representante del conjunto del elemento.
+     * @throws NoSuchElementException si el elemento no está entre 0 y
+     *         <i>n</i>-1.
+     */
+    public int encuentra(int elemento) {
+        if (elemento < 0 || elemento >= padres.length)
+            throw new NoSuchElementException("El elemento no es válido.");
+
+        // Compresión por mitades: cada elemento apunta a su abuelo
+        while (padres[elemento] != elemento) {
+            padres[elemento] = padres[padres[elemento]];
+            elemento = padres[elemento];
+        }
+        return elemento;
+    }
+
+    /**
+     * Une los conjuntos de dos elementos.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return <code>true</code> si los elementos estaban en conjuntos
+     *         distintos, <code>false</code> si ya estaban en el mismo.
+     * @throws NoSuchElementException si alguno de los elementos no está entre
+     *         0 y <i>n</i>-1.
+     */
+    public boolean une(int a, int b) {
+        a = encuentra(a);
+        b = encuentra(b);
+        if (a == b)
+            return false;
+
+        if (rangos[a] < rangos[b]) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+        padres[b] = a;
+        if (rangos[a] == rangos[b])
+            rangos[a]++;
+        conjuntos--;
+        return true;
+    }
+
+    /**
+     * Nos dice si dos elementos están en el mismo conjunto.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return <code>true</code> si los elementos están en el mismo conjunto,
+     *         <code>false</code> en otro caso.
+     * @throws NoSuchElementException si alguno de los elementos no está entre
+     *         0 y <i>n</i>-1.
+     */
+    public boolean mismoConjunto(int a, int b) {
+        return encuentra(a) == encuentra(b);
+    }
+
+    /**
+     * Regresa el número de conjuntos.
+     * @return el número de conjuntos.
+     */
+    public int getConjuntos() {
+        return conjuntos;
+    }
+
+    /**
+     * Regresa el número de elementos.
+     * @return el número de elementos.
+     */
+    public int getElementos() {
+        return padres.length;
+    }
+
+    /**
+     * Vuelve a poner cada elemento en su propio conjunto.
+     */
+    public void limpia() {
+        for (int i = 0; i < padres.length; i++) {
+            padres[i] = i;
+            rangos[i] = 0;
+        }
+        conjuntos = padres.length;
+    }
+}
@@ -18,11 +18,15 @@ public class Diccionario<K, V> implements Iterable<V> {
         public K llave;
         /* El valor. */
         public V valor;
+        /* La dispersión de la llave; se guarda para no volver a calcularla
+         * al crecer. */
+        public int dispersion;
 
         /* Construye una nueva entrada. */
-        public Entrada(K llave, V valor) {
+        public Entrada(K llave, V valor, int dispersion) {
             this.llave = llave;
             this.valor = valor;
+            this.dispersion = dispersion;
         }
     }
 
@@ -96,6 +100,8 @@ public class Diccionario<K, V> implements Iterable<V> {
 
     /* Capacidad mínima; decidida arbitrariamente a 2^6. */
     private static final int MINIMA_CAPACIDAD = 64;
+    /* Capacidad máxima del arreglo de listas. */
+    private static final int MAXIMA_CAPACIDAD = 1 << 30;
 
     /* Dispersor. */
     private Dispersor<K> dispersor;
@@ -103,6 +109,8 @@ public class Diccionario<K, V> implements Iterable<V> {
     private Lista<Entrada>[] entradas;
     /* Número de valores. */
     private int elementos;
+    /* Número de valores con el que la carga llega a la máxima. */
+    private int umbral;
 
     /* Truco para crear un arreglo genérico. Es necesario hacerlo así por cómo
        Java implementa sus genéricos; de otra forma obtenemos advertencias del
@@ -147,8 +155,8 @@ public class Diccionario<K, V> implements Iterable<V> {
     public Diccionario(int capacidad, Dispersor<K> dispersor) {
         this.dispersor = dispersor;
         capacidad = capacidad < MINIMA_CAPACIDAD ? MINIMA_CAPACIDAD : capacidad;
-        capacidad = potenciaDe2MayorIgual(capacidad * 2);
-        entradas = nuevoArreglo(capacidad);
+        entradas = nuevoArreglo(potenciaDe2MayorIgual(capacidad * 2));
+        umbral = umbral(entradas.length);
     }
 
     /**
@@ -163,22 +171,26 @@ public class Diccionario<K, V> implements Iterable<V> {
         if (llave == null || valor == null)
             throw new IllegalArgumentException("La llave y el valor deben ser no vacíos.");
 
-        int indiceLlave = mascaraIndice(llave);
-        Entrada entrada = new Entrada(llave, valor);
-
-        if (entradas[indiceLlave] == null)
-            entradas[indiceLlave] = new Lista<Entrada>();
+        agrega(llave, valor, dispersor.dispersa(llave));
+    }
 
-        Entrada colision = encuentraEnLista(indiceLlave, llave);
+    /* Agrega el valor con la llave, cuya dispersión ya se calculó; la entrada
+     * sólo se crea si la llave no estaba. */
+    void agrega(K llave, V valor, int dispersion) {
+        int indiceLlave = dispersion & (entradas.length - 1);
+        Entrada colision = encuentraEnLista(indiceLlave, llave, dispersion);
 
-        if (colision == null) {
-            entradas[indiceLlave].agrega(entrada);
-            elementos++;
-        } else
+        if (colision != null) {
             colision.valor = valor;
+            return;
+        }
+
+        if (entradas[indiceLlave] == null)
+            entradas[indiceLlave] = new Lista<Entrada>();
+        entradas[indiceLlave].agrega(new Entrada(llave, valor, dispersion));
 
-        if (carga() >= MAXIMA_CARGA)
-            reordena();
+        if (++elementos >= umbral)
+            reordena(entradas.length * 2);
     }
 
     /**
@@ -192,8 +204,7 @@ public class Diccionario<K, V> implements Iterable<V> {
         if (llave == null)
             throw new IllegalArgumentException("La llave debe ser distinta de null.");
 
-        int indiceLlave = mascaraIndice(llave);
-        Entrada entrada = encuentraEnLista(indiceLlave, llave);
+        Entrada entrada = encuentraEnLista(llave);
 
         if (entrada == null)
             throw new NoSuchElementException("No existe el elemento con tal llave.");
@@ -201,6 +212,14 @@ public class Diccionario<K, V> implements Iterable<V> {
         return entrada.valor;
     }
 
+    /* Regresa el valor de la llave, cuya dispersión ya se calculó, o null si
+     * la llave no está. */
+    V busca(K llave, int dispersion) {
+        Entrada entrada = encuentraEnLista(dispersion & (entradas.length - 1),
+                                           llave, dispersion);
+        return entrada == null ? null : entrada.valor;
+    }
+
     /**
      * Nos dice si una llave se encuentra en el diccionario.
      * @param llave la llave que queremos ver si está en el diccionario.
@@ -211,8 +230,7 @@ public class Diccionario<K, V> implements Iterable<V> {
         if (llave == null)
             return false;
 
-        Entrada entrada = encuentraEnLista(mascaraIndice(llave), llave);
-        return entrada != null;
+        return encuentraEnLista(llave) != null;
     }
 
     /**
@@ -226,11 +244,18 @@ public class Diccionario<K, V> implements Iterable<V> {
         if (llave == null)
             throw new IllegalArgumentException("La llave debe ser distinta de null.");
 
-        int indiceLlave = mascaraIndice(llave);
-        Entrada entrada = encuentraEnLista(indiceLlave, llave);
+        if (!elimina(llave, dispersor.dispersa(llave)))
+            throw new NoSuchElementException("No existe la entrada con la llave recibida.");
+    }
+
+    /* Elimina la entrada de la llave, cuya dispersión ya se calculó; regresa
+     * si la llave estaba. */
+    boolean elimina(K llave, int dispersion) {
+        int indiceLlave = dispersion & (entradas.length - 1);
+        Entrada entrada = encuentraEnLista(indiceLlave, llave, dispersion);
 
         if (entrada == null)
-            throw new NoSuchElementException("No existe la entrada con la llave recibida.");
+            return false;
 
         entradas[indiceLlave].elimina(entrada);
 
@@ -238,6 +263,23 @@ public class Diccionario<K, V> implements Iterable<V> {
             entradas[indiceLlave] = null;
 
         elementos--;
+        return true;
+    }
+
+    /**
+     * Asegura que el diccionario tenga lugar para el número de entradas dado
+     * sin tener que crecer. Conviene llamarlo antes de agregar muchas
+     * entradas de una vez, para acomodarlas una sola vez.
+     * @param n el número de entradas que debe poder tener el diccionario.
+     * @throws IllegalArgumentException si el número de entradas es negativo.
+     */
+    public void asegurarCapacidad(int n) {
+        if (n < 0)
+            throw new IllegalArgumentException("El número de entradas no puede ser negativo.");
+
+        int capacidad = potenciaDe2MayorIgual((int)Math.min(2L * n, MAXIMA_CAPACIDAD));
+        if (capacidad > entradas.length)
+            reordena(capacidad);
     }
 
     /**
@@ -274,7 +316,7 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @return la carga del diccionario.
      */
     public double carga() {
-        return Double.valueOf(elementos) / entradas.length;
+        return (double)elementos / entradas.length;
     }
 
     /**
@@ -368,41 +410,56 @@ public class Diccionario<K, V> implements Iterable<V> {
         return new IteradorValores();
     }
 
-    private int potenciaDe2MayorIgual(int num) {
-        int x = (int) Math.ceil(Math.log(num) / Math.log(2));
-        return (int) Math.pow(2, x);
+    /* Regresa la menor potencia de 2 mayor o igual al número recibido. */
+    private static int potenciaDe2MayorIgual(int num) {
+        return num <= 1 ? 1 : Integer.highestOneBit(num - 1) << 1;
     }
 
-    private int mascaraIndice(K llave) {
-        return dispersor.dispersa(llave) & (entradas.length - 1);
+    /* Regresa el número de valores con el que un arreglo de listas de la
+     * longitud dada llega a la carga máxima. */
+    private static int umbral(int longitud) {
+        return (int)Math.ceil(longitud * MAXIMA_CARGA);
     }
 
-    private Entrada encuentraEnLista(int indice, K llave) {
+    /* Regresa la entrada con la llave, o null si no está. */
+    private Entrada encuentraEnLista(K llave) {
+        int dispersion = dispersor.dispersa(llave);
+        return encuentraEnLista(dispersion & (entradas.length - 1), llave, dispersion);
+    }
+
+    /* Regresa la entrada con la llave en la lista del índice, o null si no
+     * está. Sólo se compara con equals si la dispersión es la misma. */
+    private Entrada encuentraEnLista(int indice, K llave, int dispersion) {
         if (entradas[indice] == null)
             return null;
 
         for (Entrada entrada : entradas[indice])
-            if (entrada.llave.equals(llave))
+            if (entrada.dispersion == dispersion && entrada.llave.equals(llave))
                 return entrada;
 
         return null;
     }
 
-    private void reordena() {
-        Lista<Entrada>[] nuevasEntradas = nuevoArreglo(entradas.length * 2);
-
-        Iterador iterador = new Iterador();
+    /* Acomoda las entradas en un arreglo de listas de la capacidad dada,
+     * usando la dispersión guardada en cada entrada. */
+    private void reordena(int capacidad) {
+        Lista<Entrada>[] nuevasEntradas = nuevoArreglo(capacidad);
+        int mascara = capacidad - 1;
 
-        while (iterador.hasNext()) {
-            Entrada entrada = iterador.siguiente();
-            int indiceLlave = dispersor.dispersa(entrada.llave) & (nuevasEntradas.length - 1);
+        for (Lista<Entrada> lista : entradas) {
+            if (lista == null)
+                continue;
+            for (Entrada entrada : lista) {
+                int indiceLlave = entrada.dispersion & mascara;
 
-            if (nuevasEntradas[indiceLlave] == null)
-                nuevasEntradas[indiceLlave] = new Lista<Entrada>();
+                if (nuevasEntradas[indiceLlave] == null)
+                    nuevasEntradas[indiceLlave] = new Lista<Entrada>();
 
-            nuevasEntradas[indiceLlave].agrega(entrada);
+                nuevasEntradas[indiceLlave].agrega(entrada);
+            }
         }
 
         entradas = nuevasEntradas;
+        umbral = umbral(capacidad);
     }
 }
\ No newline at end of file
@@ -0,0 +1,463 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para diccionarios (<em>hash tables</em>) con direccionamiento
+ * abierto. Tiene la misma interfaz que {@link Diccionario}, pero en lugar de
+ * listas guarda las llaves y los valores en dos arreglos paralelos, y resuelve
+ * las colisiones con sondeo lineal: si la posición de una llave está ocupada,
+ * la llave va en la siguiente posición libre.</p>
+ *
+ * <p>Agregar no crea objetos (salvo al crecer), y buscar recorre posiciones
+ * contiguas de un arreglo en lugar de los nodos de una lista. Al eliminar, las
+ * llaves que siguen se recorren hacia atrás para no dejar huecos en sus
+ * secuencias de sondeo, así que no hacen falta marcas de borrado.</p>
+ *
+ * <p>Como eliminar recorre llaves hacia posiciones que un iterador ya pudo
+ * haber pasado, los iteradores fallan en cuanto detectan que el diccionario
+ * cambió después de crearlos: no se pueden agregar llaves nuevas ni eliminar
+ * llaves mientras se itera. Reemplazar el valor de una llave que ya está sí
+ * se permite.</p>
+ */
+public class DiccionarioAbierto<K, V> implements Iterable<V> {
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador {
+
+        /* La posición de la siguiente llave. */
+        private int indice;
+        /* Las modificaciones del diccionario al crear el iterador. */
+        private int esperadas;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            indice = -1;
+            esperadas = modificaciones;
+            mueveIndice();
+        }
+
+        /* Nos dice si hay una siguiente entrada. */
+        public boolean hasNext() {
+            revisaModificaciones();
+            return indice < llaves.length;
+        }
+
+        /* Regresa la posición de la siguiente entrada. */
+        public int siguiente() {
+            revisaModificaciones();
+            if (indice >= llaves.length)
+                throw new NoSuchElementException("No hay siguiente elemento.");
+
+            int actual = indice;
+            mueveIndice();
+            return actual;
+        }
+
+        /* Mueve el índice a la siguiente posición ocupada. */
+        private void mueveIndice() {
+            while (++indice < llaves.length && llaves[indice] == null)
+                ;
+        }
+
+        /* Falla si el diccionario cambió desde que se creó el iterador. */
+        private void revisaModificaciones() {
+            if (modificaciones != esperadas)
+                throw new ConcurrentModificationException("El diccionario se modificó " +
+                                                          "durante la iteración.");
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves extends Iterador
+        implements Iterator<K> {
+
+        /* Regresa el siguiente elemento. */
+        @Override public K next() {
+            return llave(siguiente());
+        }
+    }
+
+    /* Clase interna privada para iteradores de valores. */
+    private class IteradorValores extends Iterador
+        implements Iterator<V> {
+
+        /* Regresa el siguiente elemento. */
+        @Override public V next() {
+            return valor(siguiente());
+        }
+    }
+
+    /** Máxima carga permitida por el diccionario. */
+    public static final double MAXIMA_CARGA = Diccionario.MAXIMA_CARGA;
+
+    /* Constante de la dispersión de Fibonacci: 2^32 entre la razón áurea. */
+    private static final int FIBONACCI = 0x9e3779b9;
+    /* Capacidad predeterminada; decidida arbitrariamente a 2^6. */
+    private static final int CAPACIDAD_PREDETERMINADA = 64;
+    /* Capacidad mínima; con ella la tabla tiene cuatro posiciones. */
+    private static final int MINIMA_CAPACIDAD = 2;
+
+    /* Dispersor. */
+    private Dispersor<K> dispersor;
+    /* Las llaves; null en las posiciones libres. */
+    private Object[] llaves;
+    /* Los valores, en las mismas posiciones que sus llaves. */
+    private Object[] valores;
+    /* Número de bits de las posiciones. */
+    private int bits;
+    /* Número de valores. */
+    private int elementos;
+    /* Número de valores con el que la carga llega a la máxima. */
+    private int umbral;
+    /* Número de veces que se han agregado o eliminado llaves. */
+    private int modificaciones;
+
+    /**
+     * Construye un diccionario con una capacidad inicial y dispersor
+     * predeterminados.
+     */
+    public DiccionarioAbierto() {
+        this(CAPACIDAD_PREDETERMINADA, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial definida por el
+     * usuario, y un dispersor predeterminado.
+     * @param capacidad la capacidad a utilizar.
+     */
+    public DiccionarioAbierto(int capacidad) {
+        this(capacidad, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial predeterminada, y un
+     * dispersor definido por el usuario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioAbierto(Dispersor<K> dispersor) {
+        this(CAPACIDAD_PREDETERMINADA, dispersor);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y un método de
+     * dispersor definidos por el usuario.
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioAbierto(int capacidad, Dispersor<K> dispersor) {
+        this.dispersor = dispersor;
+        capacidad = capacidad < MINIMA_CAPACIDAD ? MINIMA_CAPACIDAD : capacidad;
+        bits = 32 - Integer.numberOfLeadingZeros(capacidad * 2 - 1);
+        llaves = new Object[1 << bits];
+        valores = new Object[1 << bits];
+        umbral = umbral(1 << bits);
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public void agrega(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException("La llave y el valor deben ser no vacíos.");
+
+        int i = busca(llave);
+        if (llaves[i] != null) {
+            valores[i] = valor;
+            return;
+        }
+
+        llaves[i] = llave;
+        valores[i] = valor;
+        modificaciones++;
+        if (++elementos >= umbral)
+            reordena(bits + 1);
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public V get(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("La llave debe ser distinta de null.");
+
+        int i = busca(llave);
+        if (llaves[i] == null)
+            throw new NoSuchElementException("No existe el elemento con tal llave.");
+
+        return valor(i);
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <code>true</code> si la llave está en el diccionario,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(K llave) {
+        if (llave == null)
+            return false;
+
+        return llaves[busca(llave)] != null;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    public void elimina(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("La llave debe ser distinta de null.");
+
+        int i = busca(llave);
+        if (llaves[i] == null)
+            throw new NoSuchElementException("No existe la entrada con la llave recibida.");
+
+        // Recorre hacia atrás las llaves siguientes cuya posición original no
+        // está entre el hueco y ellas, para que sigan siendo alcanzables.
+        int mascara = llaves.length - 1;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (llaves[j] == null)
+                break;
+            int k = posicion(llave(j));
+            if (i <= j ? (i < k && k <= j) : (i < k || k <= j))
+                continue;
+            llaves[i] = llaves[j];
+            valores[i] = valores[j];
+            i = j;
+        }
+        llaves[i] = null;
+        valores[i] = null;
+        elementos--;
+        modificaciones++;
+    }
+
+    /**
+     * Asegura que el diccionario tenga lugar para el número de entradas dado
+     * sin tener que crecer. Conviene llamarlo antes de agregar muchas
+     * entradas de una vez, para acomodarlas una sola vez.
+     * @param n el número de entradas que debe poder tener el diccionario.
+     * @throws IllegalArgumentException si el número de entradas es negativo.
+     */
+    public void asegurarCapacidad(int n) {
+        if (n < 0)
+            throw new IllegalArgumentException("El número de entradas no puede ser negativo.");
+
+        int capacidad = (int)Math.min(Math.max(2L * n, 2), 1 << 30);
+        int nuevosBits = 32 - Integer.numberOfLeadingZeros(capacidad - 1);
+        if (nuevosBits > bits)
+            reordena(nuevosBits);
+    }
+
+    /**
+     * Nos dice cuántas colisiones hay en el diccionario: el número de llaves
+     * que no están en la posición que les toca.
+     * @return cuántas colisiones hay en el diccionario.
+     */
+    public int colisiones() {
+        int total = 0;
+
+        for (int i = 0; i < llaves.length; i++)
+            if (llaves[i] != null && posicion(llave(i)) != i)
+                total++;
+
+        return total;
+    }
+
+    /**
+     * Nos dice el máximo número de colisiones para una misma llave que tenemos
+     * en el diccionario: la mayor distancia entre la posición que le toca a
+     * una llave y la posición en la que está.
+     * @return el máximo número de colisiones para una misma llave.
+     */
+    public int colisionMaxima() {
+        int maximo = 0;
+        int mascara = llaves.length - 1;
+
+        for (int i = 0; i < llaves.length; i++)
+            if (llaves[i] != null) {
+                int distancia = (i - posicion(llave(i))) & mascara;
+                if (distancia > maximo)
+                    maximo = distancia;
+            }
+
+        return maximo;
+    }
+
+    /**
+     * Nos dice la carga del diccionario.
+     * @return la carga del diccionario.
+     */
+    public double carga() {
+        return (double)elementos / llaves.length;
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario.
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío.
+     */
+    public void limpia() {
+        elementos = 0;
+        modificaciones++;
+        Arrays.fill(llaves, null);
+        Arrays.fill(valores, null);
+    }
+
+    /**
+     * Regresa una representación en cadena del diccionario.
+     * @return una representación en cadena del diccionario.
+     */
+    @Override public String toString() {
+        if (elementos == 0)
+            return "{}";
+
+        StringBuilder texto = new StringBuilder("{ ");
+        for (int i = 0; i < llaves.length; i++)
+            if (llaves[i] != null)
+                texto.append(String.format("'%s': '%s', ", llaves[i], valores[i]));
+
+        return texto.append("}").toString();
+    }
+
+    /**
+     * Nos dice si el diccionario es igual al objeto recibido.
+     * @param o el objeto que queremos saber si es igual al diccionario.
+     * @return <code>true</code> si el objeto recibido es instancia de
+     *         DiccionarioAbierto, y tiene las mismas llaves asociadas a los
+     *         mismos valores.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked") DiccionarioAbierto<K, V> d =
+            (DiccionarioAbierto<K, V>)o;
+
+        if (d.elementos != elementos)
+            return false;
+
+        for (int i = 0; i < llaves.length; i++) {
+            if (llaves[i] == null)
+                continue;
+            int j = d.busca(llave(i));
+            if (d.llaves[j] == null || !d.valores[j].equals(valores[i]))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Regresa un iterador para iterar las llaves del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar las llaves del diccionario.
+     */
+    public Iterator<K> iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar los valores del diccionario.
+     */
+    @Override public Iterator<V> iterator() {
+        return new IteradorValores();
+    }
+
+    /* Regresa la posición que le toca a una llave: los bits bajos de la
+     * dispersión, después de mezclarles los 16 bits altos multiplicados por
+     * la constante de Fibonacci. Con sondeo lineal las secuencias de
+     * posiciones cercanas se juntan, así que las dispersiones que sólo
+     * difieren en los bits altos (como las de los Double enteros) no deben
+     * caer todas en la misma región. Las dispersiones menores que 2^16 no
+     * cambian, así que para ellas el orden de iteración es el mismo que en
+     * {@link Diccionario}. */
+    private int posicion(K llave) {
+        int h = dispersor.dispersa(llave);
+        return (h ^ ((h >>> 16) * FIBONACCI)) & (llaves.length - 1);
+    }
+
+    /* Regresa la posición de la llave, o la posición libre donde iría. */
+    private int busca(K llave) {
+        int mascara = llaves.length - 1;
+        int i = posicion(llave);
+        while (llaves[i] != null && !llaves[i].equals(llave))
+            i = (i + 1) & mascara;
+        return i;
+    }
+
+    /* Regresa la llave en la posición dada. */
+    @SuppressWarnings("unchecked") private K llave(int i) {
+        return (K)llaves[i];
+    }
+
+    /* Regresa el valor en la posición dada. */
+    @SuppressWarnings("unchecked") private V valor(int i) {
+        return (V)valores[i];
+    }
+
+    /* Regresa el número de valores con el que una tabla de la longitud dada
+     * llega a la carga máxima. */
+    private static int umbral(int longitud) {
+        return (int)Math.ceil(longitud * MAXIMA_CARGA);
+    }
+
+    /* Cambia la tabla a una de 2^nuevosBits posiciones y vuelve a acomodar
+     * todas las llaves. */
+    private void reordena(int nuevosBits) {
+        Object[] viejasLlaves = llaves;
+        Object[] viejosValores = valores;
+        bits = nuevosBits;
+        umbral = umbral(1 << bits);
+        modificaciones++;
+        llaves = new Object[1 << bits];
+        valores = new Object[1 << bits];
+
+        // Las llaves son distintas, así que basta buscar la primera posición
+        // libre sin compararlas.
+        int mascara = llaves.length - 1;
+        for (int i = 0; i < viejasLlaves.length; i++) {
+            if (viejasLlaves[i] == null)
+                continue;
+            @SuppressWarnings("unchecked") K llave = (K)viejasLlaves[i];
+            int j = posicion(llave);
+            while (llaves[j] != null)
+                j = (j + 1) & mascara;
+            llaves[j] = llave;
+            valores[j] = viejosValores[i];
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package mx.unam.ciencias.edd;
+
+import java.lang.reflect.Array;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * <p>Clase para diccionarios que pueden compartirse entre hilos. Las llaves se
+ * reparten en franjas, cada una con su propio {@link Diccionario} y su propio
+ * candado de lectura y escritura: las lecturas de una misma franja pueden
+ * ocurrir a la vez, y las escrituras sólo bloquean a su franja. Cada franja
+ * crece por su cuenta, así que crecer tampoco detiene al diccionario
+ * completo.</p>
+ *
+ * <p>La franja de una llave sale de los bits altos de su dispersión, mezclada
+ * con una constante; dentro de la franja el {@link Diccionario} usa los bits
+ * bajos. La dispersión se calcula una sola vez por operación.</p>
+ *
+ * <p>{@link #getElementos}, {@link #toString} y los iteradores recorren las
+ * franjas una por una; si hay otros hilos modificando el diccionario, el
+ * resultado puede no corresponder a un solo instante.</p>
+ */
+public class DiccionarioConcurrente<K, V> implements Iterable<V> {
+
+    /* Una franja: un diccionario y su candado. */
+    private class Franja {
+
+        /* El diccionario de la franja. */
+        private Diccionario<K, V> diccionario;
+        /* El candado de la franja. */
+        private ReentrantReadWriteLock candado;
+
+        /* Construye una franja con la capacidad dada. */
+        public Franja(int capacidad) {
+            diccionario = new Diccionario<K, V>(capacidad, dispersor);
+            candado = new ReentrantReadWriteLock();
+        }
+    }
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+    /* Máximo número de franjas. */
+    private static final int MAXIMAS_FRANJAS = 1 << 16;
+    /* Constante de la dispersión de Fibonacci: 2^32 entre la razón áurea. */
+    private static final int FIBONACCI = 0x9e3779b9;
+
+    /* Dispersor. */
+    private Dispersor<K> dispersor;
+    /* Las franjas. */
+    private Franja[] franjas;
+    /* Número de bits del índice de las franjas. */
+    private int bits;
+
+    /* Truco para crear un arreglo genérico, igual que en {@link
+       Diccionario}. */
+    @SuppressWarnings("unchecked")
+    private Franja[] nuevoArreglo(int n) {
+        return (Franja[])Array.newInstance(Franja.class, n);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y dispersor
+     * predeterminados, y cuatro franjas por procesador.
+     */
+    public DiccionarioConcurrente() {
+        this(MINIMA_CAPACIDAD, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial definida por el
+     * usuario, un dispersor predeterminado, y cuatro franjas por procesador.
+     * @param capacidad la capacidad a utilizar.
+     */
+    public DiccionarioConcurrente(int capacidad) {
+        this(capacidad, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial predeterminada, un
+     * dispersor definido por el usuario, y cuatro franjas por procesador.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioConcurrente(Dispersor<K> dispersor) {
+        this(MINIMA_CAPACIDAD, dispersor);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y un dispersor
+     * definidos por el usuario, y cuatro franjas por procesador.
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioConcurrente(int capacidad, Dispersor<K> dispersor) {
+        this(capacidad, dispersor, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial, un dispersor y un
+     * número de franjas definidos por el usuario. El número de franjas se
+     * redondea a la siguiente potencia de 2.
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param dispersor el dispersor a utilizar.
+     * @param franjas el número de franjas; es el número de escrituras que
+     *        pueden ocurrir a la vez.
+     * @throws IllegalArgumentException si el número de franjas no está entre
+     *         1 y 2^16.
+     */
+    public DiccionarioConcurrente(int capacidad, Dispersor<K> dispersor, int franjas) {
+        if (franjas < 1 || franjas > MAXIMAS_FRANJAS)
+            throw new IllegalArgumentException("El número de franjas debe estar entre 1 y " +
+                                               MAXIMAS_FRANJAS + ".");
+
+        this.dispersor = dispersor;
+        bits = 32 - Integer.numberOfLeadingZeros(franjas - 1);
+        capacidad = capacidad < MINIMA_CAPACIDAD ? MINIMA_CAPACIDAD : capacidad;
+        int capacidadFranja = (capacidad >> bits) + 1;
+
+        this.franjas = nuevoArreglo(1 << bits);
+        for (int i = 0; i < this.franjas.length; i++)
+            this.franjas[i] = new Franja(capacidadFranja);
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public void agrega(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException("La llave y el valor deben ser no vacíos.");
+
+        int dispersion = dispersor.dispersa(llave);
+        Franja franja = franja(dispersion);
+        franja.candado.writeLock().lock();
+        try {
+            franja.diccionario.agrega(llave, valor, dispersion);
+        } finally {
+            franja.candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public V get(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("La llave debe ser distinta de null.");
+
+        V valor = busca(llave);
+        if (valor == null)
+            throw new NoSuchElementException("No existe el elemento con tal llave.");
+
+        return valor;
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <code>true</code> si la llave está en el diccionario,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(K llave) {
+        if (llave == null)
+            return false;
+
+        return busca(llave) != null;
+    }
+
+    /**
+     * Regresa el valor asociado a la llave; si la llave no está, calcula el
+     * valor con la función dada y lo agrega. Todo ocurre de forma atómica: si
+     * varios hilos piden la misma llave a la vez, la función se llama una sola
+     * vez y todos reciben el mismo valor. Mientras la función se calcula, la
+     * franja de la llave queda bloqueada, así que la función debe ser corta y
+     * no debe usar el diccionario.
+     * @param llave la llave del valor.
+     * @param funcion la función que calcula el valor a partir de la llave.
+     * @return el valor que ya estaba asociado a la llave, o el calculado.
+     * @throws IllegalArgumentException si la llave es nula, o si la función
+     *         regresa <code>null</code>.
+     */
+    public V calculaSiAusente(K llave, Function<? super K, ? extends V> funcion) {
+        if (llave == null)
+            throw new IllegalArgumentException("La llave debe ser distinta de null.");
+
+        int dispersion = dispersor.dispersa(llave);
+        Franja franja = franja(dispersion);
+
+        // Casi siempre la llave ya está; basta el candado de lectura.
+        franja.candado.readLock().lock();
+        try {
+            V valor = franja.diccionario.busca(llave, dispersion);
+            if (valor != null)
+                return valor;
+        } finally {
+            franja.candado.readLock().unlock();
+        }
+
+        franja.candado.writeLock().lock();
+        try {
+            V valor = franja.diccionario.busca(llave, dispersion);
+            if (valor != null)
+                return valor;
+            valor = funcion.apply(llave);
+            if (valor == null)
+                throw new IllegalArgumentException("La función no puede regresar null.");
+            franja.diccionario.agrega(llave, valor, dispersion);
+            return valor;
+        } finally {
+            franja.candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    public void elimina(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException("La llave debe ser distinta de null.");
+
+        int dispersion = dispersor.dispersa(llave);
+        Franja franja = franja(dispersion);
+        boolean estaba;
+        franja.candado.writeLock().lock();
+        try {
+            estaba = franja.diccionario.elimina(llave, dispersion);
+        } finally {
+            franja.candado.writeLock().unlock();
+        }
+
+        if (!estaba)
+            throw new NoSuchElementException("No existe la entrada con la llave recibida.");
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario.
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        int elementos = 0;
+
+        for (Franja franja : franjas) {
+            franja.candado.readLock().lock();
+            try {
+                elementos += franja.diccionario.getElementos();
+            } finally {
+                franja.candado.readLock().unlock();
+            }
+        }
+
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        return getElementos() == 0;
+    }
+
+    /**
+     * Regresa el número de franjas del diccionario.
+     * @return el número de franjas del diccionario.
+     */
+    public int getFranjas() {
+        return franjas.length;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío.
+     */
+    public void limpia() {
+        for (Franja franja : franjas) {
+            franja.candado.writeLock().lock();
+            try {
+                franja.diccionario.limpia();
+            } finally {
+                franja.candado.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Regresa una representación en cadena del diccionario.
+     * @return una representación en cadena del diccionario.
+     */
+    @Override public String toString() {
+        StringBuilder texto = new StringBuilder();
+
+        for (Franja franja : franjas) {
+            franja.candado.readLock().lock();
+            try {
+                Iterator<K> llaves = franja.diccionario.iteradorLlaves();
+                Iterator<V> valores = franja.diccionario.iterator();
+                while (llaves.hasNext())
+                    texto.append(String.format("'%s': '%s', ", llaves.next(), valores.next()));
+            } finally {
+                franja.candado.readLock().unlock();
+            }
+        }
+
+        return texto.length() == 0 ? "{}" : "{ " + texto + "}";
+    }
+
+    /**
+     * Regresa un iterador para iterar las llaves del diccionario. El
+     * iterador recorre una copia de las llaves, tomada franja por franja; no
+     * ve los cambios posteriores. El diccionario se itera sin ningún orden
+     * específico.
+     * @return un iterador para iterar las llaves del diccionario.
+     */
+    public Iterator<K> iteradorLlaves() {
+        Lista<K> copia = new Lista<K>();
+
+        for (Franja franja : franjas) {
+            franja.candado.readLock().lock();
+            try {
+                Iterator<K> llaves = franja.diccionario.iteradorLlaves();
+                while (llaves.hasNext())
+                    copia.agrega(llaves.next());
+            } finally {
+                franja.candado.readLock().unlock();
+            }
+        }
+
+        return copia.iterator();
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del diccionario. El
+     * iterador recorre una copia de los valores, tomada franja por franja; no
+     * ve los cambios posteriores. El diccionario se itera sin ningún orden
+     * específico.
+     * @return un iterador para iterar los valores del diccionario.
+     */
+    @Override public Iterator<V> iterator() {
+        Lista<V> copia = new Lista<V>();
+
+        for (Franja franja : franjas) {
+            franja.candado.readLock().lock();
+            try {
+                for (V valor : franja.diccionario)
+                    copia.agrega(valor);
+            } finally {
+                franja.candado.readLock().unlock();
+            }
+        }
+
+        return copia.iterator();
+    }
+
+    /* Regresa el valor de la llave, o null si no está. */
+    private V busca(K llave) {
+        int dispersion = dispersor.dispersa(llave);
+        Franja franja = franja(dispersion);
+        franja.candado.readLock().lock();
+        try {
+            return franja.diccionario.busca(llave, dispersion);
+        } finally {
+            franja.candado.readLock().unlock();
+        }
+    }
+
+    /* Regresa la franja que le toca a una dispersión: los bits altos de la
+     * dispersión mezclada, para no repetir los bits bajos que usa el
+     * diccionario de la franja. */
+    private Franja franja(int dispersion) {
+        return bits == 0 ? franjas[0] : franjas[(dispersion * FIBONACCI) >>> (32 - bits)];
+    }
+}
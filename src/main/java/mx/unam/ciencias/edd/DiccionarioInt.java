@@ -0,0 +1,388 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * <p>Clase para diccionarios con llaves enteras. Funciona como {@link
+ * DiccionarioAbierto}, pero las llaves se guardan en un arreglo de
+ * <code>int</code>: no se envuelven en {@link Integer}, y buscarlas no llama
+ * a <code>hashCode()</code> ni a <code>equals()</code>.</p>
+ *
+ * <p>Una posición está ocupada si tiene valor; por eso cualquier entero puede
+ * ser llave, pero los valores no pueden ser <code>null</code>. Ni {@link
+ * #get} ni {@link #contiene} crean objetos.</p>
+ */
+public class DiccionarioInt<V> implements Iterable<V> {
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador {
+
+        /* La posición de la siguiente llave. */
+        private int indice;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            indice = -1;
+            mueveIndice();
+        }
+
+        /* Nos dice si hay una siguiente entrada. */
+        public boolean hasNext() {
+            return indice < valores.length;
+        }
+
+        /* Regresa la posición de la siguiente entrada. */
+        public int siguiente() {
+            if (indice >= valores.length)
+                throw new NoSuchElementException("No hay siguiente elemento.");
+
+            int actual = indice;
+            mueveIndice();
+            return actual;
+        }
+
+        /* Mueve el índice a la siguiente posición ocupada. */
+        private void mueveIndice() {
+            while (++indice < valores.length && valores[indice] == null)
+                ;
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves extends Iterador
+        implements PrimitiveIterator.OfInt {
+
+        /* Regresa el siguiente elemento. */
+        @Override public int nextInt() {
+            return llaves[siguiente()];
+        }
+    }
+
+    /* Clase interna privada para iteradores de valores. */
+    private class IteradorValores extends Iterador
+        implements Iterator<V> {
+
+        /* Regresa el siguiente elemento. */
+        @Override public V next() {
+            return valor(siguiente());
+        }
+    }
+
+    /** Máxima carga permitida por el diccionario. */
+    public static final double MAXIMA_CARGA = Diccionario.MAXIMA_CARGA;
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+    /* Constante de la dispersión de Fibonacci: 2^32 entre la razón áurea. */
+    private static final int FIBONACCI = 0x9e3779b9;
+
+    /* Las llaves; sólo valen en las posiciones con valor. */
+    private int[] llaves;
+    /* Los valores, en las mismas posiciones que sus llaves; null en las
+     * posiciones libres. */
+    private Object[] valores;
+    /* Número de bits de las posiciones. */
+    private int bits;
+    /* Número de valores. */
+    private int elementos;
+    /* Número de valores con el que la carga llega a la máxima. */
+    private int umbral;
+
+    /**
+     * Construye un diccionario con una capacidad inicial predeterminada.
+     */
+    public DiccionarioInt() {
+        this(MINIMA_CAPACIDAD);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial definida por el
+     * usuario.
+     * @param capacidad la capacidad a utilizar.
+     */
+    public DiccionarioInt(int capacidad) {
+        capacidad = capacidad < MINIMA_CAPACIDAD ? MINIMA_CAPACIDAD : capacidad;
+        bits = 32 - Integer.numberOfLeadingZeros(capacidad * 2 - 1);
+        llaves = new int[1 << bits];
+        valores = new Object[1 << bits];
+        umbral = umbral(1 << bits);
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si el valor es nulo.
+     */
+    public void agrega(int llave, V valor) {
+        if (valor == null)
+            throw new IllegalArgumentException("El valor debe ser distinto de null.");
+
+        int i = busca(llave);
+        if (valores[i] != null) {
+            valores[i] = valor;
+            return;
+        }
+
+        llaves[i] = llave;
+        valores[i] = valor;
+        if (++elementos >= umbral)
+            reordena(bits + 1);
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public V get(int llave) {
+        int i = busca(llave);
+        if (valores[i] == null)
+            throw new NoSuchElementException("No existe el elemento con tal llave.");
+
+        return valor(i);
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <code>true</code> si la llave está en el diccionario,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(int llave) {
+        return valores[busca(llave)] != null;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    public void elimina(int llave) {
+        int i = busca(llave);
+        if (valores[i] == null)
+            throw new NoSuchElementException("No existe la entrada con la llave recibida.");
+
+        // Recorre hacia atrás las llaves siguientes cuya posición original no
+        // está entre el hueco y ellas, para que sigan siendo alcanzables.
+        int mascara = valores.length - 1;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (valores[j] == null)
+                break;
+            int k = posicion(llaves[j]);
+            if (i <= j ? (i < k && k <= j) : (i < k || k <= j))
+                continue;
+            llaves[i] = llaves[j];
+            valores[i] = valores[j];
+            i = j;
+        }
+        valores[i] = null;
+        elementos--;
+    }
+
+    /**
+     * Asegura que el diccionario tenga lugar para el número de entradas dado
+     * sin tener que crecer. Conviene llamarlo antes de agregar muchas
+     * entradas de una vez, para acomodarlas una sola vez.
+     * @param n el número de entradas que debe poder tener el diccionario.
+     * @throws IllegalArgumentException si el número de entradas es negativo.
+     */
+    public void asegurarCapacidad(int n) {
+        if (n < 0)
+            throw new IllegalArgumentException("El número de entradas no puede ser negativo.");
+
+        int capacidad = (int)Math.min(Math.max(2L * n, 2), 1 << 30);
+        int nuevosBits = 32 - Integer.numberOfLeadingZeros(capacidad - 1);
+        if (nuevosBits > bits)
+            reordena(nuevosBits);
+    }
+
+    /**
+     * Nos dice cuántas colisiones hay en el diccionario: el número de llaves
+     * que no están en la posición que les toca.
+     * @return cuántas colisiones hay en el diccionario.
+     */
+    public int colisiones() {
+        int total = 0;
+
+        for (int i = 0; i < valores.length; i++)
+            if (valores[i] != null && posicion(llaves[i]) != i)
+                total++;
+
+        return total;
+    }
+
+    /**
+     * Nos dice el máximo número de colisiones para una misma llave que tenemos
+     * en el diccionario: la mayor distancia entre la posición que le toca a
+     * una llave y la posición en la que está.
+     * @return el máximo número de colisiones para una misma llave.
+     */
+    public int colisionMaxima() {
+        int maximo = 0;
+        int mascara = valores.length - 1;
+
+        for (int i = 0; i < valores.length; i++)
+            if (valores[i] != null) {
+                int distancia = (i - posicion(llaves[i])) & mascara;
+                if (distancia > maximo)
+                    maximo = distancia;
+            }
+
+        return maximo;
+    }
+
+    /**
+     * Nos dice la carga del diccionario.
+     * @return la carga del diccionario.
+     */
+    public double carga() {
+        return (double)elementos / valores.length;
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario.
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío.
+     */
+    public void limpia() {
+        elementos = 0;
+        Arrays.fill(valores, null);
+    }
+
+    /**
+     * Regresa una representación en cadena del diccionario.
+     * @return una representación en cadena del diccionario.
+     */
+    @Override public String toString() {
+        if (elementos == 0)
+            return "{}";
+
+        StringBuilder texto = new StringBuilder("{ ");
+        for (int i = 0; i < valores.length; i++)
+            if (valores[i] != null)
+                texto.append(String.format("'%d': '%s', ", llaves[i], valores[i]));
+
+        return texto.append("}").toString();
+    }
+
+    /**
+     * Nos dice si el diccionario es igual al objeto recibido.
+     * @param o el objeto que queremos saber si es igual al diccionario.
+     * @return <code>true</code> si el objeto recibido es instancia de
+     *         DiccionarioInt, y tiene las mismas llaves asociadas a los
+     *         mismos valores.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked") DiccionarioInt<V> d = (DiccionarioInt<V>)o;
+
+        if (d.elementos != elementos)
+            return false;
+
+        for (int i = 0; i < valores.length; i++) {
+            if (valores[i] == null)
+                continue;
+            int j = d.busca(llaves[i]);
+            if (d.valores[j] == null || !d.valores[j].equals(valores[i]))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Regresa un iterador para iterar las llaves del diccionario. El
+     * diccionario se itera sin ningún orden específico; {@link
+     * PrimitiveIterator.OfInt#nextInt} regresa las llaves sin envolverlas.
+     * @return un iterador para iterar las llaves del diccionario.
+     */
+    public PrimitiveIterator.OfInt iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar los valores del diccionario.
+     */
+    @Override public Iterator<V> iterator() {
+        return new IteradorValores();
+    }
+
+    /* Regresa la posición que le toca a una llave. La llave se multiplica
+     * por una constante y se toman los bits altos, para que las llaves
+     * consecutivas o con los bits bajos iguales no se amontonen. */
+    private int posicion(int llave) {
+        return (llave * FIBONACCI) >>> (32 - bits);
+    }
+
+    /* Regresa la posición de la llave, o la posición libre donde iría. */
+    private int busca(int llave) {
+        int mascara = valores.length - 1;
+        int i = posicion(llave);
+        while (valores[i] != null && llaves[i] != llave)
+            i = (i + 1) & mascara;
+        return i;
+    }
+
+    /* Regresa el valor en la posición dada. */
+    @SuppressWarnings("unchecked") private V valor(int i) {
+        return (V)valores[i];
+    }
+
+    /* Regresa el número de valores con el que una tabla de la longitud dada
+     * llega a la carga máxima. */
+    private static int umbral(int longitud) {
+        return (int)Math.ceil(longitud * MAXIMA_CARGA);
+    }
+
+    /* Cambia la tabla a una de 2^nuevosBits posiciones y vuelve a acomodar
+     * todas las llaves. */
+    private void reordena(int nuevosBits) {
+        int[] viejasLlaves = llaves;
+        Object[] viejosValores = valores;
+        bits = nuevosBits;
+        umbral = umbral(1 << bits);
+        llaves = new int[1 << bits];
+        valores = new Object[1 << bits];
+
+        // Las llaves son distintas, así que basta buscar la primera posición
+        // libre sin compararlas.
+        int mascara = valores.length - 1;
+        for (int i = 0; i < viejosValores.length; i++) {
+            if (viejosValores[i] == null)
+                continue;
+            int j = posicion(viejasLlaves[i]);
+            while (valores[j] != null)
+                j = (j + 1) & mascara;
+            llaves[j] = viejasLlaves[i];
+            valores[j] = viejosValores[i];
+        }
+    }
+}
@@ -1,25 +1,68 @@
 package mx.unam.ciencias.edd;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 /**
  * Clase para métodos estáticos con dispersores de bytes.
+ *
+ * Los dispersores leen la llave de palabra en palabra (4 u 8 bytes a la vez)
+ * a través de una vista {@link ByteBuffer} del arreglo, y sólo los bytes que
+ * sobran al final se leen uno por uno.
  */
 public class Dispersores {
 
+    /* Constantes de Murmur3 de 32 bits. */
+    private static final int MURMUR3_C1 = 0xcc9e2d51;
+    private static final int MURMUR3_C2 = 0x1b873593;
+
+    /* Primos de xxHash de 32 bits. */
+    private static final int XXH32_P1 = 0x9E3779B1;
+    private static final int XXH32_P2 = 0x85EBCA77;
+    private static final int XXH32_P3 = 0xC2B2AE3D;
+    private static final int XXH32_P4 = 0x27D4EB2F;
+    private static final int XXH32_P5 = 0x165667B1;
+
+    /* Primos de xxHash de 64 bits. */
+    private static final long XXH64_P1 = 0x9E3779B185EBCA87L;
+    private static final long XXH64_P2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long XXH64_P3 = 0x165667B19E3779F9L;
+    private static final long XXH64_P4 = 0x85EBCA77C2B2AE63L;
+    private static final long XXH64_P5 = 0x27D4EB2F165667C5L;
+
+    /* Base y primo de FNV-1a de 32 bits. */
+    private static final int FNV_BASE = 0x811c9dc5;
+    private static final int FNV_PRIMO = 0x01000193;
+
+    /* Potencias de 33 para avanzar DJB cuatro bytes a la vez. */
+    private static final int DJB_33_2 = 33 * 33;
+    private static final int DJB_33_3 = 33 * 33 * 33;
+    private static final int DJB_33_4 = 33 * 33 * 33 * 33;
+
     /* Constructor privado para evitar instanciación. */
     private Dispersores() {}
 
     /**
-     * Función de dispersión XOR.
+     * Función de dispersión XOR: el XOR de las palabras de 4 bytes de la
+     * llave, leídas de mayor a menor, rellenando con ceros la última. Se leen
+     * 8 bytes a la vez y al final se combinan las dos mitades.
      * @param llave la llave a dispersar.
      * @return la dispersión de XOR de la llave.
      */
     public static int dispersaXOR(byte[] llave) {
-        int resultado = 0;
+        ByteBuffer palabras = ByteBuffer.wrap(llave).order(ByteOrder.BIG_ENDIAN);
+        long doble = 0;
 
         int posicion = 0;
-        while(posicion < llave.length)
-            resultado ^= combina(sacaInt(llave, posicion++), sacaInt(llave, posicion++),
-                                 sacaInt(llave, posicion++), sacaInt(llave, posicion++));
+        for (; posicion + 8 <= llave.length; posicion += 8)
+            doble ^= palabras.getLong(posicion);
+        int resultado = (int)(doble >>> 32) ^ (int)doble;
+        if (posicion + 4 <= llave.length) {
+            resultado ^= palabras.getInt(posicion);
+            posicion += 4;
+        }
+        if (posicion < llave.length)
+            resultado ^= colaMayor(llave, posicion);
 
         return resultado;
     }
@@ -30,6 +73,7 @@ public class Dispersores {
      * @return la dispersión de Bob Jenkins de la llave.
      */
     public static int dispersaBJ(byte[] llave) {
+        ByteBuffer palabras = ByteBuffer.wrap(llave).order(ByteOrder.LITTLE_ENDIAN);
         int a = 0x9E3779B9;
         int b = 0x9E3779B9;
         int c = 0xFFFFFFFF;
@@ -37,22 +81,19 @@ public class Dispersores {
         int posicion = 0;
         boolean ejecucion = true;
         while (ejecucion) {
-            a += combina(sacaInt(llave, posicion+3), sacaInt(llave, posicion+2),
-                         sacaInt(llave, posicion+1), sacaInt(llave, posicion));
+            a += palabraMenor(palabras, llave, posicion);
             posicion += 4;
 
-            b += combina(sacaInt(llave, posicion+3), sacaInt(llave, posicion+2),
-                         sacaInt(llave, posicion+1), sacaInt(llave, posicion));
+            b += palabraMenor(palabras, llave, posicion);
             posicion += 4;
 
             if (llave.length - posicion >= 4)
-                c += combina(sacaInt(llave, posicion+3), sacaInt(llave, posicion+2),
-                             sacaInt(llave, posicion+1), sacaInt(llave, posicion));
+                c += palabras.getInt(posicion);
             else {
                 ejecucion = false;
                 c += llave.length;
-                c += combina(sacaInt(llave, posicion+2), sacaInt(llave, posicion+1),
-                            sacaInt(llave, posicion), 0);
+                // Quedan a lo más tres bytes; van en los tres bytes altos.
+                c += palabraMenor(palabras, llave, posicion) << 8;
             }
             posicion += 4;
 
@@ -82,27 +123,243 @@ public class Dispersores {
     }
 
     /**
-     * Función de dispersión Daniel J. Bernstein.
+     * Función de dispersión Daniel J. Bernstein. Avanza cuatro bytes a la vez
+     * con h·33⁴ + b₀·33³ + b₁·33² + b₂·33 + b₃, que da lo mismo que avanzar de
+     * uno en uno pero con menos multiplicaciones encadenadas.
      * @param llave la llave a dispersar.
      * @return la dispersión de Daniel Bernstein de la llave.
      */
     public static int dispersaDJB(byte[] llave) {
+        ByteBuffer palabras = ByteBuffer.wrap(llave).order(ByteOrder.BIG_ENDIAN);
         int h = 5381;
 
+        int i = 0;
+        for (; i + 4 <= llave.length; i += 4) {
+            int w = palabras.getInt(i);
+            h = h * DJB_33_4 + (w >>> 24) * DJB_33_3 + ((w >>> 16) & 0xFF) * DJB_33_2 +
+                ((w >>> 8) & 0xFF) * 33 + (w & 0xFF);
+        }
+        for (; i < llave.length; i++)
+            h += (h << 5) + (llave[i] & 0xFF);
+
+        return h;
+    }
+
+    /**
+     * Función de dispersión Murmur3 de 32 bits (MurmurHash3_x86_32), con
+     * semilla 0.
+     * @param llave la llave a dispersar.
+     * @return la dispersión Murmur3 de la llave.
+     */
+    public static int dispersaMurmur3(byte[] llave) {
+        return dispersaMurmur3(llave, 0);
+    }
+
+    /**
+     * Función de dispersión Murmur3 de 32 bits (MurmurHash3_x86_32).
+     * @param llave la llave a dispersar.
+     * @param semilla la semilla.
+     * @return la dispersión Murmur3 de la llave.
+     */
+    public static int dispersaMurmur3(byte[] llave, int semilla) {
+        ByteBuffer palabras = ByteBuffer.wrap(llave).order(ByteOrder.LITTLE_ENDIAN);
+        int h = semilla;
+
+        int i = 0;
+        for (; i + 4 <= llave.length; i += 4) {
+            h ^= mezclaMurmur3(palabras.getInt(i));
+            h = Integer.rotateLeft(h, 13);
+            h = h * 5 + 0xe6546b64;
+        }
+        if (i < llave.length)
+            h ^= mezclaMurmur3(colaMenor(llave, i));
+
+        h ^= llave.length;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Función de dispersión xxHash de 32 bits (XXH32), con semilla 0.
+     * @param llave la llave a dispersar.
+     * @return la dispersión xxHash de 32 bits de la llave.
+     */
+    public static int dispersaXXH32(byte[] llave) {
+        return dispersaXXH32(llave, 0);
+    }
+
+    /**
+     * Función de dispersión xxHash de 32 bits (XXH32).
+     * @param llave la llave a dispersar.
+     * @param semilla la semilla.
+     * @return la dispersión xxHash de 32 bits de la llave.
+     */
+    public static int dispersaXXH32(byte[] llave, int semilla) {
+        ByteBuffer palabras = ByteBuffer.wrap(llave).order(ByteOrder.LITTLE_ENDIAN);
+        int n = llave.length;
+        int i = 0;
+        int h;
+
+        if (n >= 16) {
+            // Cuatro acumuladores independientes, 16 bytes por vuelta.
+            int v1 = semilla + XXH32_P1 + XXH32_P2;
+            int v2 = semilla + XXH32_P2;
+            int v3 = semilla;
+            int v4 = semilla - XXH32_P1;
+            for (; i + 16 <= n; i += 16) {
+                v1 = rondaXXH32(v1, palabras.getInt(i));
+                v2 = rondaXXH32(v2, palabras.getInt(i + 4));
+                v3 = rondaXXH32(v3, palabras.getInt(i + 8));
+                v4 = rondaXXH32(v4, palabras.getInt(i + 12));
+            }
+            h = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7) +
+                Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+        } else {
+            h = semilla + XXH32_P5;
+        }
+
+        h += n;
+        for (; i + 4 <= n; i += 4)
+            h = Integer.rotateLeft(h + palabras.getInt(i) * XXH32_P3, 17) * XXH32_P4;
+        for (; i < n; i++)
+            h = Integer.rotateLeft(h + (llave[i] & 0xFF) * XXH32_P5, 11) * XXH32_P1;
+
+        h ^= h >>> 15;
+        h *= XXH32_P2;
+        h ^= h >>> 13;
+        h *= XXH32_P3;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Función de dispersión xxHash de 64 bits (XXH64), con semilla 0.
+     * @param llave la llave a dispersar.
+     * @return la dispersión xxHash de 64 bits de la llave.
+     */
+    public static long dispersaXXH64(byte[] llave) {
+        return dispersaXXH64(llave, 0);
+    }
+
+    /**
+     * Función de dispersión xxHash de 64 bits (XXH64).
+     * @param llave la llave a dispersar.
+     * @param semilla la semilla.
+     * @return la dispersión xxHash de 64 bits de la llave.
+     */
+    public static long dispersaXXH64(byte[] llave, long semilla) {
+        ByteBuffer palabras = ByteBuffer.wrap(llave).order(ByteOrder.LITTLE_ENDIAN);
+        int n = llave.length;
+        int i = 0;
+        long h;
+
+        if (n >= 32) {
+            // Cuatro acumuladores independientes, 32 bytes por vuelta.
+            long v1 = semilla + XXH64_P1 + XXH64_P2;
+            long v2 = semilla + XXH64_P2;
+            long v3 = semilla;
+            long v4 = semilla - XXH64_P1;
+            for (; i + 32 <= n; i += 32) {
+                v1 = rondaXXH64(v1, palabras.getLong(i));
+                v2 = rondaXXH64(v2, palabras.getLong(i + 8));
+                v3 = rondaXXH64(v3, palabras.getLong(i + 16));
+                v4 = rondaXXH64(v4, palabras.getLong(i + 24));
+            }
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) +
+                Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = combinaXXH64(h, v1);
+            h = combinaXXH64(h, v2);
+            h = combinaXXH64(h, v3);
+            h = combinaXXH64(h, v4);
+        } else {
+            h = semilla + XXH64_P5;
+        }
+
+        h += n;
+        for (; i + 8 <= n; i += 8)
+            h = Long.rotateLeft(h ^ rondaXXH64(0, palabras.getLong(i)), 27) * XXH64_P1 +
+                XXH64_P4;
+        if (i + 4 <= n) {
+            h = Long.rotateLeft(h ^ ((palabras.getInt(i) & 0xFFFFFFFFL) * XXH64_P1), 23) *
+                XXH64_P2 + XXH64_P3;
+            i += 4;
+        }
+        for (; i < n; i++)
+            h = Long.rotateLeft(h ^ ((llave[i] & 0xFF) * XXH64_P5), 11) * XXH64_P1;
+
+        h ^= h >>> 33;
+        h *= XXH64_P2;
+        h ^= h >>> 29;
+        h *= XXH64_P3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    /**
+     * Función de dispersión FNV-1a de 32 bits.
+     * @param llave la llave a dispersar.
+     * @return la dispersión FNV-1a de la llave.
+     */
+    public static int dispersaFNV1a(byte[] llave) {
+        int h = FNV_BASE;
+
         for (int i = 0; i < llave.length; i++)
-            h += (h << 5) + sacaInt(llave, i);
+            h = (h ^ (llave[i] & 0xFF)) * FNV_PRIMO;
 
         return h;
     }
 
-    private static int combina(int a, int b, int c, int d) {
-        return (a << 24) | (b << 16) | (c << 8)  | d;
+    /* Mezcla un bloque de Murmur3. */
+    private static int mezclaMurmur3(int k) {
+        k *= MURMUR3_C1;
+        k = Integer.rotateLeft(k, 15);
+        return k * MURMUR3_C2;
     }
 
-    private static int sacaInt(byte[] llave, int posicion) {
-        if (posicion < llave.length)
-            return (0xFF & llave[posicion]);
+    /* Una ronda de un acumulador de XXH32. */
+    private static int rondaXXH32(int v, int palabra) {
+        return Integer.rotateLeft(v + palabra * XXH32_P2, 13) * XXH32_P1;
+    }
 
-        return 0;
+    /* Una ronda de un acumulador de XXH64. */
+    private static long rondaXXH64(long v, long palabra) {
+        return Long.rotateLeft(v + palabra * XXH64_P2, 31) * XXH64_P1;
+    }
+
+    /* Combina un acumulador de XXH64 con la dispersión. */
+    private static long combinaXXH64(long h, long v) {
+        return (h ^ rondaXXH64(0, v)) * XXH64_P1 + XXH64_P4;
+    }
+
+    /* Regresa la palabra de 4 bytes de la posición, del menos al más
+     * significativo, rellenando con ceros si la llave se acaba antes. */
+    private static int palabraMenor(ByteBuffer palabras, byte[] llave, int posicion) {
+        if (posicion + 4 <= llave.length)
+            return palabras.getInt(posicion);
+        return posicion < llave.length ? colaMenor(llave, posicion) : 0;
+    }
+
+    /* Regresa los últimos bytes de la llave, a partir de la posición, del
+     * menos al más significativo. */
+    private static int colaMenor(byte[] llave, int posicion) {
+        int palabra = 0;
+        for (int i = llave.length - 1; i >= posicion; i--)
+            palabra = (palabra << 8) | (llave[i] & 0xFF);
+        return palabra;
+    }
+
+    /* Regresa los últimos bytes de la llave, a partir de la posición, del
+     * más al menos significativo, rellenando con ceros a la derecha. */
+    private static int colaMayor(byte[] llave, int posicion) {
+        int palabra = 0;
+        for (int i = 0; i < 4; i++) {
+            int j = posicion + i;
+            palabra = (palabra << 8) | (j < llave.length ? llave[j] & 0xFF : 0);
+        }
+        return palabra;
     }
-}
\ No newline at end of file
+}
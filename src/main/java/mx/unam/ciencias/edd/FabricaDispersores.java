@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Clase para fabricar dispersores.
  */
@@ -9,7 +11,9 @@ public class FabricaDispersores {
     private FabricaDispersores() {}
 
     /**
-     * Regresa una instancia de {@link Dispersor} para cadenas.
+     * Regresa una instancia de {@link Dispersor} para cadenas. Las cadenas
+     * se dispersan codificadas en UTF-8, sin importar la codificación de la
+     * plataforma.
      * @param algoritmo el algoritmo de dispersor que se desea.
      * @return una instancia de {@link Dispersor} para cadenas.
      * @throws IllegalArgumentException si recibe un identificador no
@@ -19,11 +23,22 @@ public class FabricaDispersores {
     dispersorCadena(AlgoritmoDispersor algoritmo) {
         switch (algoritmo) {
         case XOR_STRING:
-            return c -> Dispersores.dispersaXOR(c.getBytes());
+            return c -> Dispersores.dispersaXOR(c.getBytes(StandardCharsets.UTF_8));
         case BJ_STRING:
-            return c -> Dispersores.dispersaBJ(c.getBytes());
+            return c -> Dispersores.dispersaBJ(c.getBytes(StandardCharsets.UTF_8));
         case DJB_STRING:
-            return c -> Dispersores.dispersaDJB(c.getBytes());
+            return c -> Dispersores.dispersaDJB(c.getBytes(StandardCharsets.UTF_8));
+        case MURMUR3_STRING:
+            return c -> Dispersores.dispersaMurmur3(c.getBytes(StandardCharsets.UTF_8));
+        case XXH32_STRING:
+            return c -> Dispersores.dispersaXXH32(c.getBytes(StandardCharsets.UTF_8));
+        case XXH64_STRING:
+            return c -> {
+                long h = Dispersores.dispersaXXH64(c.getBytes(StandardCharsets.UTF_8));
+                return (int)(h ^ (h >>> 32));
+            };
+        case FNV1A_STRING:
+            return c -> Dispersores.dispersaFNV1a(c.getBytes(StandardCharsets.UTF_8));
         default: throw new IllegalArgumentException("Algoritmo inválido");
         }
     }
@@ -43,14 +43,20 @@ public class Grafica<T> implements Coleccion<T> {
         public double distancia;
         /* El índice del vértice. */
         public int indice;
+        /* La distancia del vértice al destino en la búsqueda bidireccional. */
+        public double distanciaInversa;
+        /* Los vértices anteriores en cada sentido de la búsqueda bidireccional. */
+        public Vertice padre, padreInverso;
+        /* La búsqueda perezosa en que se alcanzó el vértice por última vez. */
+        public int marca;
         /* El diccionario de vecinos del vértice. */
-        public Diccionario<T, Vecino> vecinos;
+        public DiccionarioAbierto<T, Vecino> vecinos;
 
         /* Crea un nuevo vértice a partir de un elemento. */
         public Vertice(T elemento) {
             this.elemento = elemento;
             color = Color.NINGUNO;
-            vecinos = new Diccionario<>();
+            vecinos = new DiccionarioAbierto<>(CAPACIDAD_VECINOS);
         }
 
         /* Regresa el elemento del vértice. */
@@ -133,16 +139,30 @@ public class Grafica<T> implements Coleccion<T> {
         public boolean seSiguen(Grafica.Vertice v, Grafica.Vecino a);
     }
 
+    /* Máximo peso entero con el que Dijkstra usa un montículo de cubetas. */
+    private static final int PESO_MAXIMO_CUBETAS = 64;
+    /* Capacidad inicial del diccionario de vecinos de cada vértice; alcanza
+     * sin crecer para el grado de las celdas de un laberinto. */
+    private static final int CAPACIDAD_VECINOS = 4;
+
     /* Vértices. */
-    private Diccionario<T, Vertice> vertices;
+    private DiccionarioAbierto<T, Vertice> vertices;
     /* Número de aristas. */
     private int aristas;
+    /* Número de aristas cuyo peso no es un entero entre 1 y
+     * PESO_MAXIMO_CUBETAS. */
+    private int aristasNoEnteras;
+    /* Número de la última búsqueda perezosa; las distancias de los vértices
+     * con otra marca no son válidas. */
+    private int busqueda;
+    /* Número de vértices asentados en la última búsqueda perezosa. */
+    private int asentados;
 
     /**
      * Constructor único.
      */
     public Grafica() {
-        vertices = new Diccionario<>();
+        vertices = new DiccionarioAbierto<>();
     }
 
     /**
@@ -218,6 +238,8 @@ public class Grafica<T> implements Coleccion<T> {
         verticeA.vecinos.agrega(b, new Vecino(verticeB, peso));
         verticeB.vecinos.agrega(a, new Vecino(verticeA, peso));
         aristas++;
+        if (!esPesoCubeta(peso))
+            aristasNoEnteras++;
     }
 
     /**
@@ -235,6 +257,8 @@ public class Grafica<T> implements Coleccion<T> {
         if (!sonVecinos(verticeA.elemento, verticeB.elemento))
             throw new IllegalArgumentException("Los elementos no están conectados.");
 
+        if (!esPesoCubeta(verticeA.vecinos.get(b).peso))
+            aristasNoEnteras--;
         verticeA.vecinos.elimina(b);
         verticeB.vecinos.elimina(a);
 
@@ -260,8 +284,14 @@ public class Grafica<T> implements Coleccion<T> {
     @Override public void elimina(T elemento) {
         Vertice vertice = (Vertice) vertice(elemento);
 
-        for (Vecino vecino : vertice.vecinos)
-            desconecta(vertice.elemento, vecino.vecino.elemento);
+        // Sólo se quitan las aristas de regreso; los vecinos del vértice se
+        // van con él, así que no se modifican mientras se recorren.
+        for (Vecino vecino : vertice.vecinos) {
+            vecino.vecino.vecinos.elimina(vertice.elemento);
+            if (!esPesoCubeta(vecino.peso))
+                aristasNoEnteras--;
+            aristas--;
+        }
 
         vertices.elimina(elemento);
     }
@@ -324,6 +354,11 @@ public class Grafica<T> implements Coleccion<T> {
         if (!sonVecinos(verticeA.elemento, verticeB.elemento))
             throw new IllegalArgumentException("Los vértices no son vecinos.");
 
+        if (!esPesoCubeta(verticeA.vecinos.get(b).peso))
+            aristasNoEnteras--;
+        if (!esPesoCubeta(peso))
+            aristasNoEnteras++;
+
         verticeA.vecinos.get(b).peso = peso;
         verticeB.vecinos.get(a).peso = peso;
     }
@@ -439,6 +474,7 @@ public class Grafica<T> implements Coleccion<T> {
     @Override public void limpia() {
         vertices.limpia();
         aristas = 0;
+        aristasNoEnteras = 0;
     }
 
     /**
@@ -554,7 +590,8 @@ public class Grafica<T> implements Coleccion<T> {
 
     /**
      * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
-     * de destino.
+     * de destino. Si todos los pesos son enteros pequeños, usa un montículo de
+     * cubetas en lugar de un montículo mínimo.
      * @param origen el vértice origen.
      * @param destino el vértice destino.
      * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
@@ -575,8 +612,12 @@ public class Grafica<T> implements Coleccion<T> {
 
         MonticuloDijkstra<Vertice> monticulo;
         int n = vertices.getElementos();
-        
-        monticulo = new MonticuloMinimo<>(vertices, vertices.getElementos());
+
+        if (aristasNoEnteras == 0)
+            monticulo = new MonticuloCubetas<>(vertices, n, PESO_MAXIMO_CUBETAS,
+                                               v -> v.distancia);
+        else
+            monticulo = new MonticuloMinimo<>(vertices, n);
 
         while (!monticulo.esVacia()) {
             Vertice raiz = monticulo.elimina();
@@ -593,6 +634,173 @@ public class Grafica<T> implements Coleccion<T> {
                 (Vertice) vertice(destino));
     }
 
+    /**
+     * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
+     * de destino, sin visitar más vértices de los necesarios. A diferencia de
+     * {@link #dijkstra}, los vértices se agregan al montículo conforme se
+     * descubren, la búsqueda termina en cuanto se asienta el destino, y la
+     * trayectoria se reconstruye con apuntadores al vértice anterior.
+     * @param origen el vértice origen.
+     * @param destino el vértice destino.
+     * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
+     *         el vértice <code>destino</code>. Si los vértices están en componentes
+     *         conexas distintas, regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     */
+    public Lista<VerticeGrafica<T>> dijkstraPerezoso(T origen, T destino) {
+        if (!contiene(origen) || !contiene(destino))
+            throw new NoSuchElementException("Los vértices no están en la gráfica.");
+
+        Vertice verticeOrigen = (Vertice) vertice(origen);
+        Vertice verticeDestino = (Vertice) vertice(destino);
+        Lista<VerticeGrafica<T>> trayectoria = new Lista<>();
+
+        // En lugar de reiniciar las distancias de todos los vértices, se
+        // marcan los que alcanza esta búsqueda.
+        busqueda++;
+        asentados = 0;
+        verticeOrigen.marca = busqueda;
+        verticeOrigen.distancia = 0;
+        verticeOrigen.padre = null;
+
+        MonticuloMinimo<ValorIndexable<Vertice>> monticulo = new MonticuloMinimo<>();
+        monticulo.agrega(new ValorIndexable<>(verticeOrigen, 0));
+
+        while (!monticulo.esVacia()) {
+            ValorIndexable<Vertice> minimo = monticulo.elimina();
+            Vertice raiz = minimo.getElemento();
+            if (minimo.getValor() > raiz.distancia)
+                continue;
+
+            asentados++;
+            if (raiz == verticeDestino) {
+                for (Vertice v = raiz; v != null; v = v.padre)
+                    trayectoria.agregaInicio(v);
+                break;
+            }
+
+            for (Vecino vecino : raiz.vecinos) {
+                Vertice v = vecino.vecino;
+                double nueva = raiz.distancia + vecino.peso;
+                if (v.marca != busqueda || nueva < v.distancia) {
+                    v.marca = busqueda;
+                    v.distancia = nueva;
+                    v.padre = raiz;
+                    monticulo.agrega(new ValorIndexable<>(v, nueva));
+                }
+            }
+        }
+
+        return trayectoria;
+    }
+
+    /**
+     * Regresa el número de vértices asentados en la última llamada a {@link
+     * #dijkstraPerezoso}.
+     * @return el número de vértices asentados.
+     */
+    public int getVerticesAsentados() {
+        return asentados;
+    }
+
+    /**
+     * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
+     * de destino con Dijkstra bidireccional: una búsqueda avanza desde el
+     * origen y otra desde el destino, siempre la de frontera más chica, y se
+     * detienen en cuanto la suma de las llaves mínimas de ambos montículos
+     * alcanza el peso de la mejor ruta encontrada al encontrarse.
+     * @param origen el vértice origen.
+     * @param destino el vértice destino.
+     * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
+     *         el vértice <code>destino</code>. Si los vértices están en componentes
+     *         conexas distintas, regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     */
+    public Lista<VerticeGrafica<T>> dijkstraBidireccional(T origen, T destino) {
+        if (!contiene(origen) || !contiene(destino))
+            throw new NoSuchElementException("Los vértices no están en la gráfica.");
+
+        Vertice verticeOrigen = (Vertice) vertice(origen);
+        Vertice verticeDestino = (Vertice) vertice(destino);
+        Lista<VerticeGrafica<T>> trayectoria = new Lista<>();
+
+        if (verticeOrigen == verticeDestino) {
+            trayectoria.agrega(verticeOrigen);
+            return trayectoria;
+        }
+
+        for (Vertice vertice : vertices) {
+            vertice.distancia = Double.MAX_VALUE;
+            vertice.distanciaInversa = Double.MAX_VALUE;
+            vertice.padre = null;
+            vertice.padreInverso = null;
+        }
+        verticeOrigen.distancia = 0;
+        verticeDestino.distanciaInversa = 0;
+
+        // Los montículos tienen entradas repetidas: en lugar de reordenar un
+        // vértice se agrega de nuevo, y las entradas obsoletas se ignoran.
+        MonticuloMinimo<ValorIndexable<Vertice>> adelante = new MonticuloMinimo<>();
+        MonticuloMinimo<ValorIndexable<Vertice>> atras = new MonticuloMinimo<>();
+        adelante.agrega(new ValorIndexable<>(verticeOrigen, 0));
+        atras.agrega(new ValorIndexable<>(verticeDestino, 0));
+
+        double mejor = Double.MAX_VALUE;
+        Vertice encuentro = null;
+
+        while (!adelante.esVacia() && !atras.esVacia()) {
+            if (adelante.get(0).getValor() + atras.get(0).getValor() >= mejor)
+                break;
+
+            boolean haciaAdelante = adelante.getElementos() <= atras.getElementos();
+            MonticuloMinimo<ValorIndexable<Vertice>> monticulo =
+                haciaAdelante ? adelante : atras;
+            ValorIndexable<Vertice> minimo = monticulo.elimina();
+            Vertice raiz = minimo.getElemento();
+            double distancia = haciaAdelante ? raiz.distancia : raiz.distanciaInversa;
+            if (minimo.getValor() > distancia)
+                continue;
+
+            for (Vecino vecino : raiz.vecinos) {
+                Vertice v = vecino.vecino;
+                double nueva = distancia + vecino.peso;
+                if (haciaAdelante && nueva < v.distancia) {
+                    v.distancia = nueva;
+                    v.padre = raiz;
+                    monticulo.agrega(new ValorIndexable<>(v, nueva));
+                } else if (!haciaAdelante && nueva < v.distanciaInversa) {
+                    v.distanciaInversa = nueva;
+                    v.padreInverso = raiz;
+                    monticulo.agrega(new ValorIndexable<>(v, nueva));
+                }
+
+                if (v.distancia != Double.MAX_VALUE &&
+                        v.distanciaInversa != Double.MAX_VALUE &&
+                        v.distancia + v.distanciaInversa < mejor) {
+                    mejor = v.distancia + v.distanciaInversa;
+                    encuentro = v;
+                }
+            }
+        }
+
+        if (encuentro == null)
+            return trayectoria;
+
+        for (Vertice v = encuentro; v != null; v = v.padre)
+            trayectoria.agregaInicio(v);
+        for (Vertice v = encuentro.padreInverso; v != null; v = v.padreInverso)
+            trayectoria.agrega(v);
+
+        return trayectoria;
+    }
+
+    /* Nos dice si un peso permite usar el montículo de cubetas. */
+    private static boolean esPesoCubeta(double peso) {
+        return peso == Math.rint(peso) && peso <= PESO_MAXIMO_CUBETAS;
+    }
+
     /**
      * Reconstruye la trayectoria desde un vértice destino dado hasta el
      * vértice de origen, según sus distancias y un buscador recibido.
@@ -0,0 +1,522 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para gráficas compactas. Los vértices se identifican con enteros
+ * consecutivos, en el orden en que fueron agregados, y las aristas se guardan
+ * en arreglos planos por renglones (<em>compressed sparse row</em>): los
+ * vecinos del vértice <i>v</i> ocupan las posiciones entre
+ * <code>desplazamientos[v]</code> y <code>desplazamientos[v+1]</code> de los
+ * arreglos de adyacencias y pesos.</p>
+ *
+ * <p>A diferencia de {@link Grafica}, ningún vértice tiene su propio
+ * diccionario de vecinos; a cambio, la gráfica sólo permite agregar vértices y
+ * aristas, no eliminarlos. Las aristas se acumulan en una lista y los arreglos
+ * compactos se construyen la primera vez que se consulta la gráfica después de
+ * agregar aristas.</p>
+ *
+ * <p>Los elementos deben ser distintos entre sí. La gráfica no lo verifica al
+ * agregarlos; el diccionario para buscar vértices por elemento se construye
+ * sólo si se usan los métodos que reciben elementos.</p>
+ */
+public class GraficaCompacta<T> implements Iterable<T> {
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador implements Iterator<T> {
+
+        /* El siguiente vértice. */
+        private int siguiente;
+
+        /* Nos dice si hay un siguiente elemento. */
+        @Override public boolean hasNext() {
+            return siguiente < vertices;
+        }
+
+        /* Regresa el siguiente elemento. */
+        @Override public T next() {
+            if (siguiente >= vertices)
+                throw new NoSuchElementException("No hay elemento siguiente.");
+
+            return getElemento(siguiente++);
+        }
+    }
+
+    /* Clase interna privada para vértices. Los vértices son sólo vistas
+     * sobre los arreglos de la gráfica. */
+    private class Vertice implements VerticeGrafica<T> {
+
+        /* El identificador del vértice. */
+        private int id;
+
+        /* Crea la vista del vértice con el identificador dado. */
+        public Vertice(int id) {
+            this.id = id;
+        }
+
+        /* Regresa el elemento del vértice. */
+        @Override public T get() {
+            return getElemento(id);
+        }
+
+        /* Regresa el grado del vértice. */
+        @Override public int getGrado() {
+            return GraficaCompacta.this.getGrado(id);
+        }
+
+        /* Los vértices de la gráfica compacta no tienen color. */
+        @Override public Color getColor() {
+            return Color.NINGUNO;
+        }
+
+        /* Regresa un iterable para los vecinos. */
+        @Override public Iterable<? extends VerticeGrafica<T>> vecinos() {
+            compacta();
+            Lista<Vertice> vecinos = new Lista<>();
+            for (int k = desplazamientos[id]; k < desplazamientos[id + 1]; k++)
+                vecinos.agrega(new Vertice(adyacencias[k]));
+            return vecinos;
+        }
+
+        /* Dos vértices son iguales si tienen el mismo identificador. */
+        @Override public boolean equals(Object objeto) {
+            if (objeto == null || getClass() != objeto.getClass())
+                return false;
+            @SuppressWarnings("unchecked") Vertice vertice = (Vertice)objeto;
+            return id == vertice.id;
+        }
+
+        /* Regresa el identificador como dispersión. */
+        @Override public int hashCode() {
+            return id;
+        }
+    }
+
+    /* Capacidad inicial por omisión. */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /* Los elementos de los vértices, por identificador. */
+    private Object[] elementos;
+    /* Número de vértices. */
+    private int vertices;
+    /* Diccionario de elementos a identificadores; se construye al usarse. */
+    private Diccionario<T, Integer> ids;
+
+    /* Lista de aristas: extremos y peso de cada arista agregada. */
+    private int[] origenes;
+    private int[] destinos;
+    private double[] pesosAristas;
+    /* Número de aristas. */
+    private int aristas;
+
+    /* Arreglos compactos; son válidos mientras compactada sea true. */
+    private int[] desplazamientos;
+    private int[] adyacencias;
+    private double[] pesos;
+    private boolean compactada;
+
+    /**
+     * Construye una gráfica compacta vacía.
+     */
+    public GraficaCompacta() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Construye una gráfica compacta vacía para un número tentativo de
+     * vértices. Se reserva espacio para dos aristas por vértice.
+     * @param capacidad el número tentativo de vértices.
+     */
+    public GraficaCompacta(int capacidad) {
+        capacidad = capacidad < 1 ? 1 : capacidad;
+        elementos = new Object[capacidad];
+        origenes = new int[capacidad * 2];
+        destinos = new int[capacidad * 2];
+        pesosAristas = new double[capacidad * 2];
+    }
+
+    /**
+     * Regresa el número de vértices en la gráfica.
+     * @return el número de vértices en la gráfica.
+     */
+    public int getElementos() {
+        return vertices;
+    }
+
+    /**
+     * Regresa el número de aristas.
+     * @return el número de aristas.
+     */
+    public int getAristas() {
+        return aristas;
+    }
+
+    /**
+     * Agrega un nuevo elemento a la gráfica y regresa el identificador de su
+     * vértice. Los identificadores son consecutivos a partir de cero.
+     * @param elemento el elemento a agregar.
+     * @return el identificador del vértice del elemento.
+     * @throws IllegalArgumentException si el elemento es <code>null</code>.
+     */
+    public int agrega(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException("El elemento es nulo.");
+
+        if (vertices == elementos.length) {
+            Object[] nuevos = new Object[vertices * 2];
+            System.arraycopy(elementos, 0, nuevos, 0, vertices);
+            elementos = nuevos;
+        }
+
+        elementos[vertices] = elemento;
+        if (ids != null && !ids.contiene(elemento))
+            ids.agrega(elemento, vertices);
+        compactada = false;
+        return vertices++;
+    }
+
+    /**
+     * Regresa el elemento del vértice con el identificador recibido.
+     * @param id el identificador del vértice.
+     * @return el elemento del vértice.
+     * @throws NoSuchElementException si el identificador es inválido.
+     */
+    @SuppressWarnings("unchecked") public T getElemento(int id) {
+        verificaId(id);
+        return (T)elementos[id];
+    }
+
+    /**
+     * Regresa el identificador del vértice del elemento recibido.
+     * @param elemento el elemento del que queremos el identificador.
+     * @return el identificador del vértice del elemento.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     */
+    public int indice(T elemento) {
+        if (!ids().contiene(elemento))
+            throw new NoSuchElementException("El elemento no se encuentra en la gráfica.");
+
+        return ids.get(elemento);
+    }
+
+    /**
+     * Nos dice si el elemento está contenido en la gráfica.
+     * @param elemento el elemento que queremos saber si está en la gráfica.
+     * @return <code>true</code> si el elemento está contenido en la gráfica,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(T elemento) {
+        return ids().contiene(elemento);
+    }
+
+    /**
+     * Conecta dos elementos de la gráfica.
+     * @param a el primer elemento a conectar.
+     * @param b el segundo elemento a conectar.
+     * @param peso el peso de la nueva arista.
+     * @throws NoSuchElementException si a o b no son elementos de la gráfica.
+     * @throws IllegalArgumentException si a es igual a b, o si el peso es no
+     *         positivo.
+     */
+    public void conecta(T a, T b, double peso) {
+        conectaIndices(indice(a), indice(b), peso);
+    }
+
+    /**
+     * Conecta dos vértices de la gráfica por sus identificadores. La gráfica
+     * no verifica que los vértices no estuvieran ya conectados.
+     * @param a el identificador del primer vértice.
+     * @param b el identificador del segundo vértice.
+     * @param peso el peso de la nueva arista.
+     * @throws NoSuchElementException si a o b son identificadores inválidos.
+     * @throws IllegalArgumentException si a es igual a b, o si el peso es no
+     *         positivo.
+     */
+    public void conectaIndices(int a, int b, double peso) {
+        verificaId(a);
+        verificaId(b);
+
+        if (a == b)
+            throw new IllegalArgumentException("Los elementos son iguales.");
+
+        if (peso <= 0)
+            throw new IllegalArgumentException("El peso no es válido.");
+
+        if (aristas == origenes.length) {
+            int[] nuevosOrigenes = new int[aristas * 2];
+            int[] nuevosDestinos = new int[aristas * 2];
+            double[] nuevosPesos = new double[aristas * 2];
+            System.arraycopy(origenes, 0, nuevosOrigenes, 0, aristas);
+            System.arraycopy(destinos, 0, nuevosDestinos, 0, aristas);
+            System.arraycopy(pesosAristas, 0, nuevosPesos, 0, aristas);
+            origenes = nuevosOrigenes;
+            destinos = nuevosDestinos;
+            pesosAristas = nuevosPesos;
+        }
+
+        origenes[aristas] = a;
+        destinos[aristas] = b;
+        pesosAristas[aristas] = peso;
+        aristas++;
+        compactada = false;
+    }
+
+    /**
+     * Nos dice si dos elementos de la gráfica están conectados.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return <code>true</code> si a y b son vecinos, <code>false</code> en otro caso.
+     * @throws NoSuchElementException si a o b no son elementos de la gráfica.
+     */
+    public boolean sonVecinos(T a, T b) {
+        return arista(indice(a), indice(b)) != -1;
+    }
+
+    /**
+     * Regresa el peso de la arista que comparten los vértices que contienen a
+     * los elementos recibidos.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return el peso de la arista entre a y b.
+     * @throws NoSuchElementException si a o b no son elementos de la gráfica.
+     * @throws IllegalArgumentException si a o b no están conectados.
+     */
+    public double getPeso(T a, T b) {
+        int k = arista(indice(a), indice(b));
+
+        if (k == -1)
+            throw new IllegalArgumentException("Los vértices no están conectados.");
+
+        return pesos[k];
+    }
+
+    /**
+     * Regresa el grado del vértice con el identificador recibido.
+     * @param id el identificador del vértice.
+     * @return el grado del vértice.
+     * @throws NoSuchElementException si el identificador es inválido.
+     */
+    public int getGrado(int id) {
+        verificaId(id);
+        compacta();
+        return desplazamientos[id + 1] - desplazamientos[id];
+    }
+
+    /**
+     * Regresa el vértice correspondiente el elemento recibido.
+     * @param elemento el elemento del que queremos el vértice.
+     * @return el vértice correspondiente el elemento recibido.
+     * @throws NoSuchElementException si elemento no es elemento de la gráfica.
+     */
+    public VerticeGrafica<T> vertice(T elemento) {
+        return new Vertice(indice(elemento));
+    }
+
+    /**
+     * Regresa un iterador para iterar la gráfica. La gráfica se itera en el
+     * orden en que fueron agregados sus elementos.
+     * @return un iterador para iterar la gráfica.
+     */
+    @Override public Iterator<T> iterator() {
+        return new Iterador();
+    }
+
+    /**
+     * Calcula una trayectoria de distancia mínima entre dos vértices.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @return Una lista con vértices de la gráfica, tal que forman una
+     *         trayectoria de distancia mínima entre los vértices. Si los
+     *         elementos se encuentran en componentes conexos distintos, el
+     *         algoritmo regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     */
+    public Lista<VerticeGrafica<T>> trayectoriaMinima(T origen, T destino) {
+        return aLista(trayectoriaMinimaIndices(indice(origen), indice(destino)));
+    }
+
+    /**
+     * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
+     * de destino.
+     * @param origen el vértice origen.
+     * @param destino el vértice destino.
+     * @return una trayectoria de peso mínimo entre los vértices. Si los
+     *         vértices están en componentes conexas distintas, regresa una
+     *         lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     */
+    public Lista<VerticeGrafica<T>> dijkstra(T origen, T destino) {
+        return aLista(dijkstraIndices(indice(origen), indice(destino)));
+    }
+
+    /**
+     * Calcula una trayectoria de distancia mínima (en número de aristas) entre
+     * dos vértices dados por sus identificadores.
+     * @param origen el identificador del vértice de origen.
+     * @param destino el identificador del vértice de destino.
+     * @return los identificadores de la trayectoria, de origen a destino; un
+     *         arreglo vacío si no hay trayectoria.
+     * @throws NoSuchElementException si algún identificador es inválido.
+     */
+    public int[] trayectoriaMinimaIndices(int origen, int destino) {
+        verificaId(origen);
+        verificaId(destino);
+        compacta();
+
+        int[] padres = nuevosPadres();
+        int[] cola = new int[vertices];
+        int cabeza = 0, rabo = 0;
+
+        padres[origen] = origen;
+        cola[rabo++] = origen;
+        while (cabeza < rabo && padres[destino] == -1) {
+            int v = cola[cabeza++];
+            for (int k = desplazamientos[v]; k < desplazamientos[v + 1]; k++) {
+                int u = adyacencias[k];
+                if (padres[u] == -1) {
+                    padres[u] = v;
+                    cola[rabo++] = u;
+                }
+            }
+        }
+
+        return reconstruyeTrayectoria(padres, origen, destino);
+    }
+
+    /**
+     * Calcula la ruta de peso mínimo entre dos vértices dados por sus
+     * identificadores. La búsqueda termina en cuanto se saca el destino del
+     * montículo.
+     * @param origen el identificador del vértice de origen.
+     * @param destino el identificador del vértice de destino.
+     * @return los identificadores de la trayectoria, de origen a destino; un
+     *         arreglo vacío si no hay trayectoria.
+     * @throws NoSuchElementException si algún identificador es inválido.
+     */
+    public int[] dijkstraIndices(int origen, int destino) {
+        verificaId(origen);
+        verificaId(destino);
+        compacta();
+
+        double[] distancias = new double[vertices];
+        Arrays.fill(distancias, Double.MAX_VALUE);
+        int[] padres = nuevosPadres();
+        MonticuloEnteros monticulo = new MonticuloEnteros();
+
+        distancias[origen] = 0;
+        padres[origen] = origen;
+        monticulo.agrega(origen, 0);
+        while (!monticulo.esVacia()) {
+            double distancia = monticulo.prioridadMinima();
+            int v = monticulo.elimina();
+            if (distancia > distancias[v])
+                continue;
+            if (v == destino)
+                break;
+
+            for (int k = desplazamientos[v]; k < desplazamientos[v + 1]; k++) {
+                int u = adyacencias[k];
+                double nueva = distancia + pesos[k];
+                if (nueva < distancias[u]) {
+                    distancias[u] = nueva;
+                    padres[u] = v;
+                    monticulo.agrega(u, nueva);
+                }
+            }
+        }
+
+        return reconstruyeTrayectoria(padres, origen, destino);
+    }
+
+    /* Construye los arreglos compactos a partir de la lista de aristas, si
+     * no están al día. Es un ordenamiento por cuentas de las aristas según
+     * su vértice de origen. */
+    private void compacta() {
+        if (compactada)
+            return;
+
+        desplazamientos = new int[vertices + 1];
+        for (int k = 0; k < aristas; k++) {
+            desplazamientos[origenes[k] + 1]++;
+            desplazamientos[destinos[k] + 1]++;
+        }
+        for (int v = 0; v < vertices; v++)
+            desplazamientos[v + 1] += desplazamientos[v];
+
+        adyacencias = new int[aristas * 2];
+        pesos = new double[aristas * 2];
+        int[] siguiente = new int[vertices];
+        System.arraycopy(desplazamientos, 0, siguiente, 0, vertices);
+        for (int k = 0; k < aristas; k++) {
+            int a = origenes[k], b = destinos[k];
+            adyacencias[siguiente[a]] = b;
+            pesos[siguiente[a]++] = pesosAristas[k];
+            adyacencias[siguiente[b]] = a;
+            pesos[siguiente[b]++] = pesosAristas[k];
+        }
+
+        compactada = true;
+    }
+
+    /* Regresa la posición de la arista de a hacia b en los arreglos
+     * compactos, o -1 si no son vecinos. */
+    private int arista(int a, int b) {
+        compacta();
+        for (int k = desplazamientos[a]; k < desplazamientos[a + 1]; k++)
+            if (adyacencias[k] == b)
+                return k;
+        return -1;
+    }
+
+    /* Regresa el diccionario de elementos a identificadores, construyéndolo
+     * si hace falta. Si hay elementos repetidos, gana el primero. */
+    private Diccionario<T, Integer> ids() {
+        if (ids == null) {
+            ids = new Diccionario<>(vertices);
+            for (int id = vertices - 1; id >= 0; id--)
+                ids.agrega(getElemento(id), id);
+        }
+        return ids;
+    }
+
+    /* Regresa un arreglo de padres sin definir. */
+    private int[] nuevosPadres() {
+        int[] padres = new int[vertices];
+        Arrays.fill(padres, -1);
+        return padres;
+    }
+
+    /* Reconstruye la trayectoria de origen a destino siguiendo los padres. */
+    private int[] reconstruyeTrayectoria(int[] padres, int origen, int destino) {
+        if (padres[destino] == -1)
+            return new int[0];
+
+        int longitud = 1;
+        for (int v = destino; v != origen; v = padres[v])
+            longitud++;
+
+        int[] trayectoria = new int[longitud];
+        for (int v = destino; longitud > 0; v = padres[v])
+            trayectoria[--longitud] = v;
+
+        return trayectoria;
+    }
+
+    /* Convierte una trayectoria de identificadores en lista de vértices. */
+    private Lista<VerticeGrafica<T>> aLista(int[] trayectoria) {
+        Lista<VerticeGrafica<T>> lista = new Lista<>();
+        for (int id : trayectoria)
+            lista.agrega(new Vertice(id));
+        return lista;
+    }
+
+    /* Verifica que el identificador sea válido. */
+    private void verificaId(int id) {
+        if (id < 0 || id >= vertices)
+            throw new NoSuchElementException("El vértice no se encuentra en la gráfica.");
+    }
+}
@@ -0,0 +1,144 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <p>Clase para montículos de Dijkstra con cubetas (algoritmo de Dial). Sirve
+ * cuando las llaves de los elementos son enteras y, como en Dijkstra con pesos
+ * enteros entre 1 y <i>C</i>, ninguna llave excede por más de <i>C</i> a la
+ * llave del último elemento eliminado.</p>
+ *
+ * <p>Como {@link ComparableIndexable} sólo permite comparar elementos, el
+ * montículo recibe además una función que regresa la llave de cada elemento.
+ * Los elementos con llave {@link Double#MAX_VALUE} (los vértices que Dijkstra
+ * todavía no alcanza) no se guardan en ninguna cubeta; se regresan, en
+ * cualquier orden, cuando ya no queda ningún otro.</p>
+ */
+public class MonticuloCubetas<T extends ComparableIndexable<T>>
+    implements MonticuloDijkstra<T> {
+
+    /* Número de elementos en el montículo. */
+    private int elementos;
+    /* Usamos un truco para poder utilizar arreglos genéricos. */
+    private T[] arreglo;
+    /* La función que regresa la llave de cada elemento. */
+    private ToDoubleFunction<T> llave;
+    /* Las cubetas, con los índices de los elementos. */
+    private MonticuloCubetasEnteros cubetas;
+    /* Siguiente índice a revisar de los elementos con llave infinita. */
+    private int siguienteInfinito;
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked") private T[] nuevoArreglo(int n) {
+        return (T[])(new ComparableIndexable[n]);
+    }
+
+    /**
+     * Construye un nuevo montículo de cubetas a partir de un iterable.
+     * @param iterable el iterable a partir de la cual construir el montículo.
+     * @param n el número de elementos en el iterable.
+     * @param cota la máxima diferencia entre la llave de un elemento
+     *        reordenado y la llave del último elemento eliminado.
+     * @param llave la función que regresa la llave de cada elemento.
+     * @throws IllegalArgumentException si alguna llave no es entera o está
+     *         fuera del rango de las cubetas.
+     */
+    public MonticuloCubetas(Iterable<T> iterable, int n, int cota,
+                            ToDoubleFunction<T> llave) {
+        arreglo = nuevoArreglo(n);
+        this.llave = llave;
+        cubetas = new MonticuloCubetasEnteros(cota);
+
+        for (T elemento : iterable) {
+            arreglo[elementos] = elemento;
+            elemento.setIndice(elementos++);
+        }
+        for (T elemento : arreglo)
+            reordena(elemento);
+    }
+
+    /**
+     * Elimina el elemento mínimo del montículo.
+     * @return el elemento mínimo del montículo.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    @Override public T elimina() {
+        if (elementos == 0)
+            throw new IllegalStateException("El montículo es vacío.");
+
+        while (!cubetas.esVacia()) {
+            int prioridad = cubetas.prioridadMinima();
+            int indice = cubetas.elimina();
+            T elemento = arreglo[indice];
+            // Las entradas de elementos ya eliminados o cuya llave bajó
+            // después de agregarlos son obsoletas.
+            if (elemento != null && llave.applyAsDouble(elemento) == prioridad)
+                return saca(indice);
+        }
+
+        while (arreglo[siguienteInfinito] == null)
+            siguienteInfinito++;
+        return saca(siguienteInfinito);
+    }
+
+    /**
+     * Reordena un elemento cuya llave disminuyó.
+     * @param elemento el elemento que hay que reordenar.
+     * @throws IllegalArgumentException si la llave no es entera o está fuera
+     *         del rango de las cubetas.
+     */
+    @Override public void reordena(T elemento) {
+        double valor = llave.applyAsDouble(elemento);
+        if (valor == Double.MAX_VALUE)
+            return;
+
+        if (valor != Math.rint(valor) || valor > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("La llave no es un entero válido.");
+
+        cubetas.agrega(elemento.getIndice(), (int)valor);
+    }
+
+    /**
+     * Regresa el <i>i</i>-ésimo elemento del arreglo.
+     * @param i el índice del elemento que queremos.
+     * @return el <i>i</i>-ésimo elemento del arreglo, o <code>null</code> si
+     *         ya fue eliminado.
+     * @throws NoSuchElementException si i es menor que cero, o mayor o igual
+     *         que el número de elementos con que se construyó el montículo.
+     */
+    @Override public T get(int i) {
+        if (i < 0 || i >= arreglo.length)
+            throw new NoSuchElementException("No existe el elemento.");
+
+        return arreglo[i];
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <code>true</code> si ya no hay elementos en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo.
+     * @return el número de elementos en el montículo.
+     */
+    @Override public int getElementos() {
+        return elementos;
+    }
+
+    /* Saca del arreglo el elemento en el índice dado y lo regresa. */
+    private T saca(int indice) {
+        T elemento = arreglo[indice];
+        arreglo[indice] = null;
+        elemento.setIndice(-1);
+        elementos--;
+        return elemento;
+    }
+}
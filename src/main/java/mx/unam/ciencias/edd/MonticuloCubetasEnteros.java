@@ -0,0 +1,139 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Clase para montículos de cubetas (algoritmo de Dial) de enteros con
+ * prioridades enteras acotadas. Es una alternativa a {@link MonticuloEnteros}
+ * cuando las prioridades son enteras y nunca se agrega un entero con prioridad
+ * mayor que la mínima actual más una cota <i>C</i>, como ocurre en Dijkstra
+ * cuando todos los pesos son enteros entre 1 y <i>C</i>.</p>
+ *
+ * <p>El montículo tiene <i>C</i>+1 cubetas que se usan de forma circular:
+ * la prioridad <i>p</i> va a la cubeta <i>p</i> mod (<i>C</i>+1). Agregar
+ * cuesta tiempo <i>O</i>(1) y eliminar tiempo <i>O</i>(1) amortizado.
+ * Igual que en {@link MonticuloEnteros}, para disminuir la prioridad de un
+ * entero basta agregarlo de nuevo, y las entradas obsoletas se ignoran al
+ * sacarlas.</p>
+ */
+public class MonticuloCubetasEnteros {
+
+    /* Capacidad inicial de cada cubeta. */
+    private static final int CAPACIDAD_CUBETA = 4;
+
+    /* Las cubetas; cada una es una pila de enteros. */
+    private int[][] cubetas;
+    /* Número de enteros en cada cubeta. */
+    private int[] tamanos;
+    /* La prioridad mínima actual. */
+    private int actual;
+    /* Número de elementos en el montículo. */
+    private int elementos;
+
+    /**
+     * Construye un montículo de cubetas para prioridades que nunca exceden la
+     * mínima actual por más de la cota dada.
+     * @param cota la máxima diferencia entre una prioridad agregada y la
+     *        prioridad mínima del montículo.
+     * @throws IllegalArgumentException si la cota es negativa.
+     */
+    public MonticuloCubetasEnteros(int cota) {
+        if (cota < 0)
+            throw new IllegalArgumentException("La cota no es válida.");
+
+        cubetas = new int[cota + 1][];
+        tamanos = new int[cota + 1];
+    }
+
+    /**
+     * Agrega un entero con la prioridad dada.
+     * @param entero el entero a agregar.
+     * @param prioridad la prioridad del entero.
+     * @throws IllegalArgumentException si la prioridad es negativa, menor que
+     *         la mínima actual, o la excede por más que la cota.
+     */
+    public void agrega(int entero, int prioridad) {
+        boolean enRango = prioridad >= actual && prioridad - actual < cubetas.length;
+        if (prioridad < 0 || (elementos > 0 && !enRango))
+            throw new IllegalArgumentException("La prioridad está fuera del rango de las cubetas.");
+
+        // Si el montículo es vacío conservamos la prioridad actual mientras
+        // la nueva quepa en el rango: en Dijkstra, al sacar el último
+        // elemento se agregan sus vecinos en cualquier orden.
+        if (elementos == 0 && !enRango)
+            actual = prioridad;
+
+        int c = prioridad % cubetas.length;
+        if (cubetas[c] == null)
+            cubetas[c] = new int[CAPACIDAD_CUBETA];
+        else if (tamanos[c] == cubetas[c].length) {
+            int[] nueva = new int[tamanos[c] * 2];
+            System.arraycopy(cubetas[c], 0, nueva, 0, tamanos[c]);
+            cubetas[c] = nueva;
+        }
+
+        cubetas[c][tamanos[c]++] = entero;
+        elementos++;
+    }
+
+    /**
+     * Elimina un entero con la menor prioridad del montículo.
+     * @return un entero con la menor prioridad.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    public int elimina() {
+        int c = cubetaMinima();
+        elementos--;
+        return cubetas[c][--tamanos[c]];
+    }
+
+    /**
+     * Regresa la menor prioridad en el montículo.
+     * @return la menor prioridad en el montículo.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    public int prioridadMinima() {
+        cubetaMinima();
+        return actual;
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <code>true</code> si ya no hay elementos en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo, contando las entradas
+     * repetidas.
+     * @return el número de elementos en el montículo.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Limpia el montículo de elementos, dejándolo vacío.
+     */
+    public void limpia() {
+        for (int c = 0; c < tamanos.length; c++)
+            tamanos[c] = 0;
+        elementos = 0;
+    }
+
+    /* Avanza la prioridad actual hasta la primera cubeta no vacía y la
+     * regresa. Como todas las prioridades están entre la actual y la actual
+     * más la cota, el ciclo da a lo más una vuelta. */
+    private int cubetaMinima() {
+        if (elementos == 0)
+            throw new IllegalStateException("El montículo es vacío.");
+
+        int c = actual % cubetas.length;
+        while (tamanos[c] == 0) {
+            actual++;
+            c = c + 1 == cubetas.length ? 0 : c + 1;
+        }
+        return c;
+    }
+}
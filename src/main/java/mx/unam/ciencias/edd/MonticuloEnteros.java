@@ -0,0 +1,140 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Clase para montículos mínimos de enteros. Cada entero (normalmente el
+ * identificador de un vértice) se agrega con una prioridad real, y el
+ * montículo regresa primero el entero con menor prioridad.</p>
+ *
+ * <p>A diferencia de {@link MonticuloMinimo}, el montículo no guarda objetos ni
+ * índices dentro de ellos; los enteros y sus prioridades viven en arreglos
+ * paralelos. Tampoco ofrece reordenar: para disminuir la prioridad de un
+ * entero basta agregarlo de nuevo, y quien lo use debe ignorar las entradas
+ * obsoletas al sacarlas (inserción perezosa).</p>
+ */
+public class MonticuloEnteros {
+
+    /* Capacidad inicial por omisión. */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /* Los enteros del montículo. */
+    private int[] enteros;
+    /* Las prioridades de los enteros. */
+    private double[] prioridades;
+    /* El número de elementos en el montículo. */
+    private int elementos;
+
+    /**
+     * Construye un montículo vacío.
+     */
+    public MonticuloEnteros() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Construye un montículo vacío con una capacidad inicial.
+     * @param capacidad el número tentativo de elementos.
+     */
+    public MonticuloEnteros(int capacidad) {
+        capacidad = capacidad < 1 ? 1 : capacidad;
+        enteros = new int[capacidad];
+        prioridades = new double[capacidad];
+    }
+
+    /**
+     * Agrega un entero con la prioridad dada.
+     * @param entero el entero a agregar.
+     * @param prioridad la prioridad del entero.
+     */
+    public void agrega(int entero, double prioridad) {
+        if (elementos == enteros.length) {
+            int[] nuevosEnteros = new int[elementos * 2];
+            double[] nuevasPrioridades = new double[elementos * 2];
+            System.arraycopy(enteros, 0, nuevosEnteros, 0, elementos);
+            System.arraycopy(prioridades, 0, nuevasPrioridades, 0, elementos);
+            enteros = nuevosEnteros;
+            prioridades = nuevasPrioridades;
+        }
+
+        int i = elementos++;
+        while (i > 0) {
+            int padre = (i - 1) / 2;
+            if (prioridades[padre] <= prioridad)
+                break;
+            enteros[i] = enteros[padre];
+            prioridades[i] = prioridades[padre];
+            i = padre;
+        }
+        enteros[i] = entero;
+        prioridades[i] = prioridad;
+    }
+
+    /**
+     * Elimina el entero con menor prioridad del montículo.
+     * @return el entero con menor prioridad.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    public int elimina() {
+        if (elementos == 0)
+            throw new IllegalStateException("El montículo es vacío.");
+
+        int minimo = enteros[0];
+        elementos--;
+
+        int entero = enteros[elementos];
+        double prioridad = prioridades[elementos];
+        int i = 0;
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= elementos)
+                break;
+            if (hijo + 1 < elementos && prioridades[hijo + 1] < prioridades[hijo])
+                hijo++;
+            if (prioridad <= prioridades[hijo])
+                break;
+            enteros[i] = enteros[hijo];
+            prioridades[i] = prioridades[hijo];
+            i = hijo;
+        }
+        enteros[i] = entero;
+        prioridades[i] = prioridad;
+
+        return minimo;
+    }
+
+    /**
+     * Regresa la prioridad del entero con menor prioridad, sin sacarlo.
+     * @return la menor prioridad en el montículo.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    public double prioridadMinima() {
+        if (elementos == 0)
+            throw new IllegalStateException("El montículo es vacío.");
+
+        return prioridades[0];
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <code>true</code> si ya no hay elementos en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo, contando las entradas
+     * repetidas.
+     * @return el número de elementos en el montículo.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Limpia el montículo de elementos, dejándolo vacío.
+     */
+    public void limpia() {
+        elementos = 0;
+    }
+}
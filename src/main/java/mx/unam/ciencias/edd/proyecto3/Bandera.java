@@ -7,10 +7,22 @@ public class Bandera {
     private int height; // Altura del laberinto
     private int width; // Anchura del laberinto
     private Lista<String> argumentos;  // Lista de argumentos pasados en la línea de comandos
+    private boolean generar; // Si se genera un laberinto (-g) o se resuelve uno de la entrada estándar
+    private boolean aEstrella; // Si se resuelve con A* (-a) en lugar de Dijkstra
+    private boolean compacto; // Si el SVG se escribe en modo compacto (-c)
+    private String archivo; // Archivo .mze a resolver; null para leer la entrada estándar
+    private String lote; // Directorio o manifiesto a procesar en lote (-b)
+    private String salida; // Directorio donde se escriben los SVG del lote (-o)
+    private String servicio; // Laberinto sobre el que se atienden consultas de la entrada estándar (-p)
+    private int hilos = Runtime.getRuntime().availableProcessors(); // Hilos para el lote (-j)
+    private String metodo = "dfs"; // Método de generación (-m)
+    private int tamanoMosaico = GeneradorMosaicos.TAMANO_MOSAICO; // Lado de los mosaicos (-t)
+    // Métodos de generación válidos para la bandera -m
+    private static final String[] METODOS = { "dfs", "eller", "mosaicos", "kruskal", "prim", "wilson", "arbol" };
     // Método para procesar cada bandera individualmente
     private void processFlag(String flag) {
         if (!argumentos.contiene(flag)) {
-            if (!flag.equals("-s")) {  // si la bandera no es "-s"
+            if (!flag.equals("-s") && !flag.equals("-t")) {  // si la bandera no es opcional
                 // Imprime un error y termina el programa
                 System.err.printf("No se paso la bandera %s%n", flag);
                 uso();
@@ -25,19 +37,13 @@ public class Bandera {
                 }
                 String value = argumentos.get(i + 1);
                 int intValue = Integer.parseInt(value);
-                // Si la bandera es "-w" o "-h", y el valor es menor que 2 o mayor que 255, imprime un error y termina el programa
-                if (flag.equals("-w") || flag.equals("-h")) {
+                // Si la bandera es "-w", "-h" o "-t", y el valor es menor que 2, imprime un error y termina el programa
+                if (flag.equals("-w") || flag.equals("-h") || flag.equals("-t")) {
                     if(intValue < 2){
                         System.err.printf("El valor para %s no debe ser menor que 2%n", flag);
                         uso();
                         System.exit(1);
                     }
-                    if (intValue > 255) {
-                        System.err.printf("El valor para %s debe ser menor que 256%n", flag);
-                        uso();
-                        System.exit(1);
-                    }
-                    
                 }
                 // Dependiendo de la bandera, establece la semilla, la altura o la anchura
                 switch (flag) {
@@ -50,6 +56,9 @@ public class Bandera {
                     case "-s":
                         this.seed = intValue;
                         break;
+                    case "-t":
+                        this.tamanoMosaico = intValue;
+                        break;
                 }
                 // Elimina la bandera y su valor de la lista de argumentos
                 argumentos.elimina(flag);
@@ -69,29 +78,165 @@ public class Bandera {
         for (String s: args) {
             argumentos.agrega(s);
         }
-        // Si no se pasa la bandera "-g", imprime un error y termina el programa
+        // Si no se pasa la bandera "-g", se resuelve el laberinto de la entrada estándar
         if (!argumentos.contiene("-g")) {
-            System.err.print("No se paso la bandera -g");
-            uso();
-            System.exit(1);
+            processSolveFlags();
+            return;
         } else {
             int i = argumentos.indiceDe("-g");
             String g = argumentos.get(i);
             argumentos.elimina(g);
+            generar = true;
         }
         // Procesa las banderas "-w" y "-h"
         processFlag("-w");
         processFlag("-h");
+        // Las dimensiones mayores a 255 usan el encabezado extendido, pero el laberinto debe caber en memoria
+        if ((long)width * height > Laberinto.MAXIMO_CASILLAS) {
+            System.err.printf("El laberinto no debe tener mas de %d casillas%n", Laberinto.MAXIMO_CASILLAS);
+            uso();
+            System.exit(1);
+        }
         // Si se pasa la bandera "-s", la procesa
         if (argumentos.contiene("-s")) {  // si la lista de argumentos contiene "-s"
             processFlag("-s");
         }
+        // Si se pasa la bandera "-m", la procesa
+        if (argumentos.contiene("-m")) {
+            processMethodFlag();
+        }
+        // Si se pasa la bandera "-t", la procesa
+        if (argumentos.contiene("-t")) {
+            processFlag("-t");
+        }
+    }
+    // Método para procesar la bandera del método de generación
+    private void processMethodFlag() {
+        int i = argumentos.indiceDe("-m");
+        if (i + 1 < argumentos.getLongitud()) {
+            String value = argumentos.get(i + 1);
+            for (String m : METODOS) {
+                if (m.equals(value)) {
+                    this.metodo = value;
+                    argumentos.elimina("-m");
+                    argumentos.elimina(value);
+                    return;
+                }
+            }
+        }
+        // Si no se pasa un método válido, imprime un error y termina el programa
+        System.err.printf("No se paso correctamente la bandera -m. Se esperaba uno de: %s%n",
+                          String.join(", ", METODOS));
+        uso();
+        System.exit(1);
+    }
+    // Método para procesar una bandera que recibe una cadena; regresa el valor
+    private String processValueFlag(String flag) {
+        int i = argumentos.indiceDe(flag);
+        if (i + 1 >= argumentos.getLongitud()) {
+            System.err.printf("No se paso correctamente la bandera %s. Se esperaba un valor.%n", flag);
+            uso();
+            System.exit(1);
+        }
+        String value = argumentos.get(i + 1);
+        argumentos.elimina(flag);
+        argumentos.elimina(value);
+        return value;
+    }
+    // Método para procesar las banderas del modo de resolución
+    private void processSolveFlags() {
+        if (argumentos.contiene("-a")) {
+            argumentos.elimina("-a");
+            this.aEstrella = true;
+        }
+        if (argumentos.contiene("-c")) {
+            argumentos.elimina("-c");
+            this.compacto = true;
+        }
+        // Banderas del modo por lotes y del servicio; -o sólo se usa con -b,
+        // y -j con -b o -p
+        if (argumentos.contiene("-b")) {
+            this.lote = processValueFlag("-b");
+        }
+        if (lote == null && argumentos.contiene("-p")) {
+            this.servicio = processValueFlag("-p");
+        }
+        if (lote != null && argumentos.contiene("-o")) {
+            this.salida = processValueFlag("-o");
+        }
+        if ((lote != null || servicio != null) && argumentos.contiene("-j")) {
+            String value = processValueFlag("-j");
+            try {
+                this.hilos = Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                this.hilos = 0;
+            }
+            if (hilos < 1) {
+                System.err.println("El valor para -j debe ser un entero mayor que 0");
+                uso();
+                System.exit(1);
+            }
+        }
+        // Un argumento que no es bandera es el archivo a resolver
+        if (lote == null && servicio == null && argumentos.getElementos() == 1 && !argumentos.getPrimero().startsWith("-")) {
+            this.archivo = argumentos.getPrimero();
+            argumentos.elimina(archivo);
+        }
+        // Cualquier otro argumento es un error
+        if (!argumentos.esVacia()) {
+            System.err.printf("Bandera desconocida %s%n", argumentos.getPrimero());
+            uso();
+            System.exit(1);
+        }
     }
     // Método que imprime el uso correcto del programa
     public void uso(){
-        System.err.println("\nUso: java -jar target/proyecto3.jar -g [-s <semilla>] -w <ancho> -h <alto>");
+        System.err.println("\nUso: java -jar target/proyecto3.jar -g [-s <semilla>] [-m <metodo>] [-t <mosaico>] -w <ancho> -h <alto>");
+        System.err.println("     java -jar target/proyecto3.jar [-a] [-c] [laberinto.mze] > laberinto.svg");
+        System.err.println("     java -jar target/proyecto3.jar [-a] [-c] -b <directorio|manifiesto> [-o <directorio>] [-j <hilos>]");
+        System.err.println("     java -jar target/proyecto3.jar [-a] -p <laberinto.mze> [-j <hilos>] < consultas > respuestas");
+    }
+    // Getters para el modo, la semilla, la altura y la anchura
+    public boolean esGeneracion(){
+        return generar;
+    }
+
+    public boolean usaAEstrella(){
+        return aEstrella;
+    }
+
+    public boolean esCompacto(){
+        return compacto;
+    }
+
+    public String getArchivo(){
+        return archivo;
     }
-    // Getters para la semilla, la altura y la anchura
+
+    public String getLote(){
+        return lote;
+    }
+
+    public String getServicio(){
+        return servicio;
+    }
+
+    public String getSalida(){
+        return salida;
+    }
+
+    public int getHilos(){
+        return hilos;
+    }
+
+    public String getMetodo(){
+        return metodo;
+    }
+
+    public int getTamanoMosaico(){
+        return tamanoMosaico;
+    }
+
     public Integer getSeed(){
         return seed;
     }
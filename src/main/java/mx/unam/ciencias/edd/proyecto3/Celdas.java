@@ -0,0 +1,96 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Casillas empacadas de un laberinto, un byte por casilla y por renglones. El
+ * búfer puede estar en el heap o ser un archivo mapeado a memoria de sólo
+ * lectura; en ese caso las pocas casillas que se modifican después de leer el
+ * laberinto (la entrada y la salida) se guardan aparte.
+ */
+class Celdas {
+
+    /* Máximo número de casillas que se pueden modificar en un búfer de sólo
+     * lectura. */
+    private static final int MAXIMO_MODIFICADAS = 2;
+
+    /* El búfer con las casillas */
+    private ByteBuffer bufer;
+    /* Índices y valores de las casillas modificadas de un búfer de sólo lectura */
+    private int[] indices;
+    private byte[] valores;
+    private int modificadas;
+
+    /**
+     * Crea las casillas sobre el búfer dado.
+     * @param bufer el búfer, con una casilla por byte.
+     */
+    Celdas(ByteBuffer bufer){
+        this.bufer = bufer;
+        indices = new int[MAXIMO_MODIFICADAS];
+        valores = new byte[MAXIMO_MODIFICADAS];
+    }
+
+    /**
+     * Regresa el byte de una casilla.
+     * @param casilla el índice de la casilla.
+     * @return el byte de la casilla.
+     */
+    byte get(int casilla){
+        for (int m = 0; m < modificadas; m++)
+            if (indices[m] == casilla)
+                return valores[m];
+        return bufer.get(casilla);
+    }
+
+    /**
+     * Define el byte de una casilla.
+     * @param casilla el índice de la casilla.
+     * @param valor el nuevo byte de la casilla.
+     * @throws IllegalStateException si el búfer es de sólo lectura y ya se
+     *         modificó el máximo de casillas.
+     */
+    void put(int casilla, byte valor){
+        if (!bufer.isReadOnly()){
+            bufer.put(casilla, valor);
+            return;
+        }
+        for (int m = 0; m < modificadas; m++)
+            if (indices[m] == casilla){
+                valores[m] = valor;
+                return;
+            }
+        if (modificadas == MAXIMO_MODIFICADAS)
+            throw new IllegalStateException("No se pueden modificar mas casillas de un laberinto mapeado.");
+        indices[modificadas] = casilla;
+        valores[modificadas++] = valor;
+    }
+
+    /**
+     * Regresa el número de casillas.
+     * @return el número de casillas.
+     */
+    int getElementos(){
+        return bufer.capacity();
+    }
+
+    /**
+     * Regresa un búfer de sólo lectura con todas las casillas, listo para
+     * escribirse de una vez. Comparte el contenido con las casillas, salvo si
+     * hay casillas modificadas aparte: en ese caso es una copia.
+     * @return un búfer con todas las casillas, de la posición 0 al límite.
+     */
+    ByteBuffer vista(){
+        ByteBuffer vista = bufer.duplicate();
+        vista.clear();
+        if (modificadas == 0)
+            return vista;
+
+        ByteBuffer copia = ByteBuffer.allocate(vista.capacity());
+        copia.put(vista);
+        for (int m = 0; m < modificadas; m++)
+            copia.put(indices[m], valores[m]);
+        copia.clear();
+        return copia;
+    }
+}
@@ -0,0 +1,22 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.io.IOException;
+
+/**
+ * Clase para excepciones de archivos .mze inválidos.
+ */
+public class ExcepcionArchivoInvalido extends IOException {
+
+    /**
+     * Constructor vacío.
+     */
+    public ExcepcionArchivoInvalido() {}
+
+    /**
+     * Constructor que recibe un mensaje para el usuario.
+     * @param mensaje un mensaje que verá el usuario cuando ocurra la excepción.
+     */
+    public ExcepcionArchivoInvalido(String mensaje) {
+        super(mensaje);
+    }
+}
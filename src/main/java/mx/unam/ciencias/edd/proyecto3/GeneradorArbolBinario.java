@@ -0,0 +1,34 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.util.Random;
+
+/**
+ * Generador de árbol binario: en una sola pasada por renglones, cada casilla
+ * tira al azar su pared derecha o la de abajo (en el último renglón sólo
+ * puede tirar la derecha, y en la última columna sólo la de abajo). Es el
+ * algoritmo más rápido y no usa memoria adicional, pero tiene un sesgo
+ * fuerte: el último renglón y la última columna son pasillos rectos.
+ */
+public class GeneradorArbolBinario extends GeneradorCeldas {
+
+    /**
+     * Tira las paredes de un árbol binario aleatorio.
+     * @param celdas las casillas empacadas, por renglones.
+     * @param ancho el ancho del laberinto.
+     * @param alto el alto del laberinto.
+     * @param r el generador de números aleatorios.
+     */
+    @Override protected void talla(byte[] celdas, int ancho, int alto, Random r){
+        for (int i = 0; i < alto; i++){
+            for (int j = 0; j < ancho; j++){
+                int c = i*ancho + j;
+                boolean puedeDerecha = j < ancho - 1;
+                boolean puedeAbajo = i < alto - 1;
+                if (puedeDerecha && (!puedeAbajo || r.nextBoolean()))
+                    abreDerecha(celdas, c);
+                else if (puedeAbajo)
+                    abreAbajo(celdas, ancho, c);
+            }
+        }
+    }
+}
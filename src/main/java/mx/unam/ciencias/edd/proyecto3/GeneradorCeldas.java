@@ -0,0 +1,76 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.util.Random;
+
+/**
+ * Base de los generadores que tallan directamente un arreglo de casillas
+ * empacadas. Cada casilla empieza con un puntaje al azar y todas sus paredes;
+ * el algoritmo concreto tira paredes, y al final se sortean la entrada en la
+ * primera columna y la salida en la última.
+ */
+abstract class GeneradorCeldas implements GeneradorLaberinto {
+
+    /**
+     * Genera un laberinto con las dimensiones dadas.
+     * @param ancho el ancho del laberinto.
+     * @param alto el alto del laberinto.
+     * @param seed la semilla, o <code>null</code> para usar una al azar.
+     * @return el laberinto generado.
+     * @throws IllegalArgumentException si el ancho o el alto son menores que
+     *         2, o si el laberinto tendría más de {@link
+     *         Laberinto#MAXIMO_CASILLAS} casillas.
+     */
+    @Override public Laberinto genera(int ancho, int alto, Integer seed){
+        revisaDimensiones(ancho, alto);
+        Random r = seed == null ? new Random() : new Random(seed);
+        byte[] celdas = new byte[ancho*alto];
+        for (int i = 0; i < celdas.length; i++)
+            celdas[i] = (byte)((r.nextInt(16) << 4) | 0x0f);
+
+        talla(celdas, ancho, alto, r);
+
+        int filaInicio = r.nextInt(alto);
+        int filaFin = r.nextInt(alto);
+        return new Laberinto(ancho, alto, celdas, filaInicio, filaFin);
+    }
+
+    /**
+     * Tira las paredes interiores que definen el laberinto.
+     * @param celdas las casillas empacadas, por renglones, con todas sus
+     *        paredes.
+     * @param ancho el ancho del laberinto.
+     * @param alto el alto del laberinto.
+     * @param r el generador de números aleatorios.
+     */
+    protected abstract void talla(byte[] celdas, int ancho, int alto, Random r);
+
+    /* Lanza IllegalArgumentException si las dimensiones no son las de un
+     * laberinto válido. */
+    static void revisaDimensiones(int ancho, int alto){
+        if (ancho < 2 || alto < 2 || (long)ancho*alto > Laberinto.MAXIMO_CASILLAS)
+            throw new IllegalArgumentException(String.format(
+                "Dimensiones invalidas: %dx%d", ancho, alto));
+    }
+
+    /* Tira la pared entre la casilla y su vecina derecha. */
+    static void abreDerecha(byte[] celdas, int c){
+        celdas[c] &= ~Laberinto.P_OESTE;
+        celdas[c+1] &= ~Laberinto.P_ESTE;
+    }
+
+    /* Tira la pared entre la casilla y su vecina de abajo. */
+    static void abreAbajo(byte[] celdas, int ancho, int c){
+        celdas[c] &= ~Laberinto.P_SUR;
+        celdas[c+ancho] &= ~Laberinto.P_NORTE;
+    }
+
+    /* Tira la pared entre dos casillas vecinas, en cualquier orden; si están
+     * en el mismo renglón la pared es vertical. */
+    static void abre(byte[] celdas, int ancho, int a, int b){
+        int menor = Math.min(a, b);
+        if (a / ancho == b / ancho)
+            abreDerecha(celdas, menor);
+        else
+            abreAbajo(celdas, ancho, menor);
+    }
+}
@@ -0,0 +1,25 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+/**
+ * Generador con búsqueda en profundidad (el algoritmo original de
+ * {@link Laberinto}), que además tira algunas paredes al azar para formar
+ * ciclos. Con la misma semilla produce exactamente el mismo laberinto que los
+ * constructores de {@link Laberinto}.
+ */
+public class GeneradorDFS implements GeneradorLaberinto {
+
+    /**
+     * Genera un laberinto con las dimensiones dadas.
+     * @param ancho el ancho del laberinto.
+     * @param alto el alto del laberinto.
+     * @param seed la semilla, o <code>null</code> para usar una al azar.
+     * @return el laberinto generado.
+     * @throws IllegalArgumentException si el ancho o el alto son menores que
+     *         2, o si el laberinto tendría más de {@link
+     *         Laberinto#MAXIMO_CASILLAS} casillas.
+     */
+    @Override public Laberinto genera(int ancho, int alto, Integer seed){
+        GeneradorCeldas.revisaDimensiones(ancho, alto);
+        return seed == null ? new Laberinto(ancho, alto) : new Laberinto(ancho, alto, seed);
+    }
+}
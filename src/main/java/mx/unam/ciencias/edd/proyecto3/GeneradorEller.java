@@ -0,0 +1,163 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+
+/**
+ * Generador de laberintos por renglones con el algoritmo de Eller. Cada
+ * renglón se escribe en formato .mze en cuanto está terminado, así que la
+ * memoria que usa es proporcional al ancho y no al alto del laberinto.
+ *
+ * El algoritmo lleva el conjunto al que pertenece cada casilla del renglón
+ * actual: une al azar casillas vecinas de conjuntos distintos, abre hacia
+ * abajo al menos una casilla de cada conjunto, y en el último renglón une
+ * todos los conjuntos que quedan. Como en {@link Laberinto}, además se tiran
+ * al azar algunas paredes internas para que haya ciclos, y la entrada y la
+ * salida están en la primera y la última columna. La misma semilla produce
+ * siempre el mismo laberinto.
+ */
+public class GeneradorEller {
+
+    /* Probabilidad de tirar una pared entre vecinas del mismo conjunto, que
+     * el algoritmo conservaría, para formar un ciclo */
+    private static final double PROBABILIDAD_CICLO = 0.1;
+
+    private int ancho, alto;
+    private Random r;
+
+    /* Conjuntos del renglón actual como bosque de unión y búsqueda; los
+     * identificadores se compactan en cada renglón, así que siempre son
+     * menores que el ancho. */
+    private int[] padres;
+    /* Conjunto de cada casilla del renglón actual */
+    private int[] conjuntos;
+    /* El renglón actual, empacado como en el archivo */
+    private byte[] fila;
+    /* Casillas del renglón actual abiertas hacia el de abajo */
+    private boolean[] abiertas;
+    /* Auxiliares por conjunto: última columna y si ya tiene salida hacia abajo */
+    private int[] ultimas;
+    private boolean[] conSalida;
+
+    /**
+     * Crea un generador con las dimensiones dadas.
+     * @param ancho el ancho del laberinto.
+     * @param alto el alto del laberinto.
+     * @param seed la semilla, o <code>null</code> para usar una al azar.
+     */
+    public GeneradorEller(int ancho, int alto, Integer seed){
+        this.ancho = ancho;
+        this.alto = alto;
+        this.r = seed == null ? new Random() : new Random(seed);
+    }
+
+    /**
+     * Genera el laberinto y lo escribe en la salida en formato .mze, renglón
+     * por renglón, y la vacía al terminar.
+     * @param out la salida.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public void genera(OutputStream out) throws IOException{
+        padres = new int[ancho];
+        conjuntos = new int[ancho];
+        fila = new byte[ancho];
+        abiertas = new boolean[ancho];
+        ultimas = new int[ancho];
+        conSalida = new boolean[ancho];
+
+        int filaInicio = r.nextInt(alto);
+        int filaFin = r.nextInt(alto);
+        out.write(Laberinto.encabezado(ancho, alto));
+
+        for (int j = 0; j < ancho; j++){
+            padres[j] = j;
+            conjuntos[j] = j;
+        }
+
+        for (int i = 0; i < alto; i++){
+            boolean ultima = i == alto - 1;
+            for (int j = 0; j < ancho; j++){
+                // Todas las paredes, y el norte abierto si la casilla de
+                // arriba abrió hacia abajo
+                int b = (r.nextInt(16) << 4) | 0x0f;
+                if (abiertas[j])
+                    b &= ~Laberinto.P_NORTE;
+                fila[j] = (byte)b;
+            }
+            if (i == filaInicio)
+                fila[0] &= ~Laberinto.P_ESTE;
+            if (i == filaFin)
+                fila[ancho-1] &= ~Laberinto.P_OESTE;
+
+            // Uniones horizontales; en el último renglón se unen todos los
+            // conjuntos distintos para que el laberinto quede conexo.
+            for (int j = 0; j < ancho - 1; j++){
+                int a = raiz(conjuntos[j]), c = raiz(conjuntos[j+1]);
+                boolean tira = a != c ? (ultima || r.nextBoolean())
+                                      : r.nextDouble() < PROBABILIDAD_CICLO;
+                if (tira){
+                    fila[j] &= ~Laberinto.P_OESTE;
+                    fila[j+1] &= ~Laberinto.P_ESTE;
+                    padres[c] = a;
+                }
+            }
+
+            if (!ultima){
+                // Cada conjunto abre hacia abajo al menos su última casilla
+                for (int j = 0; j < ancho; j++){
+                    int c = raiz(conjuntos[j]);
+                    conjuntos[j] = c;
+                    ultimas[c] = j;
+                    conSalida[c] = false;
+                }
+                for (int j = 0; j < ancho; j++){
+                    int c = conjuntos[j];
+                    boolean abre = r.nextBoolean() ||
+                        (ultimas[c] == j && !conSalida[c]);
+                    abiertas[j] = abre;
+                    if (abre){
+                        conSalida[c] = true;
+                        fila[j] &= ~Laberinto.P_SUR;
+                    }
+                }
+            }
+
+            out.write(fila);
+            if (!ultima)
+                compacta();
+        }
+        out.flush();
+    }
+
+    /* Compacta los conjuntos para el renglón de abajo: las casillas abiertas
+     * conservan su conjunto y las demás empiezan uno nuevo. */
+    private void compacta(){
+        int[] nuevos = ultimas;
+        for (int c = 0; c < nuevos.length; c++)
+            nuevos[c] = -1;
+        int siguiente = 0;
+        for (int j = 0; j < ancho; j++){
+            if (!abiertas[j])
+                continue;
+            int c = conjuntos[j];
+            if (nuevos[c] == -1)
+                nuevos[c] = siguiente++;
+            conjuntos[j] = nuevos[c];
+        }
+        for (int j = 0; j < ancho; j++)
+            if (!abiertas[j])
+                conjuntos[j] = siguiente++;
+        for (int c = 0; c < siguiente; c++)
+            padres[c] = c;
+    }
+
+    /* Regresa la raíz del conjunto, comprimiendo el camino. */
+    private int raiz(int c){
+        while (padres[c] != c){
+            padres[c] = padres[padres[c]];
+            c = padres[c];
+        }
+        return c;
+    }
+}
@@ -0,0 +1,51 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.ConjuntosDisjuntos;
+
+/**
+ * Generador con el algoritmo de Kruskal aleatorio: revuelve todas las paredes
+ * interiores y tira cada una que separe dos componentes distintas, según un
+ * {@link ConjuntosDisjuntos}. Tarda tiempo casi lineal, pero guarda todas las
+ * paredes a la vez (dos enteros por casilla).
+ */
+public class GeneradorKruskal extends GeneradorCeldas {
+
+    /**
+     * Tira las paredes de un árbol generador aleatorio.
+     * @param celdas las casillas empacadas, por renglones.
+     * @param ancho el ancho del laberinto.
+     * @param alto el alto del laberinto.
+     * @param r el generador de números aleatorios.
+     */
+    @Override protected void talla(byte[] celdas, int ancho, int alto, Random r){
+        int n = ancho*alto;
+        // La pared 2c es la derecha de la casilla c, y 2c+1 la de abajo
+        int[] paredes = new int[2*n];
+        int m = 0;
+        for (int c = 0; c < n; c++){
+            if (c % ancho < ancho - 1)
+                paredes[m++] = 2*c;
+            if (c / ancho < alto - 1)
+                paredes[m++] = 2*c + 1;
+        }
+        for (int i = m - 1; i > 0; i--){
+            int j = r.nextInt(i + 1);
+            int t = paredes[i];
+            paredes[i] = paredes[j];
+            paredes[j] = t;
+        }
+
+        ConjuntosDisjuntos conjuntos = new ConjuntosDisjuntos(n);
+        for (int i = 0; i < m && conjuntos.getConjuntos() > 1; i++){
+            int c = paredes[i] >> 1;
+            boolean derecha = (paredes[i] & 1) == 0;
+            if (!conjuntos.une(c, derecha ? c + 1 : c + ancho))
+                continue;
+            if (derecha)
+                abreDerecha(celdas, c);
+            else
+                abreAbajo(celdas, ancho, c);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+/**
+ * Interfaz para los algoritmos de generación de laberintos. Cada algoritmo
+ * tiene un perfil distinto de tiempo y memoria, así que se puede escoger
+ * según el tamaño del laberinto y compararlos entre sí con la misma semilla.
+ */
+public interface GeneradorLaberinto {
+
+    /**
+     * Genera un laberinto con las dimensiones dadas.
+     * @param ancho el ancho del laberinto.
+     * @param alto el alto del laberinto.
+     * @param seed la semilla, o <code>null</code> para usar una al azar.
+     * @return el laberinto generado.
+     * @throws IllegalArgumentException si el ancho o el alto son menores que
+     *         2, o si el laberinto tendría más de {@link
+     *         Laberinto#MAXIMO_CASILLAS} casillas.
+     */
+    public Laberinto genera(int ancho, int alto, Integer seed);
+}
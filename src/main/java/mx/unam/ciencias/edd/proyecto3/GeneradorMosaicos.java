@@ -0,0 +1,222 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import mx.unam.ciencias.edd.ConjuntosDisjuntos;
+
+/**
+ * Generador de laberintos por mosaicos en paralelo. La cuadrícula se parte en
+ * mosaicos cuadrados; cada mosaico se talla de forma independiente con DFS,
+ * en un {@link ForkJoinPool}, con su propio generador de números aleatorios
+ * derivado de la semilla. Después los mosaicos se cosen con un árbol
+ * generador de aberturas entre mosaicos vecinos, así que el laberinto es
+ * conexo.
+ *
+ * Como cada mosaico sólo toca sus propias casillas, el resultado no depende
+ * del orden en que se tallen: la misma semilla y el mismo tamaño de mosaico
+ * producen siempre el mismo laberinto.
+ */
+public class GeneradorMosaicos implements GeneradorLaberinto {
+
+    /** Tamaño de mosaico por omisión. */
+    public static final int TAMANO_MOSAICO = 64;
+
+    /* Fracción de paredes que se tiran además, para que haya ciclos; igual
+     * que en Laberinto */
+    private static final double FRACCION_CICLOS = 0.1;
+    /* Mosaicos a partir de los cuales ya no se divide una tarea */
+    private static final int MOSAICOS_POR_TAREA = 4;
+
+    private int ancho, alto, tamano;
+    private long semilla;
+    /* Número de mosaicos por renglón y por columna */
+    private int mosaicosAncho, mosaicosAlto;
+    /* Las casillas empacadas del laberinto */
+    private byte[] celdas;
+
+    /* Tarea que talla un rango de mosaicos, dividiéndolo a la mitad. */
+    private class Tallado extends RecursiveAction {
+
+        private int desde, hasta;
+
+        Tallado(int desde, int hasta){
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override protected void compute(){
+            if (hasta - desde <= MOSAICOS_POR_TAREA){
+                for (int k = desde; k < hasta; k++)
+                    talla(k);
+                return;
+            }
+            int mitad = (desde + hasta) >>> 1;
+            invokeAll(new Tallado(desde, mitad), new Tallado(mitad, hasta));
+        }
+    }
+
+    /**
+     * Crea un generador con el tamaño de mosaico dado.
+     * @param tamano el lado de cada mosaico.
+     * @throws IllegalArgumentException si el tamaño es menor que 2.
+     */
+    public GeneradorMosaicos(int tamano){
+        if (tamano < 2)
+            throw new IllegalArgumentException("El tamaño de mosaico debe ser al menos 2.");
+        this.tamano = tamano;
+    }
+
+    /**
+     * Genera un laberinto con las dimensiones dadas.
+     * @param ancho el ancho del laberinto.
+     * @param alto el alto del laberinto.
+     * @param seed la semilla, o <code>null</code> para usar una al azar.
+     * @return el laberinto generado.
+     * @throws IllegalArgumentException si el ancho o el alto son menores que
+     *         2, o si el laberinto tendría más de {@link
+     *         Laberinto#MAXIMO_CASILLAS} casillas.
+     */
+    @Override public Laberinto genera(int ancho, int alto, Integer seed){
+        GeneradorCeldas.revisaDimensiones(ancho, alto);
+        this.ancho = ancho;
+        this.alto = alto;
+        this.semilla = seed == null ? new Random().nextLong() : seed;
+        celdas = new byte[ancho*alto];
+        mosaicosAncho = (ancho + tamano - 1) / tamano;
+        mosaicosAlto = (alto + tamano - 1) / tamano;
+
+        ForkJoinPool.commonPool().invoke(new Tallado(0, mosaicosAncho*mosaicosAlto));
+
+        Random r = new Random(semilla);
+        cose(r);
+        int filaInicio = r.nextInt(alto);
+        int filaFin = r.nextInt(alto);
+        Laberinto laberinto = new Laberinto(ancho, alto, celdas, filaInicio, filaFin);
+        celdas = null;
+        return laberinto;
+    }
+
+    /* Talla el mosaico k con DFS y tira algunas paredes internas. */
+    private void talla(int k){
+        Random r = new Random(mezcla(semilla + k));
+        int fila = (k / mosaicosAncho) * tamano, columna = (k % mosaicosAncho) * tamano;
+        int alto = Math.min(tamano, this.alto - fila);
+        int ancho = Math.min(tamano, this.ancho - columna);
+        int n = alto*ancho;
+
+        for (int i = 0; i < alto; i++)
+            for (int j = 0; j < ancho; j++)
+                celdas[(fila + i)*this.ancho + columna + j] = (byte)((r.nextInt(16) << 4) | 0x0f);
+
+        // DFS con índices locales al mosaico
+        boolean[] visitados = new boolean[n];
+        int[] pila = new int[n];
+        int[] vecinos = new int[4];
+        int tope = 0;
+        int origen = r.nextInt(n);
+        visitados[origen] = true;
+        pila[tope++] = origen;
+        while (tope > 0){
+            int c = pila[tope-1];
+            int i = c / ancho, j = c % ancho;
+            int m = 0;
+            if (i > 0 && !visitados[c - ancho])
+                vecinos[m++] = c - ancho;
+            if (j < ancho - 1 && !visitados[c + 1])
+                vecinos[m++] = c + 1;
+            if (i < alto - 1 && !visitados[c + ancho])
+                vecinos[m++] = c + ancho;
+            if (j > 0 && !visitados[c - 1])
+                vecinos[m++] = c - 1;
+            if (m == 0){
+                tope--;
+                continue;
+            }
+            int v = vecinos[m == 1 ? 0 : r.nextInt(m)];
+            tira(global(fila, columna, ancho, Math.min(c, v)),
+                 v / ancho == i);
+            visitados[v] = true;
+            pila[tope++] = v;
+        }
+
+        // Paredes extra para formar ciclos
+        int extras = (int)(FRACCION_CICLOS * n);
+        for (int e = 0; e < extras; e++){
+            int c = r.nextInt(n);
+            boolean horizontal = r.nextBoolean();
+            if (horizontal && c % ancho < ancho - 1)
+                tira(global(fila, columna, ancho, c), true);
+            else if (!horizontal && c / ancho < alto - 1)
+                tira(global(fila, columna, ancho, c), false);
+        }
+    }
+
+    /* Cose los mosaicos: abre una casilla en la frontera de cada arista de un
+     * árbol generador aleatorio de la cuadrícula de mosaicos, y algunas más
+     * en todas las fronteras para formar ciclos. */
+    private void cose(Random r){
+        int m = mosaicosAncho*mosaicosAlto;
+        // Aristas entre mosaicos: 2k hacia la derecha y 2k+1 hacia abajo
+        int[] aristas = new int[2*m];
+        int n = 0;
+        for (int k = 0; k < m; k++){
+            if (k % mosaicosAncho < mosaicosAncho - 1)
+                aristas[n++] = 2*k;
+            if (k / mosaicosAncho < mosaicosAlto - 1)
+                aristas[n++] = 2*k + 1;
+        }
+        for (int a = n - 1; a > 0; a--){
+            int b = r.nextInt(a + 1);
+            int t = aristas[a];
+            aristas[a] = aristas[b];
+            aristas[b] = t;
+        }
+
+        ConjuntosDisjuntos conjuntos = new ConjuntosDisjuntos(m);
+        for (int a = 0; a < n; a++){
+            int k = aristas[a] / 2;
+            boolean derecha = aristas[a] % 2 == 0;
+            int vecino = derecha ? k + 1 : k + mosaicosAncho;
+            int fila = (k / mosaicosAncho) * tamano, columna = (k % mosaicosAncho) * tamano;
+            // La frontera es la última columna o el último renglón del mosaico
+            int longitud = derecha ? Math.min(tamano, alto - fila)
+                                   : Math.min(tamano, ancho - columna);
+            int aberturas = (int)(FRACCION_CICLOS * longitud);
+            if (conjuntos.une(k, vecino))
+                aberturas++;
+            for (int b = 0; b < aberturas; b++){
+                int desplazamiento = r.nextInt(longitud);
+                if (derecha)
+                    tira((fila + desplazamiento)*ancho + columna + tamano - 1, true);
+                else
+                    tira((fila + tamano - 1)*ancho + columna + desplazamiento, false);
+            }
+        }
+    }
+
+    /* Convierte un índice local de un mosaico a índice del laberinto. */
+    private int global(int fila, int columna, int anchoMosaico, int c){
+        return (fila + c / anchoMosaico)*ancho + columna + c % anchoMosaico;
+    }
+
+    /* Tira la pared derecha o de abajo de la casilla, y la correspondiente de
+     * su vecina. */
+    private void tira(int c, boolean derecha){
+        if (derecha){
+            celdas[c] &= ~Laberinto.P_OESTE;
+            celdas[c + 1] &= ~Laberinto.P_ESTE;
+        } else {
+            celdas[c] &= ~Laberinto.P_SUR;
+            celdas[c + ancho] &= ~Laberinto.P_NORTE;
+        }
+    }
+
+    /* Mezcla los bits de un número (el finalizador de SplitMix64), para que
+     * semillas consecutivas den generadores independientes. */
+    private static long mezcla(long z){
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
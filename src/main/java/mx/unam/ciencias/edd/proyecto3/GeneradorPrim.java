@@ -0,0 +1,83 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.util.Random;
+
+/**
+ * Generador con el algoritmo de Prim aleatorio: el laberinto crece desde una
+ * casilla, uniendo en cada paso una casilla al azar de la frontera con alguna
+ * vecina ya en el laberinto. Produce muchos callejones cortos; guarda la
+ * frontera, un entero por casilla en el peor caso.
+ */
+public class GeneradorPrim extends GeneradorCeldas {
+
+    /* Estados de una casilla */
+    private static final byte FUERA = 0;
+    private static final byte FRONTERA = 1;
+    private static final byte DENTRO = 2;
+
+    /**
+     * Tira las paredes de un árbol generador aleatorio.
+     * @param celdas las casillas empacadas, por renglones.
+     * @param ancho el ancho del laberinto.
+     * @param alto el alto del laberinto.
+     * @param r el generador de números aleatorios.
+     */
+    @Override protected void talla(byte[] celdas, int ancho, int alto, Random r){
+        int n = ancho*alto;
+        byte[] estados = new byte[n];
+        int[] frontera = new int[n];
+        int[] vecinas = new int[4];
+        int m = 0;
+
+        int origen = r.nextInt(n);
+        estados[origen] = DENTRO;
+        m = agregaFrontera(estados, frontera, m, origen, ancho, alto);
+
+        while (m > 0){
+            // Saca una casilla al azar de la frontera, cambiándola por la última
+            int k = r.nextInt(m);
+            int c = frontera[k];
+            frontera[k] = frontera[--m];
+
+            int i = c / ancho, j = c % ancho;
+            int v = 0;
+            if (i > 0 && estados[c - ancho] == DENTRO)
+                vecinas[v++] = c - ancho;
+            if (j < ancho - 1 && estados[c + 1] == DENTRO)
+                vecinas[v++] = c + 1;
+            if (i < alto - 1 && estados[c + ancho] == DENTRO)
+                vecinas[v++] = c + ancho;
+            if (j > 0 && estados[c - 1] == DENTRO)
+                vecinas[v++] = c - 1;
+            abre(celdas, ancho, c, vecinas[v == 1 ? 0 : r.nextInt(v)]);
+
+            estados[c] = DENTRO;
+            m = agregaFrontera(estados, frontera, m, c, ancho, alto);
+        }
+    }
+
+    /* Agrega a la frontera las vecinas de c que están fuera, y regresa el
+     * nuevo tamaño de la frontera. */
+    private static int agregaFrontera(byte[] estados, int[] frontera, int m,
+                                      int c, int ancho, int alto){
+        int i = c / ancho, j = c % ancho;
+        if (i > 0)
+            m = agrega(estados, frontera, m, c - ancho);
+        if (j < ancho - 1)
+            m = agrega(estados, frontera, m, c + 1);
+        if (i < alto - 1)
+            m = agrega(estados, frontera, m, c + ancho);
+        if (j > 0)
+            m = agrega(estados, frontera, m, c - 1);
+        return m;
+    }
+
+    /* Agrega la casilla a la frontera si está fuera. */
+    private static int agrega(byte[] estados, int[] frontera, int m, int c){
+        if (estados[c] != FUERA)
+            return m;
+        estados[c] = FRONTERA;
+        frontera[m] = c;
+        return m + 1;
+    }
+}
@@ -0,0 +1,78 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.util.Random;
+
+/**
+ * Generador con el algoritmo de Wilson: desde cada casilla que todavía no está
+ * en el laberinto se hace una caminata aleatoria hasta tocarlo, y se agrega
+ * el camino sin sus ciclos. El resultado es un árbol generador uniforme, sin
+ * el sesgo de los otros algoritmos; a cambio, las primeras caminatas pueden
+ * ser muy largas. Guarda un byte de dirección por casilla.
+ */
+public class GeneradorWilson extends GeneradorCeldas {
+
+    /* Direcciones de la caminata; 0 es ninguna */
+    private static final byte ARRIBA = 1;
+    private static final byte DERECHA = 2;
+    private static final byte ABAJO = 3;
+    private static final byte IZQUIERDA = 4;
+
+    /**
+     * Tira las paredes de un árbol generador uniforme.
+     * @param celdas las casillas empacadas, por renglones.
+     * @param ancho el ancho del laberinto.
+     * @param alto el alto del laberinto.
+     * @param r el generador de números aleatorios.
+     */
+    @Override protected void talla(byte[] celdas, int ancho, int alto, Random r){
+        int n = ancho*alto;
+        boolean[] dentro = new boolean[n];
+        // La última dirección que tomó la caminata en cada casilla; al
+        // sobreescribirla se borran los ciclos
+        byte[] direcciones = new byte[n];
+        byte[] posibles = new byte[4];
+
+        dentro[r.nextInt(n)] = true;
+        for (int inicio = 0; inicio < n; inicio++){
+            if (dentro[inicio])
+                continue;
+
+            int c = inicio;
+            while (!dentro[c]){
+                int i = c / ancho, j = c % ancho;
+                int m = 0;
+                if (i > 0)
+                    posibles[m++] = ARRIBA;
+                if (j < ancho - 1)
+                    posibles[m++] = DERECHA;
+                if (i < alto - 1)
+                    posibles[m++] = ABAJO;
+                if (j > 0)
+                    posibles[m++] = IZQUIERDA;
+                direcciones[c] = posibles[r.nextInt(m)];
+                c = siguiente(c, direcciones[c], ancho);
+            }
+
+            for (c = inicio; !dentro[c]; ){
+                int s = siguiente(c, direcciones[c], ancho);
+                abre(celdas, ancho, c, s);
+                dentro[c] = true;
+                c = s;
+            }
+        }
+    }
+
+    /* Regresa la casilla a la que se llega de c en la dirección dada. */
+    private static int siguiente(int c, byte direccion, int ancho){
+        switch (direccion){
+            case ARRIBA:
+                return c - ancho;
+            case DERECHA:
+                return c + 1;
+            case ABAJO:
+                return c + ancho;
+            default:
+                return c - 1;
+        }
+    }
+}
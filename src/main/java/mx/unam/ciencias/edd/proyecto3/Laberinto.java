@@ -1,13 +1,24 @@
 package mx.unam.ciencias.edd.proyecto3;
 
-import mx.unam.ciencias.edd.Pila;
-import mx.unam.ciencias.edd.Lista;
-import mx.unam.ciencias.edd.Grafica;
-import mx.unam.ciencias.edd.VerticeGrafica;
-
-import java.io.BufferedInputStream;
-import java.io.PrintStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Random;
 
 /*Clase para crear Laberintos y resolverlos */
@@ -28,7 +39,7 @@ public class Laberinto implements Iterable<Laberinto.Casilla>{
 
         @Override
         public Casilla next() {
-            Casilla c = laberinto[fila][columna];
+            Casilla c = new Casilla(fila, columna);
             if (columna == ancho-1){
                 columna = 0;
                 fila = fila+1; 
@@ -45,116 +56,77 @@ public class Laberinto implements Iterable<Laberinto.Casilla>{
      * La clase Casilla representa una celda individual en el laberinto.
      * Cada casilla tiene cuatro posibles puertas (norte, este, sur y oeste)
      * y cada una puede estar abierta o cerrada. Además, cada casilla tiene una
-     * posición específica en la grilla del laberinto (determinada por i y j), un 
-     * tipo que indica su ubicación en la grilla (esquina, borde, etc.), y un puntaje.
+     * posición específica en la grilla del laberinto (determinada por i y j) y un
+     * puntaje.
+     * La casilla no guarda su estado: es una vista ligera sobre el byte que le
+     * corresponde en el arreglo empacado del laberinto.
      */
     public class Casilla{
-        private boolean pNorte;
-        private boolean pOeste;
-        private boolean pSur;
-        private boolean pEste;
-        /*nos dice si ha sido visitado o no la casilla */
-        private boolean visitado;
-
         /*i = hacia abajo
          *j= hacia la derecha
          */
         private int i,j ;
 
-        /*El tipo de casilla */
-        private int tipo;
+        /* Crea la vista de la casilla en la posición dada */
+        private Casilla(int i,int j){
+            this.i = i;
+            this.j =j;
+        }
 
-        /*El puntaje del cuarto */
-        private int puntaje;
-        /*nos dice si esta casilla es inicio o final */
-        private boolean inicio;
-        private boolean fin;
+        /* Índice de la casilla en el arreglo empacado */
+        private int indice(){
+            return i*ancho + j;
+        }
 
-        /*Casilla anterior a esta. Nos sirve par a recostruir el camino */
+        /* Nos dice si la puerta recibida está cerrada */
+        private boolean pared(int puerta){
+            return (celdas.get(indice()) & puerta) != 0;
+        }
 
-        public Casilla(int i,int j){
-            this.i = i;
-            this.j =j;
-            pNorte = pEste = pOeste = pSur = true;
-            asignaTipoCasilla();
-            puntaje = r.nextInt(16);
-        }
-
-        // Constructor que crea una Casilla en una posición dada y establece los estados de las puertas según un byte
-        public Casilla(int i,int j, byte b){
-            this.puntaje = (b&0xf0)>>4;
-            int casilla = b&(0x0f);
-            // Extraer el estado de las puertas de los bits de orden inferior
-            switch (casilla){
-                case 0:
-                    // No hay puertas
-                    pSur = pEste = pNorte = pOeste = false;
-                    break;
-                case 1:
-                    pOeste = true;
-                    pSur = pEste = pNorte = false;
-                    break;
-                case 2:
-                    pNorte = true;
-                    pSur = pEste = pOeste = false;
-                    break;
-                case 3:
-                    pNorte=pOeste = true;
-                    pSur = pEste = false;
-                    break;
-                case 4:
-                    pEste =true;
-                    pSur = pNorte = pOeste = false;
-                    break;
-                case 5:
-                    pEste=pOeste=true;
-                    pSur = pNorte = false;
-                    break;
-                case 6:
-                    pNorte=pEste=true;
-                    pSur = pOeste = false;
-                    break;
-                case 7:
-                    pEste=pNorte=pOeste = true;
-                    pSur = false;
-                    break;
-                case 8:
-                    pSur = true;
-                    pEste = pNorte = pOeste = false;
-                    break;
-                case 9:
-                    pSur=pOeste = true;
-                    pEste = pNorte = false;
-                    break;
-                case 10:
-                    pSur = pNorte= true;
-                    pEste = pOeste = false;
-                    break;
-                case 11:
-                    pSur = pNorte = pOeste = true;
-                    pEste = false;
-                    break;
-                case 12:
-                    pSur = pEste = true;
-                    pNorte = pOeste = false;
-                    break;
-                case 13:
-                    pSur = pEste = pOeste = true;
-                    pNorte = false;
-                    break;
-                case 14:
-                    pSur=pEste=pNorte = true;
-                    pOeste = false;
-                    break;
-                default:
-                    break;
-                
-               
-            }
-            this.i =i;
-            this.j =j;
-            asignaTipoCasilla();
+        /* Abre la puerta recibida */
+        private void tira(int puerta){
+            celdas.put(indice(), (byte)(celdas.get(indice()) & ~puerta));
+        }
+
+        private boolean pNorte(){
+            return pared(P_NORTE);
+        }
+
+        private boolean pOeste(){
+            return pared(P_OESTE);
         }
+
+        private boolean pSur(){
+            return pared(P_SUR);
+        }
+
+        private boolean pEste(){
+            return pared(P_ESTE);
+        }
+
+        /* El puntaje del cuarto */
+        private int puntaje(){
+            return (celdas.get(indice()) & 0xf0) >> 4;
+        }
+
+        // Dos casillas son iguales si son la misma posición del mismo laberinto
+        @Override
+        public boolean equals(Object o){
+            if (!(o instanceof Casilla))
+                return false;
+            Casilla c = (Casilla)o;
+            return c.laberinto() == Laberinto.this && c.i == i && c.j == j;
+        }
+
+        @Override
+        public int hashCode(){
+            return indice();
+        }
+
+        private Laberinto laberinto(){
+            return Laberinto.this;
+        }
+
         // Método para representar la Casilla como una cadena
         @Override
         public String toString(){
@@ -165,37 +137,35 @@ public class Laberinto implements Iterable<Laberinto.Casilla>{
     
         // Método para marcar Casilla como el inicio del camino
         public void SetInicio(){
-            this.pEste =false;
-            this.inicio =true;
+            tira(P_ESTE);
         }
         // Método para marcar Casilla como el final del camino
         public void SetFinal(){
-            this.pOeste =false;
-            this.inicio =true;
+            tira(P_OESTE);
         }
         // Métodos para generar representaciones de cadena de la parte superior e inferior de la casilla, en función del estado de las puertas
         private String parteArriba(){
             String s;
             //000
-            if (!pNorte && !pOeste && !pEste)
+            if (!pNorte() && !pOeste() && !pEste())
                 s = "    ";
             //001
-            else if (!pNorte && !pOeste && pEste)
+            else if (!pNorte() && !pOeste() && pEste())
                 s = "|   ";
             //010
-            else if (!pNorte && pOeste && !pEste)
+            else if (!pNorte() && pOeste() && !pEste())
                 s = "   |";
             //011
-            else if (!pNorte && pOeste && pEste)
+            else if (!pNorte() && pOeste() && pEste())
                 s = "|  |";
             //100
-            else if (pNorte && !pOeste && !pEste)
+            else if (pNorte() && !pOeste() && !pEste())
                 s = " ^^ ";
             //101
-            else if (pNorte && !pOeste && pEste)
+            else if (pNorte() && !pOeste() && pEste())
                 s = "|^^ ";
             //110
-            else if (pNorte && pOeste && !pEste)
+            else if (pNorte() && pOeste() && !pEste())
                 s = " ^^|";
             //111
             else s = "|^^|";
@@ -206,221 +176,112 @@ public class Laberinto implements Iterable<Laberinto.Casilla>{
         private String parteAbajo(){
             String s;
             //000
-            if (!pSur && !pOeste && !pEste)
+            if (!pSur() && !pOeste() && !pEste())
                 s = "    ";
             //000
-            else if (!pSur && !pOeste && pEste)
+            else if (!pSur() && !pOeste() && pEste())
                 s = "|   ";
             //010
-            else if (!pSur && pOeste && !pEste)
+            else if (!pSur() && pOeste() && !pEste())
                 s = "   |";
             //011
-            else if (!pSur && pOeste && pEste)
+            else if (!pSur() && pOeste() && pEste())
                 s = "|  |";
             //100
-            else if (pSur && !pOeste && !pEste)
+            else if (pSur() && !pOeste() && !pEste())
                 s = " __ ";
             //101
-            else if (pSur && !pOeste && pEste)
+            else if (pSur() && !pOeste() && pEste())
                 s = "|__ ";
             //110
-            else if (pSur && pOeste && !pEste)
+            else if (pSur() && pOeste() && !pEste())
                 s = " __|";
             //111
             else s = "|__|";
             return s;
         }
-        // Método para asignar el tipo de casilla en función de su posición en el laberinto
-        private void asignaTipoCasilla() {
-            // Si la casilla es la esquina superior izquierda, 
-            if (i == 0 && j == 0)
-                tipo = 8;
-            // Si la casilla está en la primera fila, pero no en las esquinas, 
-            else if (i == 0 && j > 0 && j < ancho - 1)
-                tipo = 1;
-            // Si la casilla es la esquina superior derecha, 
-            else if (i == 0 && j == ancho - 1)
-                tipo = 2;
-            // Si la casilla está en la última columna, pero no en las esquinas, 
-            else if (i > 0 && i < alto - 1 && j == ancho - 1)
-                tipo = 3;
-            // Si la casilla es la esquina inferior derecha, 
-            else if (i == alto - 1 && j == ancho - 1)
-                tipo = 4;
-            // Si la casilla está en la última fila, pero no en las esquinas, 
-            else if (i == alto - 1 && j > 0 && j < ancho - 1)
-                tipo = 5;
-            // Si la casilla es la esquina inferior izquierda, 
-            else if (i == alto - 1 && j == 0)
-                tipo = 6;
-            // Si la casilla está en la primera columna, pero no en las esquinas.
-            else if (i > 0 && i < alto - 1 && j == 0)
-                tipo = 7;
-            
-            // Si la casilla no cumple ninguna de las condiciones anteriores, se asigna el tipo 0 (casilla interna)
-            else
-                tipo = 9; // Tipo de casilla por defecto para casillas internas
-        }
-        // Dibujar los muros
-        private String dibujaMuro() {
-            StringBuilder s = new StringBuilder();
-        
-            int x1, y1, x2, y2;
-            
-            if (pNorte && i == 0) {
-                x1 = 0 + j * d;
-                y1 = 0 + i * d;
-                x2 = d + j * d;
-                y2 = 0 + i * d;
-        
-                s.append("\t\t<line x1=\"").append(x1).append("\" y1=\"").append(y1).append("\" x2=\"").append(x2).append("\" y2=\"").append(y2).append("\" stroke=\"black\" stroke-with=\"3\" />\n");
-            }
-        
-            if (pOeste) {
-                x1 = d + j * d;
-                y1 = 0 + i * d;
-                x2 = d + j * d;
-                y2 = d + i * d;
-        
-                s.append("\t\t<line x1=\"").append(x1).append("\" y1=\"").append(y1).append("\" x2=\"").append(x2).append("\" y2=\"").append(y2).append("\" stroke=\"black\" stroke-with=\"3\" />\n");
-            }
-        
-            if (pSur) {
-                x1 = d + j * d;
-                y1 = d + i * d;
-                x2 = 0 + j * d;
-                y2 = d + i * d;
-        
-                s.append("\t\t<line x1=\"").append(x1).append("\" y1=\"").append(y1).append("\" x2=\"").append(x2).append("\" y2=\"").append(y2).append("\" stroke=\"black\" stroke-with=\"3\" />\n");
-            }
-        
-            if (pEste && j == 0) {
-                x1 = 0 + j * d;
-                y1 = d + i * d;
-                x2 = 0 + j * d;
-                y2 = 0 + i * d;
-        
-                s.append("\t\t<line x1=\"").append(x1).append("\" y1=\"").append(y1).append("\" x2=\"").append(x2).append("\" y2=\"").append(y2).append("\" stroke=\"black\" stroke-with=\"3\" />\n");
-            }
-        
-            return s.toString();
-        }
-        //Dibuja Bola
-        private StringBuilder dibujaBolaBlue(){
-            String cx = String.valueOf(10 + j*d);
-            String cy = String.valueOf(10 + i*d);
-            StringBuilder s = new StringBuilder("\t<circle cx=\"");
-            s.append(cx);
-            s.append("\" cy=\"");
-            s.append(cy);
-            s.append("\" r=\"8\" fill=\"blue\" stroke=\"black\" stroke-with=\"1\" />\n");
-            return s;
-        }
-        private StringBuilder dibujaBolaRed(){
-            String cx = String.valueOf(10 + j*d);
-            String cy = String.valueOf(10 + i*d);
-            StringBuilder s = new StringBuilder("\t<circle cx=\"");
-            s.append(cx);
-            s.append("\" cy=\"");
-            s.append(cy);
-            s.append("\" r=\"8\" fill=\"red\" stroke=\"black\" stroke-with=\"1\" />\n");
-            return s;
-        }
-
-        //Dibuja linea Derecha
-        private StringBuilder lineaDerecha(){
-            String cx = String.valueOf(10 + j*d);
-            String cy = String.valueOf(10 + i*d);
-            StringBuilder s = new StringBuilder("\t<line x1=\"");
-            s.append(cx);
-            s.append("\" y1=\"");
-            s.append(cy);
-            cx = String.valueOf(10 + j*d +20);
-            cy = String.valueOf( 10 + i*d);
-            s.append("\" x2=\"");
-            s.append(cx);
-            s.append("\" y2=\"");
-            s.append(cy);
-            s.append("\" stroke=\"red\" stroke-with=\"3\" />\n");
-            return s;
-        }
-
-        
-        //Dibuja linea Abajo
-        private StringBuilder lineaAbajo(){
-            String cx = String.valueOf(10 + j*d);
-            String cy = String.valueOf(10 + i*d);
-            StringBuilder s = new StringBuilder("\t<line x1=\"");
-            s.append(cx);
-            s.append("\" y1=\"");
-            s.append(cy);
-            cx = String.valueOf(10 + j*d);
-            cy = String.valueOf( 10 + i*d + 20);
-            s.append("\" x2=\"");
-            s.append(cx);
-            s.append("\" y2=\"");
-            s.append(cy);
-            s.append("\" stroke=\"red\" stroke-with=\"3\" />\n");
-            return s;
-        }
         // Método para convertir el estado de la Casilla a un byte.
         public byte toByte(){
-            int puerta = 0;
-            if (!pSur && !pEste && !pNorte && !pOeste)
-                puerta = 0;
-            if (!pSur && !pEste && !pNorte && pOeste)
-                puerta = 1;
-            if (!pSur && !pEste && pNorte && !pOeste)
-                puerta = 2;
-            if (!pSur && !pEste && pNorte && pOeste)
-                puerta = 3;
-            if (!pSur && pEste && !pNorte && !pOeste)
-                puerta = 4;
-            if (!pSur && pEste && !pNorte && pOeste)
-                puerta = 5;
-            if (!pSur && pEste && pNorte && !pOeste)
-                puerta = 6;
-            if (!pSur && pEste && pNorte && pOeste)
-                puerta = 7;
-            if (pSur && !pEste && !pNorte && !pOeste)
-                puerta = 8;
-            if (pSur && !pEste && !pNorte && pOeste)
-                puerta = 9;
-            if (pSur && !pEste && pNorte && !pOeste)
-                puerta = 10;
-            if (pSur && !pEste && pNorte && pOeste)
-                puerta = 11;
-            if (pSur && pEste && !pNorte && !pOeste)
-                puerta = 12;
-            if (pSur && pEste && !pNorte && pOeste)
-                puerta = 13;
-            if (pSur && pEste && pNorte && !pOeste)
-                puerta = 14;
-            if (pSur && pEste && pNorte && pOeste)
-                puerta = 15;
-
-                puntaje = puntaje << 4;
-
-                puerta = puntaje + puerta;
-
-                return (byte) (puerta & 0xFF);
-            
+            return celdas.get(indice());
         }
 
 }
     
-    /* Laberinto modelado en una matriz */
-    private Casilla[][] laberinto;
+    /* Bits de las puertas dentro del byte de cada casilla; el puntaje va en
+     * los 4 bits altos. */
+    /** Bit de la pared derecha de una casilla. */
+    public static final int P_OESTE = 0x1;
+    /** Bit de la pared de arriba de una casilla. */
+    public static final int P_NORTE = 0x2;
+    /** Bit de la pared izquierda de una casilla. */
+    public static final int P_ESTE = 0x4;
+    /** Bit de la pared de abajo de una casilla. */
+    public static final int P_SUR = 0x8;
+
+    /* Número mágico de los archivos .mze */
+    private static final int[] MAGICO = { 0x4d, 0x41, 0x5a, 0x45 };
+    /* Versión del encabezado extendido */
+    private static final int VERSION_EXTENDIDA = 1;
+
+    /** Máximo número de casillas que puede tener un laberinto. */
+    public static final long MAXIMO_CASILLAS = Integer.MAX_VALUE - 8;
+
+    /* Fragmentos fijos de los elementos del SVG */
+    private static final String MURO = "\t\t<line x1=\"";
+    private static final String FIN_MURO = "\" stroke=\"black\" stroke-with=\"3\" />\n";
+    private static final String PASO = "\t<line x1=\"";
+    private static final String FIN_PASO = "\" stroke=\"red\" stroke-with=\"3\" />\n";
+    private static final String BOLA = "\t<circle cx=\"";
+    private static final String FIN_BOLA_AZUL = "\" r=\"8\" fill=\"blue\" stroke=\"black\" stroke-with=\"1\" />\n";
+    private static final String FIN_TRAZO_SOLUCION = "\" fill=\"none\" stroke=\"red\" stroke-with=\"3\" />\n";
+    private static final String FIN_TRAZO_MUROS = "\" fill=\"none\" stroke=\"black\" stroke-with=\"3\" />\n";
+    private static final String FIN_BOLA_ROJA = "\" r=\"8\" fill=\"red\" stroke=\"black\" stroke-with=\"1\" />\n";
+    /* Tamaño del búfer con que se escribe el SVG */
+    private static final int BUFER_SVG = 1 << 16;
+
+    /* Direcciones hacia las vecinas al construir el laberinto */
+    private static final int DERECHA = 0;
+    private static final int ABAJO = 1;
+    private static final int IZQUIERDA = 2;
+    private static final int ARRIBA = 3;
+    /* Pared que se tira en la casilla y en su vecina para cada dirección */
+    private static final int[] PARED_PROPIA = { P_OESTE, P_SUR, P_ESTE, P_NORTE };
+    private static final int[] PARED_VECINA = { P_ESTE, P_NORTE, P_OESTE, P_SUR };
+    /* Vecinas que revisa la búsqueda en profundidad según el tipo de casilla,
+     * en el orden en que se sortean; el orden determina el laberinto que sale
+     * de cada semilla. */
+    private static final int[][] ORDEN_VECINAS = {
+        {},
+        { DERECHA, ABAJO, IZQUIERDA },          // 1: primera fila
+        { IZQUIERDA, ABAJO },                   // 2: esquina superior derecha
+        { ABAJO, IZQUIERDA, ARRIBA },           // 3: última columna
+        { IZQUIERDA, ARRIBA },                  // 4: esquina inferior derecha
+        { IZQUIERDA, ARRIBA, DERECHA },         // 5: última fila
+        { ARRIBA, DERECHA },                    // 6: esquina inferior izquierda
+        { ABAJO, DERECHA, ARRIBA },             // 7: primera columna
+        { DERECHA, ABAJO },                     // 8: esquina superior izquierda
+        { ABAJO, IZQUIERDA, ARRIBA, DERECHA }   // 9: interior
+    };
+
+    /* Paredes en el orden en que las sortea eliminaParedesRandom */
+    private static final int[] PAREDES = { P_NORTE, P_ESTE, P_SUR, P_OESTE };
+
+    /* Laberinto empacado por renglones: un byte por casilla. Es un búfer en
+     * el heap, o el archivo mapeado a memoria si se leyó con una ruta. */
+    private Celdas celdas;
+    /* Casillas visitadas al construir el laberinto */
+    private BitSet visitados;
     /*Casilla inicio */
     private Casilla inicio;
     /*Casilla del final */
     private Casilla fin;
 
-    private final int d = 20;
-    /*Edd grafica para hacer Dijkstra */
-    private Grafica<Casilla> grafica;
+    /* Casillas de la solución, de inicio a fin; null si no se ha resuelto */
+    private int[] solucion;
+    /* Costo de la solución; -1 si no se ha resuelto o no hay camino */
+    private int costo = -1;
 
-    private StringBuilder lineas;
+    private final int d = 20;
 
     private int ancho, alto;
 
@@ -436,14 +297,9 @@ public class Laberinto implements Iterable<Laberinto.Casilla>{
         this.r = new Random();
         this.ancho = ancho;
         this.alto = alto;
-        this.laberinto = new Casilla[alto][ancho];
-         for (int i = 0; i < alto;i++){
-             for (int j = 0;  j < ancho; j++)
-                laberinto[i][j]=new Casilla(i,j);
-         }
-         //Inicializar objetos
-         lineas = new StringBuilder();
-
+        this.celdas = new Celdas(ByteBuffer.allocate(alto*ancho));
+         for (int i = 0; i < alto*ancho; i++)
+             celdas.put(i, (byte)((r.nextInt(16) << 4) | 0x0f));
          //Seleccionar casilla
          inicio = seleccionaInicio();
          inicio.SetInicio();
@@ -467,14 +323,9 @@ public class Laberinto implements Iterable<Laberinto.Casilla>{
         this.r = new Random(seed);
         this.ancho = ancho;
         this.alto = alto;
-        this.laberinto = new Casilla[alto][ancho];
-         for (int i = 0; i < alto;i++){
-             for (int j = 0;  j < ancho; j++)
-                laberinto[i][j]=new Casilla(i,j);
-         }
-        //Inicializar objetos
-        lineas = new StringBuilder();
-
+        this.celdas = new Celdas(ByteBuffer.allocate(alto*ancho));
+         for (int i = 0; i < alto*ancho; i++)
+             celdas.put(i, (byte)((r.nextInt(16) << 4) | 0x0f));
         //Seleccionar casilla
         inicio = seleccionaInicio();
         inicio.SetInicio();
@@ -486,85 +337,187 @@ public class Laberinto implements Iterable<Laberinto.Casilla>{
     }
 
     /**
-     * Constructor de laberinto dado unos bytes
-     * @param in
+     * Construye un laberinto con casillas ya generadas, con la entrada en la
+     * primera columna y la salida en la última.
+     * @param ancho el ancho del laberinto.
+     * @param alto el alto del laberinto.
+     * @param celdas las casillas empacadas, por renglones.
+     * @param filaInicio el renglón de la entrada.
+     * @param filaFin el renglón de la salida.
      */
-    public Laberinto(BufferedInputStream in){
-        lineas = new StringBuilder();
-        try{
-            int info = 0;
-            int i=0;
-
-            int y = 0; //ancho
-            int x = 0; //alto
-            while ((i = in.read()) != -1){
-                if(info > 5){
-                    laberinto[x][y]=new Casilla(x,y,(byte)i);
-
-                    if (y == ancho-1){
-                        y = 0;
-                        x = x+1;
-                    }else{
-                        y=y +1;
-                    }
-
-
-
-                    }else{
-                    if(info ==0 && i != 0x4d)
-                        throw new Exception("Se esperaba 0x4d en el valor 0");
-                    if(info ==1 && i != 0x41)
-                        throw new Exception("Se esperaba 0x41 en el valor 1");
-                    if(info ==2 && i != 0x5a)
-                        throw new Exception("Se esperaba 0x5a en el valor 2");
-                    if(info ==3 && i != 0x45)
-                        throw new Exception("Se esperaba 0x45 en el valor 3");
-
-                    if(info == 4){
-                        this.alto = i;
-                    }
-                    if(info == 5){
-                        this.ancho = i;
-                        laberinto = new Casilla[alto][ancho];
-                    }
-                    info++;
-                }
-            }
-            in.close();
-        }catch(Exception x){
-            System.err.printf("Archivo .mze invalido");
+    Laberinto(int ancho, int alto, byte[] celdas, int filaInicio, int filaFin){
+        this.ancho = ancho;
+        this.alto = alto;
+        this.celdas = new Celdas(ByteBuffer.wrap(celdas));
 
-        }
+        inicio = new Casilla(filaInicio, 0);
+        inicio.SetInicio();
 
-        
-        Lista<Casilla> candidatos = new Lista<>();
-        for (Casilla c:this){
-            if (c.tipo != 9){
-                if ((c.tipo == 8 || c.tipo == 7 || c.tipo ==6)&&c.pEste==false){
-                    candidatos.agrega(c);
-                }
-                if ((c.tipo == 2 || c.tipo == 3 || c.tipo ==4)&&c.pOeste==false){
-                    candidatos.agrega(c);
-                    
+        fin = new Casilla(filaFin, ancho-1);
+        fin.SetFinal();
+    }
 
-                }
-            }   
+    /**
+     * Constructor de laberinto dado unos bytes. Lee el encabezado y después
+     * todas las casillas de una vez; la entrada no necesita tener búfer.
+     * @param in la entrada con el archivo .mze.
+     * @throws ExcepcionArchivoInvalido si el encabezado no es válido, si el
+     *         número de casillas no es alto por ancho, o si el laberinto no
+     *         tiene exactamente una entrada y una salida.
+     * @throws IOException si ocurre un error al leer.
+     */
+    public Laberinto(InputStream in) throws IOException{
+        leeEncabezado(in);
+        byte[] bytes = new byte[alto*ancho];
+
+        int leidos = leeCompleto(in, bytes);
+        if (leidos < bytes.length)
+            throw new ExcepcionArchivoInvalido(String.format(
+                "Se esperaban %d casillas pero solo hay %d", bytes.length, leidos));
+        if (in.read() != -1)
+            throw new ExcepcionArchivoInvalido(String.format(
+                "Hay bytes de mas despues de las %d casillas", bytes.length));
+        celdas = new Celdas(ByteBuffer.wrap(bytes));
+        buscaEntradas();
+    }
+
+    /**
+     * Constructor de laberinto dado un archivo .mze. En lugar de leer las
+     * casillas, el archivo se mapea a memoria y el búfer mapeado es el
+     * laberinto, así que sólo se cargan las páginas que se usan al
+     * resolverlo. El mapeo es de sólo lectura: los cambios al marcar la
+     * entrada y la salida se guardan aparte, nunca en el archivo.
+     * @param archivo la ruta del archivo .mze.
+     * @throws ExcepcionArchivoInvalido si el encabezado no es válido, si el
+     *         número de casillas no es alto por ancho, o si el laberinto no
+     *         tiene exactamente una entrada y una salida.
+     * @throws IOException si ocurre un error al leer.
+     */
+    public Laberinto(Path archivo) throws IOException{
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)){
+            // El encabezado mide a lo más 15 bytes; se lee sin búfer para que
+            // la posición del canal quede justo en las casillas.
+            leeEncabezado(Channels.newInputStream(canal));
+            long inicioCasillas = canal.position();
+            long n = (long)alto*ancho;
+            long disponibles = canal.size() - inicioCasillas;
+            if (disponibles < n)
+                throw new ExcepcionArchivoInvalido(String.format(
+                    "Se esperaban %d casillas pero solo hay %d", n, disponibles));
+            if (disponibles > n)
+                throw new ExcepcionArchivoInvalido(String.format(
+                    "Hay bytes de mas despues de las %d casillas", n));
+            // El mapeo sigue siendo válido después de cerrar el canal
+            celdas = new Celdas(canal.map(FileChannel.MapMode.READ_ONLY, inicioCasillas, n));
         }
+        buscaEntradas();
+    }
 
-        if (candidatos.getElementos() != 2)
-            return;
+    /* Busca la entrada y la salida del laberinto leído y las marca. */
+    private void buscaEntradas() throws ExcepcionArchivoInvalido{
+        // Las entradas y salidas posibles son las casillas de la primera
+        // columna sin pared izquierda y las de la última sin pared derecha,
+        // por renglones.
+        int primero = -1, ultimo = -1, candidatos = 0;
+        for (int i = 0; i < alto; i++){
+            int izquierda = i*ancho, derecha = izquierda + ancho - 1;
+            if ((celdas.get(izquierda) & P_ESTE) == 0){
+                if (primero == -1)
+                    primero = izquierda;
+                ultimo = izquierda;
+                candidatos++;
+            }
+            if ((celdas.get(derecha) & P_OESTE) == 0){
+                if (primero == -1)
+                    primero = derecha;
+                ultimo = derecha;
+                candidatos++;
+            }
+        }
+
+        if (candidatos != 2)
+            throw new ExcepcionArchivoInvalido(String.format(
+                "El laberinto debe tener una entrada y una salida, pero tiene %d aberturas", candidatos));
 
-        this.inicio = candidatos.getPrimero();
+        this.inicio = new Casilla(primero / ancho, primero % ancho);
         inicio.SetInicio();
 
-        this.fin = candidatos.getUltimo();
+        this.fin = new Casilla(ultimo / ancho, ultimo % ancho);
         fin.SetFinal();
+    }
 
-        
-        creaGrafica();
+    /* Lee bytes de la entrada hasta llenar el arreglo o llegar al fin de
+     * archivo, y regresa cuántos leyó. */
+    private static int leeCompleto(InputStream in, byte[] bytes) throws IOException {
+        int leidos = 0;
+        while (leidos < bytes.length){
+            int n = in.read(bytes, leidos, bytes.length - leidos);
+            if (n == -1)
+                break;
+            leidos += n;
+        }
+        return leidos;
+    }
+
+    /**
+     * Lee el encabezado de un archivo .mze y define el alto y ancho del
+     * laberinto. El encabezado clásico es <code>MAZE</code> seguido de un
+     * byte para el alto y otro para el ancho. Como ningún laberinto tiene alto
+     * 0, un cero en lugar del alto indica el encabezado extendido: un byte de
+     * versión y luego el alto y el ancho como enteros de longitud variable.
+     * @param in la entrada de donde se lee el encabezado.
+     * @throws ExcepcionArchivoInvalido si el encabezado no es válido.
+     * @throws IOException si ocurre un error al leer.
+     */
+    private void leeEncabezado(InputStream in) throws IOException {
+        for (int k = 0; k < MAGICO.length; k++)
+            if (leeByte(in) != MAGICO[k])
+                throw new ExcepcionArchivoInvalido(String.format("Se esperaba 0x%x en el valor %d", MAGICO[k], k));
+
+        int a = leeByte(in);
+        if (a != 0){
+            this.alto = a;
+            this.ancho = leeByte(in);
+        } else {
+            int version = leeByte(in);
+            if (version != VERSION_EXTENDIDA)
+                throw new ExcepcionArchivoInvalido("Version de encabezado desconocida: " + version);
+            this.alto = leeVarint(in);
+            this.ancho = leeVarint(in);
+        }
+        if (alto < 2 || ancho < 2 || (long)alto * ancho > MAXIMO_CASILLAS)
+            throw new ExcepcionArchivoInvalido(String.format("Dimensiones invalidas: %dx%d", ancho, alto));
+    }
+
+    /* Lee un byte de la entrada; falla si ya se terminó. */
+    private static int leeByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b == -1)
+            throw new ExcepcionArchivoInvalido("Fin de archivo inesperado");
+        return b;
     }
 
+    /* Lee un entero sin signo de longitud variable: 7 bits por byte, el bit
+     * alto indica que sigue otro byte. */
+    private static int leeVarint(InputStream in) throws IOException {
+        int valor = 0;
+        for (int corrimiento = 0; corrimiento < 32; corrimiento += 7){
+            int b = leeByte(in);
+            valor |= (b & 0x7f) << corrimiento;
+            if ((b & 0x80) == 0)
+                return valor;
+        }
+        throw new ExcepcionArchivoInvalido("Entero de longitud variable demasiado largo");
+    }
 
+    /* Escribe un entero sin signo de longitud variable. */
+    private static void escribeVarint(OutputStream o, int valor) throws IOException {
+        while ((valor & ~0x7f) != 0){
+            o.write((valor & 0x7f) | 0x80);
+            valor >>>= 7;
+        }
+        o.write(valor);
+    }
 
     /**
      *  Toma un número de paredes y las elimina aleatoriamente del laberinto.
@@ -588,31 +541,15 @@ public class Laberinto implements Iterable<Laberinto.Casilla>{
             //int filaRandom = r.nextInt(alto - 2) + 1;
             //int columnaRandom = r.nextInt(ancho - 2) + 1;
     
-            Casilla c = laberinto[filaRandom][columnaRandom];
-    
-            // Selecciona aleatoriamente una pared para eliminar (si es posible)
-            boolean[] paredes = {c.pNorte, c.pEste, c.pSur, c.pOeste};
+            Casilla c = new Casilla(filaRandom, columnaRandom);
     
             // Intenta hasta 4 veces (número de paredes) para eliminar una pared
             for (int j = 0; j < 4; j++) {
-                int paredRandom = r.nextInt(4);
+                int paredRandom = PAREDES[r.nextInt(4)];
     
                 // Si la pared existe, la elimina
-                if (paredes[paredRandom]) {
-                    switch (paredRandom) {
-                        case 0:
-                            c.pNorte = false;
-                            break;
-                        case 1:
-                            c.pEste = false;
-                            break;
-                        case 2:
-                            c.pSur = false;
-                            break;
-                        case 3:
-                            c.pOeste = false;
-                            break;
-                    }
+                if (c.pared(paredRandom)) {
+                    c.tira(paredRandom);
     
                     // Si la pared fue eliminada, se rompe el bucle
                     break;
@@ -623,206 +560,198 @@ public class Laberinto implements Iterable<Laberinto.Casilla>{
 
     /**
      * Construye el laberinto utilizando un algoritmo de profundidad en primer lugar
-     * y luego elimina algunas paredes aleatoriamente.
+     * y luego elimina algunas paredes aleatoriamente. La pila es un arreglo de
+     * índices y las vecinas se juntan en un arreglo fijo de 4, así que ningún
+     * paso crea objetos.
      */
     private void construyeLaberinto(){
-        Pila<Casilla> p = new Pila<>();
-
-        p.mete(inicio);
-        while(!p.esVacia()){
-            Casilla c = p.mira();
-            c.visitado = true;
-
-            Lista<Casilla> posibilidades = metePosibilidades(c);
-            if (!posibilidades.esVacia()){
-                if (posibilidades.getLongitud() == 1){
-                    tiraPuertas(c, posibilidades.getPrimero());
-                    p.mete(posibilidades.getPrimero());
-                    
-                }  
-                else{
-                    int random = r.nextInt(posibilidades.getLongitud());
-                    Casilla siguiente = posibilidades.get(random);
-                    tiraPuertas(c, siguiente);
-                    p.mete(siguiente);
+        int n = celdas.getElementos();
+        int[] pila = new int[n];
+        int[] vecinas = new int[4];
+        int[] direcciones = new int[4];
+        int[] desplazamientos = { 1, ancho, -1, -ancho };
+        visitados = new BitSet(n);
+
+        // Cada casilla entra a la pila a lo más una vez, porque se marca como
+        // visitada en cuanto queda hasta arriba
+        int tope = 0;
+        pila[tope++] = inicio.indice();
+        while (tope > 0){
+            int c = pila[tope-1];
+            visitados.set(c);
+
+            int i = c / ancho;
+            int m = 0;
+            for (int dir : ORDEN_VECINAS[tipoCasilla(i, c - i*ancho)]){
+                int v = c + desplazamientos[dir];
+                if (!visitados.get(v)){
+                    vecinas[m] = v;
+                    direcciones[m++] = dir;
                 }
             }
-            else{
-             p.saca();
+            if (m == 0){
+                tope--;
+                continue;
             }
+
+            int k = m == 1 ? 0 : r.nextInt(m);
+            tira(c, PARED_PROPIA[direcciones[k]]);
+            tira(vecinas[k], PARED_VECINA[direcciones[k]]);
+            pila[tope++] = vecinas[k];
         }
         //Calcula el número de paredes a eliminar como el 2% del total de celdas
         int numeroParedesEliminar = (int) (0.1 * alto * ancho);
         eliminaParedesRandom(numeroParedesEliminar);
+        visitados = null;
+    }
+
+    /* Tira la pared dada de la casilla con el índice dado. */
+    private void tira(int casilla, int pared){
+        celdas.put(casilla, (byte)(celdas.get(casilla) & ~pared));
+    }
 
-        creaGrafica();
+    /* Regresa el tipo de la casilla en la posición dada según su ubicación en
+     * la cuadrícula: esquina, borde o interior. */
+    private int tipoCasilla(int i, int j) {
+        // Si la casilla es la esquina superior izquierda, 
+        if (i == 0 && j == 0)
+            return 8;
+        // Si la casilla está en la primera fila, pero no en las esquinas, 
+        else if (i == 0 && j > 0 && j < ancho - 1)
+            return 1;
+        // Si la casilla es la esquina superior derecha, 
+        else if (i == 0 && j == ancho - 1)
+            return 2;
+        // Si la casilla está en la última columna, pero no en las esquinas, 
+        else if (i > 0 && i < alto - 1 && j == ancho - 1)
+            return 3;
+        // Si la casilla es la esquina inferior derecha, 
+        else if (i == alto - 1 && j == ancho - 1)
+            return 4;
+        // Si la casilla está en la última fila, pero no en las esquinas, 
+        else if (i == alto - 1 && j > 0 && j < ancho - 1)
+            return 5;
+        // Si la casilla es la esquina inferior izquierda, 
+        else if (i == alto - 1 && j == 0)
+            return 6;
+        // Si la casilla está en la primera columna, pero no en las esquinas.
+        else if (i > 0 && i < alto - 1 && j == 0)
+            return 7;
+        // Si la casilla no cumple ninguna de las condiciones anteriores, es interna
+        else
+            return 9;
     }
     
     /**
-     * Resuelve el laberinto utilizando el algoritmo de Dijkstra.
+     * Resuelve el laberinto utilizando el algoritmo de Dijkstra directamente
+     * sobre la cuadrícula, sin construir una gráfica.
      */
     public void resolverLaberinto(){
-        
-        Lista<VerticeGrafica<Casilla>> l = grafica.dijkstra(inicio, fin);
-        Lista<Casilla> c = new Lista<>();
-        //Pasar a lista
-        for (VerticeGrafica<Casilla> v: l){
-            c.agrega(v.get());
-        }
-
-        //Dibujar camino de lineas de la solucion
-        for(Casilla a: c){
-            // For the case to connect to the right:
-            if (!a.pOeste && a.j < ancho - 1 && c.contiene(laberinto[a.i][a.j + 1])) {
-                lineas.append(a.lineaDerecha());
-            }
-            // For the case to connect below:
-            if (!a.pSur && a.i < alto - 1 && c.contiene(laberinto[a.i + 1][a.j])) {
-                lineas.append(a.lineaAbajo());
-            }
-        }
+        resolverLaberinto(false);
+    }
 
+    /**
+     * Resuelve el laberinto utilizando Dijkstra o A* directamente sobre la
+     * cuadrícula. A* usa como heurística la distancia Manhattan al final y se
+     * detiene en cuanto lo asienta; el costo del camino es el mismo que con
+     * Dijkstra.
+     * @param aEstrella si se usa A* en lugar de Dijkstra.
+     */
+    public void resolverLaberinto(boolean aEstrella){
         
+        Solucion s = resuelve(inicio.indice(), fin.indice(), aEstrella);
+        int[] l = s.getCamino();
+        costo = s.getCosto();
+        solucion = l;
     }
 
-    
     /**
-     * Tira puertas entre 2 casillas adyacentes, ya sea vertical u horizontal
-     * @param c1
-     * @param c2
-     */
-    private void tiraPuertas(Casilla c1, Casilla c2) {
-        if (c1.i == c2.i){
-            //tirar horizontalmente
-            if (c1.j < c2.j){
-                c2.pEste = false;
-                c1.pOeste = false;
-            }else{
-                c1.pEste = false;
-                c2.pOeste = false;
-            }
-        }else {
-            if (c1.i < c2.i){
-                c2.pNorte = false;
-                c1.pSur = false;
-            }else{
-                c1.pNorte = false;
-                c2.pSur = false;
-            }
-        }
+     * Calcula el camino de peso mínimo entre dos casillas cualesquiera del
+     * laberinto. A diferencia de {@link #resolverLaberinto}, no modifica el
+     * laberinto: todo el estado de la búsqueda es local a la consulta, así
+     * que varios hilos pueden hacer consultas sobre el mismo laberinto a la
+     * vez.
+     * @param origen el índice (renglón * ancho + columna) de la casilla de
+     *        origen.
+     * @param destino el índice de la casilla de destino.
+     * @param aEstrella si se usa A* en lugar de Dijkstra.
+     * @return la solución de la consulta.
+     * @throws NoSuchElementException si alguna de las casillas no existe.
+     */
+    public Solucion resuelve(int origen, int destino, boolean aEstrella){
+        return resuelve(new Resolvedor(celdas, ancho, alto), origen, destino, aEstrella);
+    }
+
+    /* Hace una consulta con el resolvedor dado, que puede reutilizarse entre
+     * consultas del mismo hilo. */
+    Solucion resuelve(Resolvedor resolvedor, int origen, int destino, boolean aEstrella){
+        int n = celdas.getElementos();
+        if (origen < 0 || origen >= n || destino < 0 || destino >= n)
+            throw new NoSuchElementException("La casilla no existe en el laberinto.");
+        int[] camino = aEstrella ?
+            resolvedor.resuelveAEstrella(origen, destino) :
+            resolvedor.resuelve(origen, destino);
+        return new Solucion(camino, camino.length == 0 ? -1 : resolvedor.getDistancia(destino));
+    }
+
+    /* Regresa un resolvedor para las casillas de este laberinto. */
+    Resolvedor resolvedor(){
+        return new Resolvedor(celdas, ancho, alto);
     }
 
     /**
-     * Mete las posibles casillas a avanzar desde la casilla
-     * @param c
-     * @return
+     * Regresa el índice (renglón * ancho + columna) de la casilla de entrada.
+     * @return el índice de la casilla de entrada.
      */
-    private Lista<Casilla> metePosibilidades(Casilla c) {
-        Casilla c1, c2, c3, c4;
-        Lista<Casilla> posibilidades = new Lista<>();
-        switch (c.tipo) {
-            case 8:
-                c1 = laberinto[c.i][c.j + 1];
-                c2 = laberinto[c.i + 1][c.j];
-                if (c1.visitado == false)
-                    posibilidades.agrega(c1);
-                if (c2.visitado == false)
-                    posibilidades.agrega(c2);
-                break;
-            case 1:
-                c1 = laberinto[c.i][c.j + 1];
-                c2 = laberinto[c.i + 1][c.j];
-                c3 = laberinto[c.i][c.j - 1];
-    
-                if (c1.visitado == false)
-                    posibilidades.agrega(c1);
-                if (c2.visitado == false)
-                    posibilidades.agrega(c2);
-                if (c3.visitado == false)
-                    posibilidades.agrega(c3);
-                break;
-            case 2:
-                c1 = laberinto[c.i][c.j - 1];
-                c2 = laberinto[c.i + 1][c.j];
-                if (c1.visitado == false)
-                    posibilidades.agrega(c1);
-                if (c2.visitado == false)
-                    posibilidades.agrega(c2);
-                break;
-            case 3:
-                c1 = laberinto[c.i + 1][c.j];
-                c2 = laberinto[c.i][c.j - 1];
-                c3 = laberinto[c.i - 1][c.j];
-    
-                if (c1.visitado == false)
-                    posibilidades.agrega(c1);
-                if (c2.visitado == false)
-                    posibilidades.agrega(c2);
-                if (c3.visitado == false)
-                    posibilidades.agrega(c3);
-                break;
-            case 4:
-                c1 = laberinto[c.i][c.j - 1];
-                c2 = laberinto[c.i - 1][c.j];
-                if (c1.visitado == false)
-                    posibilidades.agrega(c1);
-                if (c2.visitado == false)
-                    posibilidades.agrega(c2);
-                break;
-            case 5:
-                c1 = laberinto[c.i][c.j - 1];
-                c2 = laberinto[c.i - 1][c.j];
-                c3 = laberinto[c.i][c.j + 1];
-    
-                if (c1.visitado == false)
-                    posibilidades.agrega(c1);
-                if (c2.visitado == false)
-                    posibilidades.agrega(c2);
-                if (c3.visitado == false)
-                    posibilidades.agrega(c3);
-                break;
-            case 6:
-                c1 = laberinto[c.i - 1][c.j];
-                c2 = laberinto[c.i][c.j + 1];
-                if (c1.visitado == false)
-                    posibilidades.agrega(c1);
-                if (c2.visitado == false)
-                    posibilidades.agrega(c2);
-                break;
-            case 7:
-                c1 = laberinto[c.i + 1][c.j];
-                c2 = laberinto[c.i][c.j + 1];
-                c3 = laberinto[c.i - 1][c.j];
-    
-                if (c1.visitado == false)
-                    posibilidades.agrega(c1);
-                if (c2.visitado == false)
-                    posibilidades.agrega(c2);
-                if (c3.visitado == false)
-                    posibilidades.agrega(c3);
-                break;
-            case 9:
-                c1 = laberinto[c.i + 1][c.j];
-                c2 = laberinto[c.i][c.j - 1];
-                c3 = laberinto[c.i - 1][c.j];
-                c4 = laberinto[c.i][c.j + 1];
-    
-                if (c1.visitado == false)
-                    posibilidades.agrega(c1);
-                if (c2.visitado == false)
-                    posibilidades.agrega(c2);
-                if (c3.visitado == false)
-                    posibilidades.agrega(c3);
-                if (c4.visitado == false)
-                    posibilidades.agrega(c4);
-                break;
-            default:
-                break;
-    
-        }
-        return posibilidades;
+    public int getEntrada(){
+        return inicio.indice();
     }
-    
+
+    /**
+     * Regresa el índice (renglón * ancho + columna) de la casilla de salida.
+     * @return el índice de la casilla de salida.
+     */
+    public int getSalida(){
+        return fin.indice();
+    }
+
+    /**
+     * Regresa el ancho del laberinto.
+     * @return el ancho del laberinto.
+     */
+    public int getAncho(){
+        return ancho;
+    }
+
+    /**
+     * Regresa el alto del laberinto.
+     * @return el alto del laberinto.
+     */
+    public int getAlto(){
+        return alto;
+    }
+
+    /**
+     * Regresa la solución encontrada por la última llamada a
+     * {@link #resolverLaberinto}: los índices (renglón * ancho + columna) de
+     * las casillas del camino, de la entrada a la salida.
+     * @return una copia de los índices del camino; un arreglo vacío si no se
+     *         ha resuelto el laberinto o no hay camino.
+     */
+    public int[] getSolucion(){
+        return solucion == null ? new int[0] : solucion.clone();
+    }
+
+    /**
+     * Regresa el costo del camino encontrado por la última llamada a
+     * {@link #resolverLaberinto}: la suma de los pesos de sus aristas.
+     * @return el costo de la solución, o -1 si no se ha resuelto el laberinto
+     *         o no hay camino.
+     */
+    public int getCosto(){
+        return costo;
+    }
+
     /**
      * Selecciona aleatoriamente el inicio del laberinto
      * @return
@@ -830,7 +759,7 @@ public class Laberinto implements Iterable<Laberinto.Casilla>{
     private Casilla seleccionaInicio(){
     int alturaRandom = r.nextInt(alto); // Asume que 'altura' es la altura del laberinto
 
-    return laberinto[alturaRandom][0];
+    return new Casilla(alturaRandom, 0);
     }
 
     /**
@@ -840,7 +769,7 @@ public class Laberinto implements Iterable<Laberinto.Casilla>{
     private Casilla seleccionaFin(){
     int alturaRandom = r.nextInt(alto); // Asume que 'altura' es la altura del laberinto
 
-    return laberinto[alturaRandom][ancho-1];
+    return new Casilla(alturaRandom, ancho-1);
     }
 
    
@@ -849,53 +778,77 @@ public class Laberinto implements Iterable<Laberinto.Casilla>{
      * Imprime el laberinto en un formato específico de bytes.
      */
     public void imprimeBytes(){
-        byte m = (byte)(0x4d);
-        byte a = (byte)(0x41);
-        byte z = (byte)(0x5a);
-        byte e = (byte)(0x45);
-
-        byte filas = (byte)(alto&0xFF);
-        byte columnas = (byte)(ancho&0xFF);
-
         try{
-            PrintStream o = new PrintStream(System.out);
-            o.write(m);
-            o.write(a);
-            o.write(z);
-            o.write(e);
-            o.write(filas);
-            o.write(columnas);
-            for(Casilla c: this){
-                int b = ((int)(c.toByte()))&0xff;
-                o.write(b);
-            }
-
-            o.close();
-        }catch(Exception ioe){}
-
+            imprimeBytes(System.out);
+        }catch(IOException ioe){}
     }
 
     /**
-     * crea una representación gráfica del laberinto
+     * Escribe el laberinto en formato .mze en la salida dada y la vacía. Las
+     * casillas ya están empacadas, así que se escriben con una sola llamada.
+     * @param out la salida.
+     * @throws IOException si ocurre un error al escribir.
      */
-    private void creaGrafica(){
-        grafica = new Grafica<>();
-        //agregar todos los vertices 
-        for (Casilla c:this)
-            grafica.agrega(c);
-
-        for(Casilla c: this){
-            if(c.pOeste == false && c.j<ancho-1)
-                grafica.conecta(c, laberinto[c.i][c.j+1], 1 +c.puntaje +laberinto[c.i][c.j+1].puntaje);
-                
-            if(c.pSur == false && c.i<alto-1)
-                grafica.conecta(c, laberinto[c.i+1][c.j], 1 +c.puntaje +laberinto[c.i+1][c.j].puntaje);
-                
+    public void imprimeBytes(OutputStream out) throws IOException{
+        out.write(encabezado());
+        ByteBuffer casillas = celdas.vista();
+        if (casillas.hasArray()){
+            out.write(casillas.array(), casillas.arrayOffset(), casillas.remaining());
+        } else {
+            // Un búfer mapeado se copia por pedazos
+            byte[] pedazo = new byte[Math.min(casillas.remaining(), 1 << 16)];
+            while (casillas.hasRemaining()){
+                int n = Math.min(pedazo.length, casillas.remaining());
+                casillas.get(pedazo, 0, n);
+                out.write(pedazo, 0, n);
+            }
         }
+        out.flush();
+    }
 
+    /**
+     * Escribe el laberinto en formato .mze en el canal dado. Las casillas se
+     * escriben directamente desde su búfer, sin copiarlas.
+     * @param canal el canal.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public void imprimeBytes(WritableByteChannel canal) throws IOException{
+        ByteBuffer encabezado = ByteBuffer.wrap(encabezado());
+        while (encabezado.hasRemaining())
+            canal.write(encabezado);
+        ByteBuffer casillas = celdas.vista();
+        while (casillas.hasRemaining())
+            canal.write(casillas);
+    }
 
+    /* Regresa el encabezado .mze del laberinto. */
+    private byte[] encabezado() throws IOException{
+        return encabezado(ancho, alto);
     }
 
+    /**
+     * Regresa el encabezado .mze de un laberinto con las dimensiones dadas.
+     * Los laberintos chicos conservan el encabezado clásico.
+     * @param ancho el ancho del laberinto.
+     * @param alto el alto del laberinto.
+     * @return el encabezado.
+     * @throws IOException nunca; escribir a memoria no falla.
+     */
+    static byte[] encabezado(int ancho, int alto) throws IOException{
+        ByteArrayOutputStream o = new ByteArrayOutputStream(MAGICO.length + 11);
+        for (int m : MAGICO)
+            o.write(m);
+        if (alto <= 0xFF && ancho <= 0xFF){
+            o.write(alto);
+            o.write(ancho);
+        }else{
+            o.write(0);
+            o.write(VERSION_EXTENDIDA);
+            escribeVarint(o, alto);
+            escribeVarint(o, ancho);
+        }
+        return o.toByteArray();
+    }
 
     /**
      * Este es un método sobrescrito toString. Convierte el laberinto en una cadena de texto.
@@ -907,8 +860,9 @@ public class Laberinto implements Iterable<Laberinto.Casilla>{
             StringBuilder x = new StringBuilder();
             StringBuilder y = new StringBuilder();
             for (int j = 0; j < ancho; j++){
-                x.append(laberinto[i][j].parteArriba());
-                y.append(laberinto[i][j].parteAbajo());
+                Casilla c = new Casilla(i, j);
+                x.append(c.parteArriba());
+                y.append(c.parteAbajo());
                
             }
             sb.append(x).append("\n").append(y).append("\n");
@@ -918,21 +872,269 @@ public class Laberinto implements Iterable<Laberinto.Casilla>{
 
     /**
      * Este método convierte el laberinto en un formato de gráfico vectorial escalable (SVG). 
-     * @return
+     * Para laberintos grandes es mejor usar {@link #escribeSVG(Writer)}, que no
+     * construye el documento en memoria.
+     * @return el SVG del laberinto.
      */
     public String toSVG(){
-        StringBuilder sb = new StringBuilder();
-        sb.append("<?xml version = \"1.0\" encoding = \"utf-8\" ?>\n");
-        sb.append(String.format("<svg width=\"%d\" height=\"%d\">\n", ancho*d,alto*d));
-        sb.append(lineas);
-        for(Casilla c: this){
-            sb.append(c.dibujaMuro());            
+        StringWriter sw = new StringWriter();
+        try {
+            escribeSVG(sw);
+        } catch (IOException ioe) {
+            // Un StringWriter nunca lanza IOException
+            throw new UncheckedIOException(ioe);
+        }
+        return sw.toString();
+    }
+
+    /**
+     * Escribe el SVG del laberinto en la salida dada, con codificación UTF-8, y
+     * la vacía al terminar.
+     * @param out la salida.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public void escribeSVG(OutputStream out) throws IOException{
+        escribeSVG(out, false);
+    }
+
+    /**
+     * Escribe el SVG del laberinto en la salida dada, con codificación UTF-8, y
+     * la vacía al terminar.
+     * @param out la salida.
+     * @param compacto si se escribe en modo compacto; ver {@link
+     *        #escribeSVG(Writer, boolean)}.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public void escribeSVG(OutputStream out, boolean compacto) throws IOException{
+        Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFER_SVG);
+        escribeSVG(w, compacto);
+        w.flush();
+    }
+
+    /**
+     * Escribe el SVG del laberinto en el escritor dado, elemento por elemento,
+     * sin construir el documento en memoria. Los muros salen directamente de
+     * los bits de cada casilla. No vacía el escritor.
+     * @param w el escritor.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public void escribeSVG(Writer w) throws IOException{
+        escribeSVG(w, false);
+    }
+
+    /**
+     * Escribe el SVG del laberinto en el escritor dado. En modo compacto todos
+     * los muros forman un solo <code>&lt;path&gt;</code>, en el que los muros
+     * colineales contiguos se unen en un solo trazo, y la solución es otro
+     * <code>&lt;path&gt;</code> con un trazo por tramo recto; si no, cada muro
+     * y cada paso de la solución es un <code>&lt;line&gt;</code>. No vacía el
+     * escritor.
+     * @param w el escritor.
+     * @param compacto si se escribe en modo compacto.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public void escribeSVG(Writer w, boolean compacto) throws IOException{
+        char[] bufer = new char[BUFER_SVG];
+        w.write("<?xml version = \"1.0\" encoding = \"utf-8\" ?>\n");
+        w.write("<svg width=\"");
+        escribeEntero(w, ancho*d, bufer);
+        w.write("\" height=\"");
+        escribeEntero(w, alto*d, bufer);
+        w.write("\">\n");
+
+        if (compacto){
+            escribeSolucionCompacta(w, bufer);
+            escribeMurosCompactos(w, bufer);
+            escribeBola(w, inicio, FIN_BOLA_AZUL, bufer);
+            escribeBola(w, fin, FIN_BOLA_ROJA, bufer);
+            w.write("</svg>");
+            return;
+        }
+
+        escribeSolucion(w, bufer);
+
+        for (int i = 0; i < alto; i++)
+            for (int j = 0; j < ancho; j++)
+                escribeMuros(w, i, j, bufer);
+
+        escribeBola(w, inicio, FIN_BOLA_AZUL, bufer);
+        escribeBola(w, fin, FIN_BOLA_ROJA, bufer);
+        w.write("</svg>");
+    }
+
+    /* Escribe los muros de una casilla: el norte sólo en el primer renglón y
+     * el izquierdo sólo en la primera columna, porque los demás los dibuja la
+     * casilla vecina. */
+    private void escribeMuros(Writer w, int i, int j, char[] bufer) throws IOException{
+        int b = celdas.get(i*ancho + j);
+        int x = j*d, y = i*d;
+        if (i == 0 && (b & P_NORTE) != 0)
+            escribeMuro(w, x, y, x + d, y, bufer);
+        if ((b & P_OESTE) != 0)
+            escribeMuro(w, x + d, y, x + d, y + d, bufer);
+        if ((b & P_SUR) != 0)
+            escribeMuro(w, x + d, y + d, x, y + d, bufer);
+        if (j == 0 && (b & P_ESTE) != 0)
+            escribeMuro(w, x, y + d, x, y, bufer);
+    }
+
+    /* Escribe la solución, de inicio a fin: por cada casilla del camino, un
+     * paso hacia la derecha y otro hacia abajo si la vecina de ese lado
+     * también está en el camino y no hay muro entre ellas. */
+    private void escribeSolucion(Writer w, char[] bufer) throws IOException{
+        if (solucion == null)
+            return;
+
+        // Marcar las casillas del camino para saber en tiempo constante si
+        // una vecina está en él
+        BitSet enCamino = new BitSet(celdas.getElementos());
+        for (int v : solucion)
+            enCamino.set(v);
+
+        for (int v : solucion){
+            int b = celdas.get(v);
+            int i = v / ancho, j = v - i*ancho;
+            int x = 10 + j*d, y = 10 + i*d;
+            if ((b & P_OESTE) == 0 && j < ancho - 1 && enCamino.get(v + 1))
+                escribeLinea(w, PASO, x, y, x + d, y, FIN_PASO, bufer);
+            if ((b & P_SUR) == 0 && i < alto - 1 && enCamino.get(v + ancho))
+                escribeLinea(w, PASO, x, y, x, y + d, FIN_PASO, bufer);
+        }
+    }
+
+    /* Escribe la solución como un solo trazo que cambia de dirección sólo en
+     * las vueltas del camino. */
+    private void escribeSolucionCompacta(Writer w, char[] bufer) throws IOException{
+        if (solucion == null || solucion.length < 2)
+            return;
+
+        w.write("\t<path d=\"M");
+        escribeEntero(w, 10 + (solucion[0] % ancho)*d, bufer);
+        w.write(' ');
+        escribeEntero(w, 10 + (solucion[0] / ancho)*d, bufer);
+
+        int k = 1;
+        while (k < solucion.length){
+            int paso = solucion[k] - solucion[k-1];
+            int n = 1;
+            while (k + n < solucion.length && solucion[k+n] - solucion[k+n-1] == paso)
+                n++;
+            // Un paso de ±1 es horizontal y uno de ±ancho es vertical
+            if (paso == 1 || paso == -1){
+                w.write('h');
+                escribeEntero(w, paso*n*d, bufer);
+            } else {
+                w.write('v');
+                escribeEntero(w, (paso / ancho)*n*d, bufer);
+            }
+            k += n;
+        }
+        w.write(FIN_TRAZO_SOLUCION);
+    }
+
+    /* Escribe todos los muros como un solo trazo, uniendo los muros
+     * contiguos de cada línea horizontal y vertical de la cuadrícula. */
+    private void escribeMurosCompactos(Writer w, char[] bufer) throws IOException{
+        w.write("\t<path d=\"");
+        // Líneas horizontales: la de arriba son los muros norte del primer
+        // renglón, y las demás los muros sur del renglón anterior.
+        for (int y = 0; y <= alto; y++){
+            int j = 0;
+            while (j < ancho){
+                if (!muroHorizontal(y, j)){
+                    j++;
+                    continue;
+                }
+                int inicioTramo = j;
+                while (j < ancho && muroHorizontal(y, j))
+                    j++;
+                escribeTramo(w, 'h', inicioTramo*d, y*d, (j - inicioTramo)*d, bufer);
+            }
         }
-        sb.append(inicio.dibujaBolaBlue());
-        sb.append(fin.dibujaBolaRed());
+        // Líneas verticales: la izquierda son los muros del lado izquierdo de
+        // la primera columna, y las demás los del lado derecho de la columna
+        // anterior.
+        for (int x = 0; x <= ancho; x++){
+            int i = 0;
+            while (i < alto){
+                if (!muroVertical(x, i)){
+                    i++;
+                    continue;
+                }
+                int inicioTramo = i;
+                while (i < alto && muroVertical(x, i))
+                    i++;
+                escribeTramo(w, 'v', x*d, inicioTramo*d, (i - inicioTramo)*d, bufer);
+            }
+        }
+        w.write(FIN_TRAZO_MUROS);
+    }
+
+    /* Nos dice si hay muro sobre la línea horizontal y en la columna j. */
+    private boolean muroHorizontal(int y, int j){
+        if (y == 0)
+            return (celdas.get(j) & P_NORTE) != 0;
+        return (celdas.get((y-1)*ancho + j) & P_SUR) != 0;
+    }
+
+    /* Nos dice si hay muro sobre la línea vertical x y en el renglón i. */
+    private boolean muroVertical(int x, int i){
+        if (x == 0)
+            return (celdas.get(i*ancho) & P_ESTE) != 0;
+        return (celdas.get(i*ancho + x-1) & P_OESTE) != 0;
+    }
+
+    /* Escribe un tramo recto que empieza en (x, y), en la dirección dada. */
+    private void escribeTramo(Writer w, char direccion, int x, int y, int longitud, char[] bufer) throws IOException{
+        w.write('M');
+        escribeEntero(w, x, bufer);
+        w.write(' ');
+        escribeEntero(w, y, bufer);
+        w.write(direccion);
+        escribeEntero(w, longitud, bufer);
+    }
+
+    /* Escribe un muro de (x1, y1) a (x2, y2). */
+    private void escribeMuro(Writer w, int x1, int y1, int x2, int y2, char[] bufer) throws IOException{
+        escribeLinea(w, MURO, x1, y1, x2, y2, FIN_MURO, bufer);
+    }
+
+    /* Escribe un <line> con el principio y el final dados. */
+    private static void escribeLinea(Writer w, String principio, int x1, int y1, int x2, int y2,
+                                     String fin, char[] bufer) throws IOException{
+        w.write(principio);
+        escribeEntero(w, x1, bufer);
+        w.write("\" y1=\"");
+        escribeEntero(w, y1, bufer);
+        w.write("\" x2=\"");
+        escribeEntero(w, x2, bufer);
+        w.write("\" y2=\"");
+        escribeEntero(w, y2, bufer);
+        w.write(fin);
+    }
+
+    /* Escribe la bola en el centro de una casilla. */
+    private void escribeBola(Writer w, Casilla c, String fin, char[] bufer) throws IOException{
+        w.write(BOLA);
+        escribeEntero(w, 10 + c.j*d, bufer);
+        w.write("\" cy=\"");
+        escribeEntero(w, 10 + c.i*d, bufer);
+        w.write(fin);
+    }
 
-        sb.append("</svg>");
-        return sb.toString();
+    /* Escribe un entero en decimal sin crear cadenas, usando el final del
+     * búfer para los dígitos. */
+    private static void escribeEntero(Writer w, int n, char[] bufer) throws IOException{
+        int k = bufer.length;
+        // Los dígitos se sacan del valor negativo para no desbordar con MIN_VALUE
+        int m = n < 0 ? n : -n;
+        do {
+            bufer[--k] = (char)('0' - m % 10);
+            m /= 10;
+        } while (m < 0);
+        if (n < 0)
+            bufer[--k] = '-';
+        w.write(bufer, k, bufer.length - k);
     }
     
     /**
@@ -0,0 +1,218 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import mx.unam.ciencias.edd.Conjunto;
+import mx.unam.ciencias.edd.Lista;
+
+/**
+ * Procesador de lotes de laberintos: resuelve y dibuja muchos laberintos en
+ * la misma máquina virtual, repartidos en un grupo de hilos, para no pagar el
+ * arranque ni el calentamiento del compilador por cada laberinto.
+ *
+ * La entrada es un directorio, del que se toman todos los archivos
+ * <code>.mze</code>, o un manifiesto con una entrada por línea: la ruta de un
+ * archivo <code>.mze</code> (relativa al manifiesto), o el ancho, el alto y
+ * la semilla de un laberinto que hay que generar. Las líneas vacías y las que
+ * empiezan con <code>#</code> se ignoran. Cada entrada produce un archivo SVG
+ * en el directorio de salida; el error de una entrada no detiene a las demás.
+ * Si dos entradas dan el mismo nombre de SVG (dos archivos con el mismo
+ * nombre en distintos directorios, o la misma línea repetida), a la segunda
+ * se le agrega un sufijo <code>_2</code>, <code>_3</code>, etc., para que
+ * ningún SVG se escriba dos veces.
+ */
+public class ProcesadorLotes {
+
+    /* Tamaño del búfer con que se escribe cada SVG */
+    private static final int BUFER_SVG = 1 << 16;
+
+    /* Una entrada del lote: un archivo, o las dimensiones y la semilla de un
+     * laberinto a generar. */
+    private static class Entrada {
+        private String nombre;
+        private Path archivo;
+        private int ancho, alto, semilla;
+        private Future<?> trabajo;
+    }
+
+    private boolean aEstrella;
+    private boolean compacto;
+    private int hilos;
+
+    /**
+     * Crea un procesador de lotes.
+     * @param aEstrella si se resuelve con A* en lugar de Dijkstra.
+     * @param compacto si los SVG se escriben en modo compacto.
+     * @param hilos el número de hilos con que se procesa el lote.
+     * @throws IllegalArgumentException si el número de hilos es menor que 1.
+     */
+    public ProcesadorLotes(boolean aEstrella, boolean compacto, int hilos){
+        if (hilos < 1)
+            throw new IllegalArgumentException("El número de hilos debe ser al menos 1.");
+        this.aEstrella = aEstrella;
+        this.compacto = compacto;
+        this.hilos = hilos;
+    }
+
+    /**
+     * Procesa todas las entradas del directorio o manifiesto dado, y escribe
+     * un SVG por entrada en el directorio de salida. Los errores de cada
+     * entrada se reportan, en el orden de las entradas, en la salida de
+     * errores dada.
+     * @param lote el directorio o el manifiesto.
+     * @param salida el directorio donde se escriben los SVG; se crea si no
+     *        existe.
+     * @param errores donde se reportan los errores de cada entrada.
+     * @return el número de entradas que no se pudieron procesar.
+     * @throws IOException si no se puede leer el lote o crear el directorio
+     *         de salida.
+     */
+    public int procesa(Path lote, Path salida, PrintStream errores) throws IOException{
+        Lista<Entrada> entradas = Files.isDirectory(lote) ?
+            leeDirectorio(lote) : leeManifiesto(lote);
+        nombresUnicos(entradas);
+        Files.createDirectories(salida);
+
+        ExecutorService grupo = Executors.newFixedThreadPool(hilos);
+        int fallidas = 0;
+        try {
+            for (Entrada e : entradas)
+                e.trabajo = grupo.submit(() -> { procesa(e, salida); return null; });
+
+            for (Entrada e : entradas){
+                try {
+                    e.trabajo.get();
+                } catch (ExecutionException ee){
+                    Throwable causa = ee.getCause();
+                    errores.printf("%s: %s%n", e.nombre, causa.getMessage() != null ?
+                                   causa.getMessage() : causa.toString());
+                    fallidas++;
+                } catch (InterruptedException ie){
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Se interrumpió el procesamiento del lote", ie);
+                }
+            }
+        } finally {
+            grupo.shutdownNow();
+        }
+        return fallidas;
+    }
+
+    /* Resuelve una entrada y escribe su SVG. */
+    private void procesa(Entrada e, Path salida) throws IOException{
+        if (e.archivo == null && (e.ancho < 2 || e.alto < 2 ||
+                                  (long)e.ancho * e.alto > Laberinto.MAXIMO_CASILLAS))
+            throw new IllegalArgumentException(String.format(
+                "Dimensiones invalidas: %dx%d", e.ancho, e.alto));
+        Laberinto laberinto = e.archivo != null ?
+            new Laberinto(e.archivo) :
+            new Laberinto(e.ancho, e.alto, e.semilla);
+        laberinto.resolverLaberinto(aEstrella);
+        Path svg = salida.resolve(e.nombre);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(svg),
+                                                                    StandardCharsets.UTF_8),
+                                             BUFER_SVG)){
+            laberinto.escribeSVG(out, compacto);
+            out.write(System.lineSeparator());
+        }
+    }
+
+    /* Agrega un sufijo a los nombres de SVG repetidos, en el orden de las
+     * entradas, para que cada entrada escriba un archivo distinto. */
+    private static void nombresUnicos(Lista<Entrada> entradas){
+        Conjunto<String> nombres = new Conjunto<String>(entradas.getElementos());
+        for (Entrada e : entradas){
+            String base = e.nombre.substring(0, e.nombre.length() - 4);
+            for (int k = 2; nombres.contiene(e.nombre); k++)
+                e.nombre = base + "_" + k + ".svg";
+            nombres.agrega(e.nombre);
+        }
+    }
+
+    /* Regresa una entrada por cada archivo .mze del directorio, ordenadas por
+     * nombre. */
+    private static Lista<Entrada> leeDirectorio(Path directorio) throws IOException{
+        Lista<Path> archivos = new Lista<Path>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(directorio, "*.mze")){
+            for (Path p : ds)
+                if (Files.isRegularFile(p))
+                    archivos.agrega(p);
+        }
+        Path[] ordenados = new Path[archivos.getElementos()];
+        int i = 0;
+        for (Path p : archivos)
+            ordenados[i++] = p;
+        Arrays.sort(ordenados);
+
+        Lista<Entrada> entradas = new Lista<Entrada>();
+        for (Path p : ordenados)
+            entradas.agrega(entradaArchivo(p));
+        return entradas;
+    }
+
+    /* Regresa las entradas del manifiesto. */
+    private static Lista<Entrada> leeManifiesto(Path manifiesto) throws IOException{
+        Path base = manifiesto.toAbsolutePath().getParent();
+        Lista<Entrada> entradas = new Lista<Entrada>();
+        try (BufferedReader in = Files.newBufferedReader(manifiesto, StandardCharsets.UTF_8)){
+            String linea;
+            while ((linea = in.readLine()) != null){
+                linea = linea.trim();
+                if (linea.isEmpty() || linea.startsWith("#"))
+                    continue;
+                String[] campos = linea.split("\\s+");
+                if (campos.length == 3 && esEntero(campos[0]) &&
+                    esEntero(campos[1]) && esEntero(campos[2]))
+                    entradas.agrega(entradaGenerada(campos));
+                else
+                    entradas.agrega(entradaArchivo(base.resolve(linea)));
+            }
+        }
+        return entradas;
+    }
+
+    /* Regresa la entrada de un archivo .mze; el SVG se llama igual. */
+    private static Entrada entradaArchivo(Path archivo){
+        Entrada e = new Entrada();
+        String nombre = archivo.getFileName().toString();
+        if (nombre.endsWith(".mze"))
+            nombre = nombre.substring(0, nombre.length() - 4);
+        e.nombre = nombre + ".svg";
+        e.archivo = archivo;
+        return e;
+    }
+
+    /* Regresa la entrada de un laberinto a generar con ancho, alto y
+     * semilla. */
+    private static Entrada entradaGenerada(String[] campos){
+        Entrada e = new Entrada();
+        e.ancho = Integer.parseInt(campos[0]);
+        e.alto = Integer.parseInt(campos[1]);
+        e.semilla = Integer.parseInt(campos[2]);
+        e.nombre = String.format("%dx%d_%d.svg", e.ancho, e.alto, e.semilla);
+        return e;
+    }
+
+    /* Nos dice si la cadena es un entero. */
+    private static boolean esEntero(String s){
+        try {
+            Integer.parseInt(s);
+            return true;
+        } catch (NumberFormatException nfe){
+            return false;
+        }
+    }
+}
@@ -1,42 +1,117 @@
 package mx.unam.ciencias.edd.proyecto3;
 
-import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 
 /**
  * Proyecto 3
  */
 public class Proyecto3 {
+   // Regresa el generador del método de la bandera -m
+   private static GeneradorLaberinto generador(Bandera b){
+      switch (b.getMetodo()){
+         case "mosaicos":
+            // Los mosaicos se tallan en paralelo y luego se cosen entre sí
+            return new GeneradorMosaicos(b.getTamanoMosaico());
+         case "kruskal":
+            return new GeneradorKruskal();
+         case "prim":
+            return new GeneradorPrim();
+         case "wilson":
+            return new GeneradorWilson();
+         case "arbol":
+            return new GeneradorArbolBinario();
+         default:
+            return new GeneradorDFS();
+      }
+   }
+
    public static void main(String[] args){
-      // Verificar si se pasaron argumentos en la línea de comandos
-      if(args.length == 0){
+      // Procesar las banderas de la línea de comandos
+      Bandera b = new Bandera(args);
+      // Si se pasó un lote, se resuelven todos sus laberintos en esta misma máquina virtual
+      if(b.getLote() != null){
+         try{
+            Path lote = Paths.get(b.getLote());
+            // Por omisión los SVG van junto a los laberintos o al manifiesto
+            Path salida = b.getSalida() != null ? Paths.get(b.getSalida()) :
+               Files.isDirectory(lote) ? lote : lote.toAbsolutePath().getParent();
+            ProcesadorLotes procesador =
+               new ProcesadorLotes(b.usaAEstrella(), b.esCompacto(), b.getHilos());
+            if (procesador.procesa(lote, salida, System.err) > 0)
+               System.exit(1);
+         }catch (IOException e){
+            System.err.printf("Error de entrada/salida: %s%n", e.getMessage());
+            System.exit(1);
+         }
+      }
+      // Si se pasó -p, se atienden consultas de la entrada estándar sobre un mismo laberinto
+      else if(b.getServicio() != null){
          try{
-         // Si no se pasaron argumentos, se lee la entrada estándar para crear un laberinto
-         BufferedInputStream in =new BufferedInputStream(System.in);
-         // Crear una instancia de Laberinto con la entrada proporcionada
-         Laberinto l = new Laberinto(in);
-         // Resolver el laberinto
-         l.resolverLaberinto(); 
-         // Imprimir el laberinto resuelto en formato SVG
-         System.out.println(l.toSVG());
-         }catch (Exception e){}
+            Laberinto l = new Laberinto(Paths.get(b.getServicio()));
+            ServicioLaberinto servicio = new ServicioLaberinto(l, b.getHilos());
+            BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+            servicio.atiende(in, out, b.usaAEstrella());
+            servicio.cierra();
+         }catch (ExcepcionArchivoInvalido e){
+            System.err.printf("Archivo .mze invalido: %s%n", e.getMessage());
+            System.exit(1);
+         }catch (IOException e){
+            System.err.printf("Error de entrada/salida: %s%n", e.getMessage());
+            System.exit(1);
+         }
+      }
+      // Si no se pidió generar un laberinto, se resuelve el del archivo o el de la entrada estándar
+      else if(!b.esGeneracion()){
+         try{
+         // Crear una instancia de Laberinto con el archivo, que se mapea a
+         // memoria, o con la entrada estándar, de donde las casillas se leen
+         // de una vez, así que no hace falta otro búfer
+         Laberinto l = b.getArchivo() != null ?
+            new Laberinto(Paths.get(b.getArchivo())) :
+            new Laberinto(System.in);
+         // Resolver el laberinto, con A* si se pasó la bandera -a
+         l.resolverLaberinto(b.usaAEstrella());
+         // Escribir el laberinto resuelto en formato SVG directamente a la salida estándar,
+         // uniendo muros y pasos de la solución si se pasó la bandera -c
+         Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+         l.escribeSVG(out, b.esCompacto());
+         out.write(System.lineSeparator());
+         out.flush();
+         }catch (ExcepcionArchivoInvalido e){
+            // El archivo no es un .mze válido
+            System.err.printf("Archivo .mze invalido: %s%n", e.getMessage());
+            System.exit(1);
+         }catch (IOException e){
+            System.err.printf("Error de entrada/salida: %s%n", e.getMessage());
+            System.exit(1);
+         }
          
       }
-      else{
-         // Si se pasaron argumentos, se crean las banderas correspondientes
-         Bandera b = new Bandera(args);
-         // Crear un objeto de Laberinto vacío
-         Laberinto l;
-         // Si la bandera no tiene una semilla, se crea el laberinto con ancho y alto
-         if (b.getSeed() == null) {
-             l = new Laberinto(b.getWidth(), b.getHeight());
-         // Si la bandera tiene una semilla, se crea el laberinto con ancho, alto y semilla
-         } else {
-             l = new Laberinto(b.getWidth(), b.getHeight(), b.getSeed());
+      else if(b.getMetodo().equals("eller")){
+         // El algoritmo de Eller escribe cada renglón en cuanto lo termina,
+         // así que el laberinto nunca está completo en memoria
+         try{
+            new GeneradorEller(b.getWidth(), b.getHeight(), b.getSeed()).genera(System.out);
+         }catch (IOException e){
+            System.err.printf("Error de entrada/salida: %s%n", e.getMessage());
+            System.exit(1);
          }
-         // Imprimir los bytes del laberinto
-         l.imprimeBytes();
-     }
+      }
+      else{
+         // Generar el laberinto con el algoritmo escogido e imprimir sus bytes
+         generador(b).genera(b.getWidth(), b.getHeight(), b.getSeed()).imprimeBytes();
+      }
     
      
       
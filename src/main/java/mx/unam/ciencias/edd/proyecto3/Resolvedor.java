@@ -0,0 +1,195 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import mx.unam.ciencias.edd.MonticuloCubetasEnteros;
+
+import java.util.Arrays;
+
+/**
+ * Motor de caminos mínimos que trabaja directamente sobre la cuadrícula
+ * empacada de un laberinto, sin construir una gráfica. Las casillas se
+ * identifican por su índice (renglón * ancho + columna), y los vecinos de
+ * cada casilla salen de los bits de sus puertas.
+ *
+ * El resolvedor guarda el estado de la búsqueda y lo reutiliza entre
+ * búsquedas, así que no debe compartirse entre hilos; las casillas sólo se
+ * leen, y varios resolvedores pueden usar las mismas a la vez.
+ */
+class Resolvedor {
+
+    /* El peso máximo de una arista: 1 más dos puntajes de a lo más 15 */
+    private static final int PESO_MAXIMO = 31;
+    /* Con A* la llave de un vecino puede crecer además 1 por la heurística */
+    private static final int COTA_A_ESTRELLA = PESO_MAXIMO + 1;
+
+    /* Las casillas empacadas del laberinto */
+    private Celdas celdas;
+    private int ancho, alto;
+
+    /* Distancia desde el origen y casilla anterior en el camino; sólo valen
+     * en las casillas cuya marca es la de la búsqueda actual */
+    private int[] distancias;
+    private int[] padres;
+    /* La búsqueda en que se alcanzó cada casilla por última vez */
+    private int[] marcas;
+    /* Número de la búsqueda actual */
+    private int busqueda;
+    /* Si se usa la heurística de A*, y la casilla a la que apunta */
+    private boolean aEstrella;
+    private int destinoI, destinoJ;
+    /* Número de casillas asentadas en la última búsqueda */
+    private int asentadas;
+
+    /**
+     * Crea un resolvedor para la cuadrícula dada.
+     * @param celdas las casillas empacadas, por renglones.
+     * @param ancho el ancho de la cuadrícula.
+     * @param alto el alto de la cuadrícula.
+     */
+    Resolvedor(Celdas celdas, int ancho, int alto){
+        this.celdas = celdas;
+        this.ancho = ancho;
+        this.alto = alto;
+    }
+
+    /**
+     * Calcula con Dijkstra el camino de peso mínimo entre dos casillas. El
+     * peso de pasar de una casilla a otra vecina es 1 más el puntaje de
+     * ambas, igual que en la gráfica del laberinto.
+     * @param origen el índice de la casilla de origen.
+     * @param destino el índice de la casilla de destino.
+     * @return los índices de las casillas del camino, de origen a destino; un
+     *         arreglo vacío si no hay camino.
+     */
+    int[] resuelve(int origen, int destino){
+        aEstrella = false;
+        return busca(origen, destino);
+    }
+
+    /**
+     * Calcula con A* el camino de peso mínimo entre dos casillas. La
+     * heurística es la distancia Manhattan al destino por el peso mínimo de
+     * una arista (1), que nunca sobreestima y es consistente; por eso el
+     * costo del camino es el mismo que con {@link #resuelve}, pero se asientan
+     * menos casillas.
+     * @param origen el índice de la casilla de origen.
+     * @param destino el índice de la casilla de destino.
+     * @return los índices de las casillas del camino, de origen a destino; un
+     *         arreglo vacío si no hay camino.
+     */
+    int[] resuelveAEstrella(int origen, int destino){
+        aEstrella = true;
+        destinoI = destino / ancho;
+        destinoJ = destino % ancho;
+        return busca(origen, destino);
+    }
+
+    /* Búsqueda común de Dijkstra y A*: las llaves del montículo son la
+     * distancia más la heurística, que es 0 en Dijkstra. */
+    private int[] busca(int origen, int destino){
+        int n = celdas.getElementos();
+        if (distancias == null){
+            distancias = new int[n];
+            padres = new int[n];
+            marcas = new int[n];
+        }
+        asentadas = 0;
+        // En lugar de reiniciar todas las casillas, cada búsqueda tiene su
+        // número y sólo valen las casillas marcadas con él; sólo cuando el
+        // número da la vuelta hay que borrar las marcas.
+        if (++busqueda == 0){
+            Arrays.fill(marcas, 0);
+            busqueda = 1;
+        }
+
+        // Los pesos son enteros entre 1 y 31, así que basta un montículo de cubetas
+        MonticuloCubetasEnteros monticulo =
+            new MonticuloCubetasEnteros(aEstrella ? COTA_A_ESTRELLA : PESO_MAXIMO);
+        marcas[origen] = busqueda;
+        distancias[origen] = 0;
+        padres[origen] = origen;
+        monticulo.agrega(origen, heuristica(origen));
+
+        while (!monticulo.esVacia()){
+            int llave = monticulo.prioridadMinima();
+            int v = monticulo.elimina();
+            int distancia = distancias[v];
+            if (llave > distancia + heuristica(v))
+                continue;
+            asentadas++;
+            if (v == destino)
+                break;
+
+            int i = v / ancho, j = v % ancho;
+            int b = celdas.get(v);
+            // Las aristas hacia la derecha y hacia abajo las definen las
+            // puertas de la casilla; hacia la izquierda y hacia arriba, las
+            // del vecino.
+            if (j < ancho-1 && (b & Laberinto.P_OESTE) == 0)
+                relaja(v, v+1, distancia, monticulo);
+            if (i < alto-1 && (b & Laberinto.P_SUR) == 0)
+                relaja(v, v+ancho, distancia, monticulo);
+            if (j > 0 && (celdas.get(v-1) & Laberinto.P_OESTE) == 0)
+                relaja(v, v-1, distancia, monticulo);
+            if (i > 0 && (celdas.get(v-ancho) & Laberinto.P_SUR) == 0)
+                relaja(v, v-ancho, distancia, monticulo);
+        }
+
+        return camino(origen, destino);
+    }
+
+    /**
+     * Regresa la distancia del origen a la casilla dada en la última búsqueda,
+     * o {@link Integer#MAX_VALUE} si no se alcanzó.
+     * @param casilla el índice de la casilla.
+     * @return la distancia a la casilla.
+     */
+    int getDistancia(int casilla){
+        return marcas[casilla] == busqueda ? distancias[casilla] : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Regresa el número de casillas asentadas en la última búsqueda.
+     * @return el número de casillas asentadas.
+     */
+    int getAsentadas(){
+        return asentadas;
+    }
+
+    /* Relaja la arista de v hacia u. */
+    private void relaja(int v, int u, int distancia, MonticuloCubetasEnteros monticulo){
+        int nueva = distancia + 1 + puntaje(v) + puntaje(u);
+        if (marcas[u] != busqueda || nueva < distancias[u]){
+            marcas[u] = busqueda;
+            distancias[u] = nueva;
+            padres[u] = v;
+            monticulo.agrega(u, nueva + heuristica(u));
+        }
+    }
+
+    /* La cota inferior de la distancia de una casilla al destino */
+    private int heuristica(int casilla){
+        if (!aEstrella)
+            return 0;
+        return Math.abs(casilla / ancho - destinoI) + Math.abs(casilla % ancho - destinoJ);
+    }
+
+    /* El puntaje de una casilla */
+    private int puntaje(int casilla){
+        return (celdas.get(casilla) & 0xf0) >> 4;
+    }
+
+    /* Reconstruye el camino siguiendo los padres desde el destino. */
+    private int[] camino(int origen, int destino){
+        if (marcas[destino] != busqueda)
+            return new int[0];
+
+        int longitud = 1;
+        for (int v = destino; v != origen; v = padres[v])
+            longitud++;
+
+        int[] camino = new int[longitud];
+        for (int v = destino; longitud > 0; v = padres[v])
+            camino[--longitud] = v;
+        return camino;
+    }
+}
@@ -0,0 +1,170 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import mx.unam.ciencias.edd.Cola;
+
+/**
+ * Servicio que resuelve consultas de camino mínimo sobre un mismo laberinto
+ * desde varios hilos a la vez. El laberinto sólo se lee; cada hilo del grupo
+ * tiene su propio {@link Resolvedor}, que reutiliza entre consultas, y cada
+ * consulta regresa una {@link Solucion} inmutable.
+ *
+ * El servicio también atiende un protocolo de líneas: cada línea de entrada
+ * es una consulta con el renglón y la columna del origen y del destino,
+ * separados por espacios, o una línea vacía para ir de la entrada a la salida
+ * del laberinto. Por cada consulta se escribe una línea, en el mismo orden:
+ * el costo seguido de los índices de las casillas del camino, <code>-1</code>
+ * si no hay camino, o <code>error: </code> y un mensaje si la consulta no es
+ * válida.
+ */
+public class ServicioLaberinto {
+
+    /* Máximo de respuestas pendientes del protocolo antes de escribirlas */
+    private static final int MAXIMO_PENDIENTES = 1024;
+
+    /* El laberinto compartido */
+    private final Laberinto laberinto;
+    /* El grupo de hilos que resuelve las consultas */
+    private final ExecutorService grupo;
+    /* El resolvedor de cada hilo */
+    private final ThreadLocal<Resolvedor> resolvedores;
+
+    /**
+     * Crea un servicio para el laberinto dado. El laberinto no debe
+     * modificarse mientras el servicio lo usa.
+     * @param laberinto el laberinto.
+     * @param hilos el número de hilos con que se resuelven las consultas.
+     * @throws IllegalArgumentException si el número de hilos es menor que 1.
+     */
+    public ServicioLaberinto(Laberinto laberinto, int hilos){
+        if (hilos < 1)
+            throw new IllegalArgumentException("El número de hilos debe ser al menos 1.");
+        this.laberinto = laberinto;
+        this.grupo = Executors.newFixedThreadPool(hilos, r -> {
+                Thread t = new Thread(r, "servicio-laberinto");
+                t.setDaemon(true);
+                return t;
+            });
+        this.resolvedores = ThreadLocal.withInitial(laberinto::resolvedor);
+    }
+
+    /**
+     * Solicita el camino de peso mínimo entre dos casillas. La consulta se
+     * resuelve en alguno de los hilos del servicio.
+     * @param origen el índice (renglón * ancho + columna) del origen.
+     * @param destino el índice del destino.
+     * @param aEstrella si se usa A* en lugar de Dijkstra.
+     * @return la solución futura; si alguna casilla no existe, al obtenerla
+     *         se lanza una {@link ExecutionException} causada por una
+     *         {@link java.util.NoSuchElementException}.
+     */
+    public Future<Solucion> solicita(int origen, int destino, boolean aEstrella){
+        return grupo.submit(() -> laberinto.resuelve(resolvedores.get(),
+                                                     origen, destino, aEstrella));
+    }
+
+    /**
+     * Atiende el protocolo de líneas hasta que se acaba la entrada. Las
+     * consultas se resuelven en paralelo, pero las respuestas se escriben en
+     * el orden de las consultas; la salida se vacía cada vez que no hay más
+     * consultas esperando en la entrada.
+     * @param in la entrada con las consultas.
+     * @param out la salida de las respuestas.
+     * @param aEstrella si se usa A* en lugar de Dijkstra.
+     * @throws IOException si ocurre un error al leer o escribir.
+     */
+    public void atiende(BufferedReader in, Writer out, boolean aEstrella) throws IOException{
+        Cola<Future<String>> pendientes = new Cola<Future<String>>();
+        int n = 0;
+        String linea;
+        while ((linea = in.readLine()) != null){
+            pendientes.mete(consulta(linea, aEstrella));
+            n++;
+            if (n == MAXIMO_PENDIENTES || !in.ready()){
+                escribe(pendientes, out);
+                out.flush();
+                n = 0;
+            }
+        }
+        escribe(pendientes, out);
+        out.flush();
+    }
+
+    /**
+     * Termina los hilos del servicio. Las consultas pendientes se terminan de
+     * resolver, pero ya no se aceptan nuevas.
+     */
+    public void cierra(){
+        grupo.shutdown();
+    }
+
+    /* Interpreta una línea del protocolo y regresa la respuesta futura. */
+    private Future<String> consulta(String linea, boolean aEstrella){
+        String[] campos = linea.trim().split("\\s+");
+        int origen, destino;
+        if (campos.length == 1 && campos[0].isEmpty()){
+            origen = laberinto.getEntrada();
+            destino = laberinto.getSalida();
+        } else if (campos.length == 4){
+            try {
+                origen = indice(Integer.parseInt(campos[0]), Integer.parseInt(campos[1]));
+                destino = indice(Integer.parseInt(campos[2]), Integer.parseInt(campos[3]));
+            } catch (NumberFormatException nfe){
+                return error("Se esperaban cuatro enteros");
+            }
+            if (origen == -1 || destino == -1)
+                return error("La casilla no existe en el laberinto");
+        } else {
+            return error("Se esperaban cuatro enteros");
+        }
+        int o = origen, d = destino;
+        return grupo.submit(() -> respuesta(laberinto.resuelve(resolvedores.get(),
+                                                               o, d, aEstrella)));
+    }
+
+    /* Regresa el índice de la casilla, o -1 si no existe. */
+    private int indice(int renglon, int columna){
+        if (renglon < 0 || renglon >= laberinto.getAlto() ||
+            columna < 0 || columna >= laberinto.getAncho())
+            return -1;
+        return renglon * laberinto.getAncho() + columna;
+    }
+
+    /* Regresa la línea de respuesta de una solución. */
+    private static String respuesta(Solucion solucion){
+        if (!solucion.hayCamino())
+            return "-1";
+        StringBuilder sb = new StringBuilder();
+        sb.append(solucion.getCosto());
+        for (int v : solucion.getCamino())
+            sb.append(' ').append(v);
+        return sb.toString();
+    }
+
+    /* Regresa una respuesta de error ya terminada. */
+    private static Future<String> error(String mensaje){
+        return CompletableFuture.completedFuture("error: " + mensaje);
+    }
+
+    /* Escribe en orden todas las respuestas pendientes. */
+    private static void escribe(Cola<Future<String>> pendientes, Writer out) throws IOException{
+        while (!pendientes.esVacia()){
+            try {
+                out.write(pendientes.saca().get());
+            } catch (ExecutionException ee){
+                out.write("error: " + ee.getCause().getMessage());
+            } catch (InterruptedException ie){
+                Thread.currentThread().interrupt();
+                throw new IOException("Se interrumpió el servicio", ie);
+            }
+            out.write(System.lineSeparator());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+/**
+ * Resultado inmutable de una consulta de camino mínimo en un laberinto: las
+ * casillas del camino y su costo. Se puede compartir entre hilos.
+ */
+public final class Solucion {
+
+    /* Índices de las casillas del camino, de origen a destino */
+    private final int[] camino;
+    /* Suma de los pesos de las aristas del camino; -1 si no hay camino */
+    private final int costo;
+
+    /**
+     * Crea una solución con el camino y el costo dados.
+     * @param camino los índices de las casillas del camino; el arreglo ya no
+     *        debe modificarse.
+     * @param costo el costo del camino, o -1 si no hay camino.
+     */
+    Solucion(int[] camino, int costo){
+        this.camino = camino;
+        this.costo = costo;
+    }
+
+    /**
+     * Regresa los índices (renglón * ancho + columna) de las casillas del
+     * camino, de origen a destino.
+     * @return una copia de los índices del camino; un arreglo vacío si no hay
+     *         camino.
+     */
+    public int[] getCamino(){
+        return camino.clone();
+    }
+
+    /**
+     * Regresa el número de casillas del camino.
+     * @return el número de casillas del camino; 0 si no hay camino.
+     */
+    public int getLongitud(){
+        return camino.length;
+    }
+
+    /**
+     * Regresa el costo del camino: la suma de los pesos de sus aristas.
+     * @return el costo del camino, o -1 si no hay camino.
+     */
+    public int getCosto(){
+        return costo;
+    }
+
+    /**
+     * Nos dice si existe un camino.
+     * @return <code>true</code> si hay camino, <code>false</code> en otro
+     *         caso.
+     */
+    public boolean hayCamino(){
+        return camino.length > 0;
+    }
+}
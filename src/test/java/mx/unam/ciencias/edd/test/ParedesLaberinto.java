@@ -0,0 +1,85 @@
+package mx.unam.ciencias.edd.test;
+
+import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.proyecto3.Laberinto;
+import org.junit.Assert;
+
+/**
+ * Revisiones comunes de las paredes de un laberinto para las pruebas de los
+ * generadores.
+ */
+final class ParedesLaberinto {
+
+    /* Constructor privado para evitar instanciación. */
+    private ParedesLaberinto() {}
+
+    /* Regresa las paredes de cada casilla de un archivo .mze, sin el
+     * puntaje. */
+    static int[] paredes(byte[] bytes, int ancho, int alto) {
+        int[] celdas = new int[ancho * alto];
+        int encabezado = bytes.length - celdas.length;
+        for (int k = 0; k < celdas.length; k++)
+            celdas[k] = bytes[encabezado + k] & 0x0f;
+        return celdas;
+    }
+
+    /* Revisa que las paredes sean consistentes entre vecinas y regresa el
+     * número de paredes interiores tiradas. */
+    static int abiertas(int[] celdas, int ancho, int alto) {
+        int abiertas = 0;
+        for (int i = 0; i < alto; i++) {
+            for (int j = 0; j < ancho; j++) {
+                int k = i * ancho + j;
+                if (j < ancho - 1) {
+                    boolean abierta = (celdas[k] & Laberinto.P_OESTE) == 0;
+                    Assert.assertTrue(abierta ==
+                                      ((celdas[k+1] & Laberinto.P_ESTE) == 0));
+                    if (abierta)
+                        abiertas++;
+                }
+                if (i < alto - 1) {
+                    boolean abierta = (celdas[k] & Laberinto.P_SUR) == 0;
+                    Assert.assertTrue(abierta ==
+                                      ((celdas[k+ancho] & Laberinto.P_NORTE) == 0));
+                    if (abierta)
+                        abiertas++;
+                }
+            }
+        }
+        return abiertas;
+    }
+
+    /* Regresa el número de casillas alcanzables desde la primera. */
+    static int alcanzables(int[] celdas, int ancho, int alto) {
+        boolean[] visitadas = new boolean[celdas.length];
+        Cola<Integer> cola = new Cola<Integer>();
+        visitadas[0] = true;
+        cola.mete(0);
+        int alcanzadas = 0;
+        while (!cola.esVacia()) {
+            int k = cola.saca();
+            alcanzadas++;
+            int i = k / ancho, j = k % ancho;
+            int[] vecinas = {
+                j < ancho - 1 && (celdas[k] & Laberinto.P_OESTE) == 0 ? k + 1 : -1,
+                i < alto - 1 && (celdas[k] & Laberinto.P_SUR) == 0 ? k + ancho : -1,
+                j > 0 && (celdas[k] & Laberinto.P_ESTE) == 0 ? k - 1 : -1,
+                i > 0 && (celdas[k] & Laberinto.P_NORTE) == 0 ? k - ancho : -1
+            };
+            for (int v : vecinas)
+                if (v != -1 && !visitadas[v]) {
+                    visitadas[v] = true;
+                    cola.mete(v);
+                }
+        }
+        return alcanzadas;
+    }
+
+    /* Revisa que las paredes del archivo .mze dado sean consistentes entre
+     * vecinas y que todas sus casillas sean alcanzables. */
+    static void revisaConexo(byte[] bytes, int ancho, int alto) {
+        int[] celdas = paredes(bytes, ancho, alto);
+        abiertas(celdas, ancho, alto);
+        Assert.assertTrue(alcanzables(celdas, ancho, alto) == ancho * alto);
+    }
+}
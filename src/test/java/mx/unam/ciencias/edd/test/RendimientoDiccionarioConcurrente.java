@@ -0,0 +1,157 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.DiccionarioConcurrente;
+
+/**
+ * Comparación del rendimiento de {@link DiccionarioConcurrente} contra un
+ * {@link Diccionario} protegido con un solo candado, y contra {@link
+ * ConcurrentHashMap} como referencia. No es una prueba unitaria; se corre a
+ * mano después de compilar las pruebas:
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes \
+ *     mx.unam.ciencias.edd.test.RendimientoDiccionarioConcurrente [hilos] [ms] [lecturas%]
+ * </pre>
+ *
+ * Para 1, 2, 4, ... hasta el número de hilos dado, cada hilo hace durante los
+ * milisegundos dados operaciones sobre llaves aleatorias de un diccionario
+ * lleno: lecturas en el porcentaje dado, y escrituras en el resto. Se reporta
+ * el total de millones de operaciones por segundo.
+ */
+public class RendimientoDiccionarioConcurrente {
+
+    /* Número de llaves. */
+    private static final int LLAVES = 1 << 16;
+
+    /* Una estructura a medir. */
+    private interface Estructura {
+        /* Busca la llave. */
+        boolean busca(Integer llave);
+        /* Agrega la llave. */
+        void agrega(Integer llave);
+    }
+
+    /**
+     * Corre la comparación.
+     * @param args el máximo número de hilos, la duración de cada medición en
+     *        milisegundos y el porcentaje de lecturas, opcionales.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int maximo = args.length > 0 ? Integer.parseInt(args[0]) :
+            Runtime.getRuntime().availableProcessors();
+        int duracion = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int lecturas = args.length > 2 ? Integer.parseInt(args[2]) : 90;
+
+        Integer[] llaves = new Integer[LLAVES];
+        for (int i = 0; i < LLAVES; i++)
+            llaves[i] = i;
+
+        DiccionarioConcurrente<Integer, Integer> concurrente =
+            new DiccionarioConcurrente<Integer, Integer>(LLAVES);
+        Diccionario<Integer, Integer> sincronizado = new Diccionario<Integer, Integer>(LLAVES);
+        ConcurrentHashMap<Integer, Integer> referencia =
+            new ConcurrentHashMap<Integer, Integer>(LLAVES);
+        for (Integer llave : llaves) {
+            concurrente.agrega(llave, llave);
+            sincronizado.agrega(llave, llave);
+            referencia.put(llave, llave);
+        }
+
+        Estructura[] estructuras = {
+            new Estructura() {
+                public boolean busca(Integer llave) {
+                    return concurrente.contiene(llave);
+                }
+                public void agrega(Integer llave) {
+                    concurrente.agrega(llave, llave);
+                }
+            },
+            new Estructura() {
+                public boolean busca(Integer llave) {
+                    synchronized (sincronizado) {
+                        return sincronizado.contiene(llave);
+                    }
+                }
+                public void agrega(Integer llave) {
+                    synchronized (sincronizado) {
+                        sincronizado.agrega(llave, llave);
+                    }
+                }
+            },
+            new Estructura() {
+                public boolean busca(Integer llave) {
+                    return referencia.containsKey(llave);
+                }
+                public void agrega(Integer llave) {
+                    referencia.put(llave, llave);
+                }
+            }
+        };
+
+        System.out.printf("%d llaves, %d%% lecturas, %d ms por medición, %d procesadores%n",
+                          LLAVES, lecturas, duracion,
+                          Runtime.getRuntime().availableProcessors());
+        System.out.printf("%6s %16s %16s %16s%n", "hilos",
+                          "Concurrente", "Sincronizado", "ConcurrentHash");
+        // La primera ronda sólo calienta al compilador.
+        for (Estructura e : estructuras)
+            mide(e, llaves, 1, duracion, lecturas);
+        for (int hilos = 1; hilos <= maximo; hilos *= 2) {
+            System.out.printf("%6d", hilos);
+            for (Estructura e : estructuras)
+                System.out.printf(" %16.2f", mide(e, llaves, hilos, duracion, lecturas));
+            System.out.println();
+        }
+    }
+
+    /* Mide una estructura con el número de hilos dado y regresa millones de
+     * operaciones por segundo. */
+    private static double mide(Estructura e, Integer[] llaves, int hilos,
+                               int duracion, int lecturas) throws InterruptedException {
+        AtomicBoolean alto = new AtomicBoolean();
+        LongAdder operaciones = new LongAdder();
+        CountDownLatch listos = new CountDownLatch(hilos);
+        CountDownLatch salida = new CountDownLatch(1);
+        Thread[] trabajadores = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            long semilla = h;
+            trabajadores[h] = new Thread(() -> {
+                    Random r = new Random(semilla);
+                    long n = 0;
+                    listos.countDown();
+                    try {
+                        salida.await();
+                    } catch (InterruptedException ie) {
+                        return;
+                    }
+                    while (!alto.get()) {
+                        for (int k = 0; k < 256; k++) {
+                            Integer llave = llaves[r.nextInt(LLAVES)];
+                            if (r.nextInt(100) < lecturas)
+                                e.busca(llave);
+                            else
+                                e.agrega(llave);
+                        }
+                        n += 256;
+                    }
+                    operaciones.add(n);
+                });
+            trabajadores[h].start();
+        }
+        listos.await();
+        long inicio = System.nanoTime();
+        salida.countDown();
+        Thread.sleep(duracion);
+        alto.set(true);
+        for (Thread t : trabajadores)
+            t.join();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        return operaciones.sum() / segundos / 1e6;
+    }
+}
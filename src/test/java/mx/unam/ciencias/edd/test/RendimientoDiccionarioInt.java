@@ -0,0 +1,191 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.Conjunto;
+import mx.unam.ciencias.edd.ConjuntoInt;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.DiccionarioAbierto;
+import mx.unam.ciencias.edd.DiccionarioInt;
+
+/**
+ * Comparación de rendimiento de {@link DiccionarioInt} y {@link ConjuntoInt}
+ * contra {@link Diccionario}, {@link DiccionarioAbierto} y {@link Conjunto}
+ * con llaves {@link Integer}. No es una prueba unitaria; se corre a mano
+ * después de compilar las pruebas:
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes \
+ *     mx.unam.ciencias.edd.test.RendimientoDiccionarioInt [n] [rondas]
+ * </pre>
+ *
+ * Para cada estructura se agregan <code>n</code> llaves (los índices de las
+ * casillas de un laberinto, 0 a <code>n</code>-1, en orden aleatorio) y luego
+ * se buscan <code>n</code> llaves, la mitad presentes. Se reporta el mejor
+ * tiempo por operación de las rondas, después de calentar, y la memoria que
+ * ocupa cada estructura llena.
+ */
+public class RendimientoDiccionarioInt {
+
+    /* Para que el compilador no elimine las búsquedas. */
+    private static long sumidero;
+
+    /* Una estructura a medir. */
+    private interface Medicion {
+        /* Crea una estructura nueva y le agrega las llaves; la regresa. */
+        Object llena(int[] llaves);
+        /* Busca las llaves en la estructura y regresa cuántas encontró. */
+        int busca(Object estructura, int[] llaves);
+    }
+
+    /**
+     * Corre la comparación.
+     * @param args el número de llaves y el número de rondas, opcionales.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 20;
+        int rondas = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        Random random = new Random(1);
+        int[] llaves = new int[n];
+        for (int i = 0; i < n; i++)
+            llaves[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = llaves[i];
+            llaves[i] = llaves[j];
+            llaves[j] = t;
+        }
+        int[] consultas = new int[n];
+        for (int i = 0; i < n; i++)
+            consultas[i] = random.nextInt(2 * n);
+
+        System.out.printf("%d llaves, %d rondas%n", n, rondas);
+        System.out.printf("%-28s %12s %12s %12s%n",
+                          "estructura", "agrega ns", "busca ns", "MiB");
+
+        mide("DiccionarioInt<Integer>", llaves, consultas, rondas, new Medicion() {
+                public Object llena(int[] ll) {
+                    DiccionarioInt<Integer> d = new DiccionarioInt<Integer>();
+                    for (int k : ll)
+                        d.agrega(k, k);
+                    return d;
+                }
+                @SuppressWarnings("unchecked")
+                public int busca(Object e, int[] ll) {
+                    DiccionarioInt<Integer> d = (DiccionarioInt<Integer>)e;
+                    int c = 0;
+                    for (int k : ll)
+                        if (d.contiene(k))
+                            c++;
+                    return c;
+                }
+            });
+        mide("DiccionarioAbierto<Integer>", llaves, consultas, rondas, new Medicion() {
+                public Object llena(int[] ll) {
+                    DiccionarioAbierto<Integer, Integer> d =
+                        new DiccionarioAbierto<Integer, Integer>();
+                    for (int k : ll)
+                        d.agrega(k, k);
+                    return d;
+                }
+                @SuppressWarnings("unchecked")
+                public int busca(Object e, int[] ll) {
+                    DiccionarioAbierto<Integer, Integer> d =
+                        (DiccionarioAbierto<Integer, Integer>)e;
+                    int c = 0;
+                    for (int k : ll)
+                        if (d.contiene(k))
+                            c++;
+                    return c;
+                }
+            });
+        mide("Diccionario<Integer>", llaves, consultas, rondas, new Medicion() {
+                public Object llena(int[] ll) {
+                    Diccionario<Integer, Integer> d = new Diccionario<Integer, Integer>();
+                    for (int k : ll)
+                        d.agrega(k, k);
+                    return d;
+                }
+                @SuppressWarnings("unchecked")
+                public int busca(Object e, int[] ll) {
+                    Diccionario<Integer, Integer> d = (Diccionario<Integer, Integer>)e;
+                    int c = 0;
+                    for (int k : ll)
+                        if (d.contiene(k))
+                            c++;
+                    return c;
+                }
+            });
+        mide("ConjuntoInt", llaves, consultas, rondas, new Medicion() {
+                public Object llena(int[] ll) {
+                    ConjuntoInt c = new ConjuntoInt();
+                    for (int k : ll)
+                        c.agrega(k);
+                    return c;
+                }
+                public int busca(Object e, int[] ll) {
+                    ConjuntoInt s = (ConjuntoInt)e;
+                    int c = 0;
+                    for (int k : ll)
+                        if (s.contiene(k))
+                            c++;
+                    return c;
+                }
+            });
+        mide("Conjunto<Integer>", llaves, consultas, rondas, new Medicion() {
+                public Object llena(int[] ll) {
+                    Conjunto<Integer> c = new Conjunto<Integer>();
+                    for (int k : ll)
+                        c.agrega(k);
+                    return c;
+                }
+                @SuppressWarnings("unchecked")
+                public int busca(Object e, int[] ll) {
+                    Conjunto<Integer> s = (Conjunto<Integer>)e;
+                    int c = 0;
+                    for (int k : ll)
+                        if (s.contiene(k))
+                            c++;
+                    return c;
+                }
+            });
+        if (sumidero == 42)
+            System.out.println();
+    }
+
+    /* Mide una estructura e imprime su renglón. */
+    private static void mide(String nombre, int[] llaves, int[] consultas,
+                             int rondas, Medicion m) {
+        long mejorAgrega = Long.MAX_VALUE, mejorBusca = Long.MAX_VALUE;
+        // Las primeras rondas sólo calientan al compilador.
+        for (int r = -3; r < rondas; r++) {
+            long t0 = System.nanoTime();
+            Object e = m.llena(llaves);
+            long t1 = System.nanoTime();
+            sumidero += m.busca(e, consultas);
+            long t2 = System.nanoTime();
+            if (r >= 0) {
+                mejorAgrega = Math.min(mejorAgrega, t1 - t0);
+                mejorBusca = Math.min(mejorBusca, t2 - t1);
+            }
+        }
+
+        long antes = memoriaUsada();
+        Object e = m.llena(llaves);
+        long despues = memoriaUsada();
+        sumidero += e.hashCode();
+
+        System.out.printf("%-28s %12.1f %12.1f %12.1f%n", nombre,
+                          (double)mejorAgrega / llaves.length,
+                          (double)mejorBusca / consultas.length,
+                          (despues - antes) / (1024.0 * 1024.0));
+    }
+
+    /* Regresa la memoria ocupada después de recolectar la basura. */
+    private static long memoriaUsada() {
+        Runtime r = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return r.totalMemory() - r.freeMemory();
+    }
+}
@@ -0,0 +1,85 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import java.util.function.ToIntFunction;
+import mx.unam.ciencias.edd.Dispersores;
+
+/**
+ * Comparación del rendimiento de los dispersores de {@link Dispersores} con
+ * llaves de distintas longitudes. No es una prueba unitaria; se corre a mano
+ * después de compilar las pruebas:
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes \
+ *     mx.unam.ciencias.edd.test.RendimientoDispersores [rondas]
+ * </pre>
+ *
+ * Se reporta el mejor tiempo por byte de las rondas, después de calentar.
+ */
+public class RendimientoDispersores {
+
+    /* Longitudes de las llaves. */
+    private static final int[] LONGITUDES = { 8, 32, 128, 1024 };
+    /* Bytes que se dispersan en cada ronda. */
+    private static final int BYTES_RONDA = 1 << 24;
+
+    /* Para que el compilador no elimine las dispersiones. */
+    private static int sumidero;
+
+    /**
+     * Corre la comparación.
+     * @param args el número de rondas, opcional.
+     */
+    public static void main(String[] args) {
+        int rondas = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+
+        String[] nombres = { "XOR", "BJ", "DJB", "Murmur3", "XXH32", "XXH64", "FNV-1a" };
+        @SuppressWarnings("unchecked") ToIntFunction<byte[]>[] dispersores =
+            (ToIntFunction<byte[]>[])new ToIntFunction[] {
+            (ToIntFunction<byte[]>)Dispersores::dispersaXOR,
+            (ToIntFunction<byte[]>)Dispersores::dispersaBJ,
+            (ToIntFunction<byte[]>)Dispersores::dispersaDJB,
+            (ToIntFunction<byte[]>)Dispersores::dispersaMurmur3,
+            (ToIntFunction<byte[]>)Dispersores::dispersaXXH32,
+            (ToIntFunction<byte[]>)(k -> (int)Dispersores.dispersaXXH64(k)),
+            (ToIntFunction<byte[]>)Dispersores::dispersaFNV1a
+        };
+
+        System.out.printf("%-10s", "ns/byte");
+        for (int n : LONGITUDES)
+            System.out.printf(" %10d", n);
+        System.out.println();
+
+        Random random = new Random(1);
+        for (int d = 0; d < dispersores.length; d++) {
+            System.out.printf("%-10s", nombres[d]);
+            for (int n : LONGITUDES) {
+                byte[][] llaves = new byte[64][n];
+                for (byte[] llave : llaves)
+                    random.nextBytes(llave);
+                System.out.printf(" %10.3f", mide(dispersores[d], llaves, rondas));
+            }
+            System.out.println();
+        }
+        if (sumidero == 42)
+            System.out.println();
+    }
+
+    /* Regresa el mejor tiempo por byte de dispersar las llaves. */
+    private static double mide(ToIntFunction<byte[]> dispersor, byte[][] llaves, int rondas) {
+        int n = llaves[0].length;
+        int vueltas = BYTES_RONDA / (n * llaves.length);
+        long mejor = Long.MAX_VALUE;
+        // Las primeras rondas sólo calientan al compilador.
+        for (int r = -3; r < rondas; r++) {
+            long inicio = System.nanoTime();
+            for (int v = 0; v < vueltas; v++)
+                for (byte[] llave : llaves)
+                    sumidero += dispersor.applyAsInt(llave);
+            long tiempo = System.nanoTime() - inicio;
+            if (r >= 0)
+                mejor = Math.min(mejor, tiempo);
+        }
+        return (double)mejor / ((long)vueltas * llaves.length * n);
+    }
+}
@@ -0,0 +1,165 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import mx.unam.ciencias.edd.Conjunto;
+import mx.unam.ciencias.edd.ConjuntoInt;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ConjuntoInt}.
+ */
+public class TestConjuntoInt {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El conjunto. */
+    private ConjuntoInt conjunto;
+
+    /**
+     * Crea un conjunto para cada prueba.
+     */
+    public TestConjuntoInt() {
+        random = new Random();
+        total = 100 + random.nextInt(900);
+        conjunto = new ConjuntoInt();
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoInt#ConjuntoInt}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(conjunto.esVacia());
+        Assert.assertTrue(conjunto.getElementos() == 0);
+        Assert.assertFalse(conjunto.iterator().hasNext());
+        Assert.assertTrue(conjunto.toString().equals("{}"));
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoInt#agrega} y {@link
+     * ConjuntoInt#contiene}.
+     */
+    @Test public void testAgrega() {
+        for (int i = 0; i < total; i++) {
+            conjunto.agrega(i);
+            Assert.assertTrue(conjunto.getElementos() == i + 1);
+        }
+        for (int i = 0; i < total; i++) {
+            conjunto.agrega(i);
+            Assert.assertTrue(conjunto.contiene(i));
+        }
+        Assert.assertTrue(conjunto.getElementos() == total);
+        Assert.assertFalse(conjunto.contiene(-1));
+        Assert.assertFalse(conjunto.contiene(Integer.MIN_VALUE));
+        conjunto.agrega(Integer.MIN_VALUE);
+        Assert.assertTrue(conjunto.contiene(Integer.MIN_VALUE));
+        Assert.assertTrue(conjunto.getElementos() == total + 1);
+        conjunto.elimina(Integer.MIN_VALUE);
+        Assert.assertFalse(conjunto.contiene(Integer.MIN_VALUE));
+        Assert.assertTrue(conjunto.getElementos() == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoInt#elimina}, comparando contra
+     * {@link Conjunto}.
+     */
+    @Test public void testElimina() {
+        Conjunto<Integer> referencia = new Conjunto<Integer>();
+        for (int k = 0; k < total * 4; k++) {
+            int elemento = (random.nextInt(total) - total / 2) << 8;
+            if (random.nextBoolean()) {
+                conjunto.agrega(elemento);
+                referencia.agrega(elemento);
+            } else {
+                conjunto.elimina(elemento);
+                if (referencia.contiene(elemento))
+                    referencia.elimina(elemento);
+            }
+            Assert.assertTrue(conjunto.getElementos() == referencia.getElementos());
+        }
+        for (int i = -total / 2; i < total; i++) {
+            int elemento = i << 8;
+            Assert.assertTrue(conjunto.contiene(elemento) == referencia.contiene(elemento));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoInt#iterator}.
+     */
+    @Test public void testIterator() {
+        boolean[] vistos = new boolean[total];
+        for (int i = 0; i < total; i++)
+            conjunto.agrega(i);
+        conjunto.agrega(Integer.MIN_VALUE);
+        PrimitiveIterator.OfInt iterador = conjunto.iterator();
+        int n = 0;
+        boolean minimo = false;
+        while (iterador.hasNext()) {
+            int elemento = iterador.nextInt();
+            if (elemento == Integer.MIN_VALUE) {
+                Assert.assertFalse(minimo);
+                minimo = true;
+            } else {
+                Assert.assertFalse(vistos[elemento]);
+                vistos[elemento] = true;
+            }
+            n++;
+        }
+        Assert.assertTrue(minimo);
+        Assert.assertTrue(n == total + 1);
+        try {
+            iterador.nextInt();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoInt#interseccion} y {@link
+     * ConjuntoInt#union}.
+     */
+    @Test public void testInterseccionUnion() {
+        ConjuntoInt otro = new ConjuntoInt();
+        for (int i = 0; i < total; i++) {
+            conjunto.agrega(i);
+            otro.agrega(i + total / 2);
+        }
+        ConjuntoInt interseccion = conjunto.interseccion(otro);
+        ConjuntoInt union = conjunto.union(otro);
+        Assert.assertTrue(interseccion.getElementos() == total - total / 2);
+        Assert.assertTrue(union.getElementos() == total + total / 2);
+        for (int i = 0; i < total + total / 2; i++) {
+            Assert.assertTrue(union.contiene(i));
+            Assert.assertTrue(interseccion.contiene(i) ==
+                              (i >= total / 2 && i < total));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoInt#limpia} y {@link
+     * ConjuntoInt#equals}.
+     */
+    @Test public void testLimpiaEquals() {
+        ConjuntoInt otro = new ConjuntoInt(total);
+        for (int i = 0; i < total; i++) {
+            conjunto.agrega(i);
+            otro.agrega(total - 1 - i);
+        }
+        Assert.assertTrue(conjunto.equals(otro));
+        otro.agrega(total);
+        Assert.assertFalse(conjunto.equals(otro));
+        Assert.assertFalse(conjunto.equals(null));
+        conjunto.limpia();
+        Assert.assertTrue(conjunto.esVacia());
+        Assert.assertFalse(conjunto.contiene(1));
+        Assert.assertFalse(conjunto.iterator().hasNext());
+    }
+}
@@ -0,0 +1,106 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ConjuntosDisjuntos;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ConjuntosDisjuntos}.
+ */
+public class TestConjuntosDisjuntos {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* Los conjuntos disjuntos. */
+    private ConjuntosDisjuntos conjuntos;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un número
+     * total de elementos, y los conjuntos disjuntos.
+     */
+    public TestConjuntosDisjuntos() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        conjuntos = new ConjuntosDisjuntos(total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntosDisjuntos#ConjuntosDisjuntos}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(conjuntos.getElementos() == total);
+        Assert.assertTrue(conjuntos.getConjuntos() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(conjuntos.encuentra(i) == i);
+        try {
+            new ConjuntosDisjuntos(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntosDisjuntos#encuentra}.
+     */
+    @Test public void testEncuentra() {
+        try {
+            conjuntos.encuentra(-1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            conjuntos.encuentra(total);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntosDisjuntos#une}, comparando contra
+     * un arreglo de etiquetas.
+     */
+    @Test public void testUne() {
+        int[] etiquetas = new int[total];
+        for (int i = 0; i < total; i++)
+            etiquetas[i] = i;
+        int n = total;
+        for (int k = 0; k < total * 2; k++) {
+            int a = random.nextInt(total);
+            int b = random.nextInt(total);
+            boolean distintos = etiquetas[a] != etiquetas[b];
+            Assert.assertTrue(conjuntos.une(a, b) == distintos);
+            if (distintos) {
+                int vieja = etiquetas[b];
+                for (int i = 0; i < total; i++)
+                    if (etiquetas[i] == vieja)
+                        etiquetas[i] = etiquetas[a];
+                n--;
+            }
+            Assert.assertTrue(conjuntos.getConjuntos() == n);
+            Assert.assertTrue(conjuntos.mismoConjunto(a, b));
+        }
+        for (int i = 0; i < total; i++)
+            for (int j = 0; j < total; j++)
+                Assert.assertTrue(conjuntos.mismoConjunto(i, j) ==
+                                  (etiquetas[i] == etiquetas[j]));
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntosDisjuntos#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 1; i < total; i++)
+            conjuntos.une(i - 1, i);
+        Assert.assertTrue(conjuntos.getConjuntos() == 1);
+        conjuntos.limpia();
+        Assert.assertTrue(conjuntos.getConjuntos() == total);
+        for (int i = 1; i < total; i++)
+            Assert.assertFalse(conjuntos.mismoConjunto(i - 1, i));
+    }
+}
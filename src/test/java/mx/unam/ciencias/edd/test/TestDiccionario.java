@@ -0,0 +1,153 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Diccionario;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link Diccionario}.
+ */
+public class TestDiccionario {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private Diccionario<Integer, String> diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionario() {
+        random = new Random();
+        total = 100 + random.nextInt(900);
+        diccionario = new Diccionario<Integer, String>();
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#agrega} y {@link
+     * Diccionario#get}.
+     */
+    @Test public void testAgrega() {
+        try {
+            diccionario.agrega(null, "a");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(i, String.valueOf(i));
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+            Assert.assertTrue(diccionario.carga() < Diccionario.MAXIMA_CARGA);
+        }
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.get(i).equals(String.valueOf(i)));
+        diccionario.agrega(0, "cero");
+        Assert.assertTrue(diccionario.getElementos() == total);
+        Assert.assertTrue(diccionario.get(0).equals("cero"));
+        try {
+            diccionario.get(-1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#elimina} con un dispersor que
+     * produce muchas colisiones, y llaves que se agregan después de crecer.
+     */
+    @Test public void testElimina() {
+        diccionario = new Diccionario<Integer, String>(i -> i % 7);
+        boolean[] presentes = new boolean[total];
+        int n = 0;
+        for (int k = 0; k < total * 4; k++) {
+            int llave = random.nextInt(total);
+            if (random.nextBoolean()) {
+                diccionario.agrega(llave, String.valueOf(llave));
+                if (!presentes[llave])
+                    n++;
+                presentes[llave] = true;
+            } else if (presentes[llave]) {
+                diccionario.elimina(llave);
+                presentes[llave] = false;
+                n--;
+            } else {
+                try {
+                    diccionario.elimina(llave);
+                    Assert.fail();
+                } catch (NoSuchElementException nsee) {}
+            }
+            Assert.assertTrue(diccionario.getElementos() == n);
+        }
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(diccionario.contiene(i) == presentes[i]);
+            if (presentes[i])
+                Assert.assertTrue(diccionario.get(i).equals(String.valueOf(i)));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#asegurarCapacidad}.
+     */
+    @Test public void testAsegurarCapacidad() {
+        try {
+            diccionario.asegurarCapacidad(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        diccionario.agrega(-1, "-1");
+        diccionario.asegurarCapacidad(total);
+        double carga = diccionario.carga();
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        // El diccionario no creció.
+        Assert.assertTrue(diccionario.carga() == carga * (total + 1));
+        Assert.assertTrue(diccionario.carga() <= 0.5);
+        for (int i = -1; i < total; i++)
+            Assert.assertTrue(diccionario.get(i).equals(String.valueOf(i)));
+        diccionario.asegurarCapacidad(0);
+        Assert.assertTrue(diccionario.carga() == carga * (total + 1));
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#iterator} y {@link
+     * Diccionario#iteradorLlaves}.
+     */
+    @Test public void testIteradores() {
+        boolean[] vistas = new boolean[total];
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        Iterator<Integer> llaves = diccionario.iteradorLlaves();
+        Iterator<String> valores = diccionario.iterator();
+        int n = 0;
+        while (llaves.hasNext()) {
+            int llave = llaves.next();
+            Assert.assertFalse(vistas[llave]);
+            vistas[llave] = true;
+            Assert.assertTrue(valores.next().equals(String.valueOf(llave)));
+            n++;
+        }
+        Assert.assertFalse(valores.hasNext());
+        Assert.assertTrue(n == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#equals}.
+     */
+    @Test public void testEquals() {
+        Diccionario<Integer, String> otro = new Diccionario<Integer, String>(total);
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(i, String.valueOf(i));
+            otro.agrega(total - 1 - i, String.valueOf(total - 1 - i));
+        }
+        Assert.assertTrue(diccionario.equals(otro));
+        otro.agrega(0, "x");
+        Assert.assertFalse(diccionario.equals(otro));
+        Assert.assertFalse(diccionario.equals(null));
+    }
+}
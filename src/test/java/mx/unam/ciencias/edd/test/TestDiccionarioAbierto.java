@@ -0,0 +1,267 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.DiccionarioAbierto;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioAbierto}.
+ */
+public class TestDiccionarioAbierto {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioAbierto<Integer, String> diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioAbierto() {
+        random = new Random();
+        total = 100 + random.nextInt(900);
+        diccionario = new DiccionarioAbierto<Integer, String>();
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#DiccionarioAbierto}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.colisiones() == 0);
+        Assert.assertTrue(diccionario.colisionMaxima() == 0);
+        Assert.assertFalse(diccionario.iterator().hasNext());
+        Assert.assertTrue(diccionario.toString().equals("{}"));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#DiccionarioAbierto} con
+     * capacidades pequeñas, que empiezan con una tabla de cuatro posiciones.
+     */
+    @Test public void testConstructorCapacidadPequena() {
+        for (int capacidad = 0; capacidad <= 4; capacidad++) {
+            diccionario = new DiccionarioAbierto<Integer, String>(capacidad);
+            Assert.assertTrue(diccionario.carga() == 0.0);
+            for (int i = 0; i < total; i++) {
+                diccionario.agrega(i * 4, String.valueOf(i));
+                Assert.assertTrue(diccionario.carga() < DiccionarioAbierto.MAXIMA_CARGA);
+            }
+            Assert.assertTrue(diccionario.getElementos() == total);
+            for (int i = 0; i < total; i++)
+                Assert.assertTrue(diccionario.get(i * 4).equals(String.valueOf(i)));
+        }
+        diccionario = new DiccionarioAbierto<Integer, String>(2);
+        diccionario.agrega(1, "1");
+        diccionario.agrega(2, "2");
+        Assert.assertTrue(diccionario.carga() == 0.5);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#agrega} y {@link
+     * DiccionarioAbierto#get}.
+     */
+    @Test public void testAgrega() {
+        try {
+            diccionario.agrega(null, "a");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.agrega(1, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(i, String.valueOf(i));
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+            Assert.assertTrue(diccionario.carga() < DiccionarioAbierto.MAXIMA_CARGA);
+        }
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(diccionario.contiene(i));
+            Assert.assertTrue(diccionario.get(i).equals(String.valueOf(i)));
+        }
+        diccionario.agrega(0, "cero");
+        Assert.assertTrue(diccionario.getElementos() == total);
+        Assert.assertTrue(diccionario.get(0).equals("cero"));
+        Assert.assertFalse(diccionario.contiene(-1));
+        Assert.assertFalse(diccionario.contiene(null));
+        try {
+            diccionario.get(-1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#elimina}, comparando
+     * contra {@link Diccionario} con un dispersor que produce muchas
+     * colisiones.
+     */
+    @Test public void testElimina() {
+        diccionario = new DiccionarioAbierto<Integer, String>(i -> i % 7);
+        Diccionario<Integer, String> referencia = new Diccionario<Integer, String>();
+        for (int k = 0; k < total * 4; k++) {
+            int llave = random.nextInt(total);
+            if (random.nextBoolean()) {
+                diccionario.agrega(llave, String.valueOf(k));
+                referencia.agrega(llave, String.valueOf(k));
+            } else if (referencia.contiene(llave)) {
+                diccionario.elimina(llave);
+                referencia.elimina(llave);
+            } else {
+                try {
+                    diccionario.elimina(llave);
+                    Assert.fail();
+                } catch (NoSuchElementException nsee) {}
+            }
+            Assert.assertTrue(diccionario.getElementos() == referencia.getElementos());
+        }
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(diccionario.contiene(i) == referencia.contiene(i));
+            if (referencia.contiene(i))
+                Assert.assertTrue(diccionario.get(i).equals(referencia.get(i)));
+        }
+        try {
+            diccionario.elimina(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#asegurarCapacidad}.
+     */
+    @Test public void testAsegurarCapacidad() {
+        try {
+            diccionario.asegurarCapacidad(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        diccionario.agrega(-1, "-1");
+        diccionario.asegurarCapacidad(total);
+        double carga = diccionario.carga();
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        // El diccionario no creció.
+        Assert.assertTrue(diccionario.carga() == carga * (total + 1));
+        Assert.assertTrue(diccionario.carga() <= 0.5);
+        for (int i = -1; i < total; i++)
+            Assert.assertTrue(diccionario.get(i).equals(String.valueOf(i)));
+        diccionario.asegurarCapacidad(0);
+        Assert.assertTrue(diccionario.carga() == carga * (total + 1));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#colisiones} y {@link
+     * DiccionarioAbierto#colisionMaxima}.
+     */
+    @Test public void testColisiones() {
+        diccionario = new DiccionarioAbierto<Integer, String>(i -> 0);
+        for (int i = 0; i < 20; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        Assert.assertTrue(diccionario.colisiones() == 19);
+        Assert.assertTrue(diccionario.colisionMaxima() == 19);
+        for (int i = 0; i < 20; i++)
+            diccionario.elimina(i);
+        Assert.assertTrue(diccionario.colisiones() == 0);
+        Assert.assertTrue(diccionario.colisionMaxima() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#colisionMaxima} con
+     * llaves cuyas dispersiones sólo difieren en los bits altos, como las de
+     * los Double enteros: no deben amontonarse en una sola región.
+     */
+    @Test public void testColisionesBitsAltos() {
+        DiccionarioAbierto<Double, Integer> dobles =
+            new DiccionarioAbierto<Double, Integer>();
+        for (int i = 0; i < 5000; i++)
+            dobles.agrega((double)i, i);
+        Assert.assertTrue(dobles.colisionMaxima() < 128);
+        for (int i = 0; i < 5000; i++)
+            Assert.assertTrue(dobles.get((double)i) == i);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#iterator} y {@link
+     * DiccionarioAbierto#iteradorLlaves}.
+     */
+    @Test public void testIteradores() {
+        boolean[] vistas = new boolean[total];
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        Iterator<Integer> llaves = diccionario.iteradorLlaves();
+        Iterator<String> valores = diccionario.iterator();
+        int n = 0;
+        while (llaves.hasNext()) {
+            int llave = llaves.next();
+            Assert.assertFalse(vistas[llave]);
+            vistas[llave] = true;
+            Assert.assertTrue(valores.next().equals(String.valueOf(llave)));
+            n++;
+        }
+        Assert.assertFalse(valores.hasNext());
+        Assert.assertTrue(n == total);
+        try {
+            llaves.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para los iteradores de {@link DiccionarioAbierto}
+     * cuando el diccionario se modifica mientras se itera.
+     */
+    @Test public void testIteradoresModificados() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        Iterator<Integer> llaves = diccionario.iteradorLlaves();
+        while (llaves.hasNext()) {
+            int llave = llaves.next();
+            diccionario.agrega(llave, "x");
+        }
+        for (String valor : diccionario)
+            Assert.assertTrue(valor.equals("x"));
+        llaves = diccionario.iteradorLlaves();
+        diccionario.elimina(llaves.next());
+        try {
+            llaves.next();
+            Assert.fail();
+        } catch (ConcurrentModificationException cme) {}
+        Iterator<String> valores = diccionario.iterator();
+        diccionario.agrega(-1, "-1");
+        try {
+            valores.hasNext();
+            Assert.fail();
+        } catch (ConcurrentModificationException cme) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#limpia} y {@link
+     * DiccionarioAbierto#equals}.
+     */
+    @Test public void testLimpiaEquals() {
+        DiccionarioAbierto<Integer, String> otro =
+            new DiccionarioAbierto<Integer, String>(total);
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(i, String.valueOf(i));
+            otro.agrega(total - 1 - i, String.valueOf(total - 1 - i));
+        }
+        Assert.assertTrue(diccionario.equals(otro));
+        otro.agrega(0, "x");
+        Assert.assertFalse(diccionario.equals(otro));
+        Assert.assertFalse(diccionario.equals(null));
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertFalse(diccionario.contiene(1));
+        Assert.assertFalse(diccionario.iterator().hasNext());
+    }
+}
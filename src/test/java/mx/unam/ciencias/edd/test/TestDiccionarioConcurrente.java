@@ -0,0 +1,225 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import mx.unam.ciencias.edd.DiccionarioConcurrente;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioConcurrente}.
+ */
+public class TestDiccionarioConcurrente {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Número de hilos de las pruebas concurrentes. */
+    private static final int HILOS = 8;
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioConcurrente<Integer, String> diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioConcurrente() {
+        random = new Random();
+        total = 100 + random.nextInt(900);
+        diccionario = new DiccionarioConcurrente<Integer, String>();
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * DiccionarioConcurrente#DiccionarioConcurrente}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.toString().equals("{}"));
+        Assert.assertFalse(diccionario.iterator().hasNext());
+        diccionario = new DiccionarioConcurrente<Integer, String>(0, i -> i, 5);
+        Assert.assertTrue(diccionario.getFranjas() == 8);
+        diccionario = new DiccionarioConcurrente<Integer, String>(0, i -> i, 1);
+        Assert.assertTrue(diccionario.getFranjas() == 1);
+        try {
+            new DiccionarioConcurrente<Integer, String>(0, i -> i, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#agrega}, {@link
+     * DiccionarioConcurrente#get} y {@link DiccionarioConcurrente#elimina} en
+     * un solo hilo.
+     */
+    @Test public void testAgregaElimina() {
+        try {
+            diccionario.agrega(null, "a");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        Assert.assertTrue(diccionario.getElementos() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.get(i).equals(String.valueOf(i)));
+        Assert.assertFalse(diccionario.contiene(-1));
+        try {
+            diccionario.get(-1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i += 2)
+            diccionario.elimina(i);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.contiene(i) == (i % 2 == 1));
+        try {
+            diccionario.elimina(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+    }
+
+    /**
+     * Prueba de estrés para {@link DiccionarioConcurrente#agrega} y {@link
+     * DiccionarioConcurrente#elimina}: cada hilo modifica sus propias llaves
+     * mientras lee las de los demás, y al final el diccionario debe tener
+     * exactamente lo que cada hilo dejó.
+     */
+    @Test public void testConcurrente() throws Exception {
+        int operaciones = 20000;
+        boolean[][] presentes = new boolean[HILOS][total];
+        ExecutorService grupo = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch salida = new CountDownLatch(1);
+        Lista<Future<?>> trabajos = new Lista<Future<?>>();
+        for (int h = 0; h < HILOS; h++) {
+            int hilo = h;
+            long semilla = random.nextLong();
+            trabajos.agrega(grupo.submit(() -> {
+                Random r = new Random(semilla);
+                salida.await();
+                for (int k = 0; k < operaciones; k++) {
+                    int i = r.nextInt(total);
+                    int llave = i * HILOS + hilo;
+                    switch (r.nextInt(3)) {
+                    case 0:
+                        diccionario.agrega(llave, String.valueOf(llave));
+                        presentes[hilo][i] = true;
+                        break;
+                    case 1:
+                        if (presentes[hilo][i])
+                            diccionario.elimina(llave);
+                        presentes[hilo][i] = false;
+                        break;
+                    default:
+                        Assert.assertTrue(diccionario.contiene(llave) == presentes[hilo][i]);
+                        // Las llaves de otro hilo pueden estar o no, pero si
+                        // están tienen su valor.
+                        int otra = r.nextInt(total * HILOS);
+                        if (diccionario.contiene(otra)) {
+                            try {
+                                Assert.assertTrue(diccionario.get(otra).equals(
+                                                      String.valueOf(otra)));
+                            } catch (NoSuchElementException nsee) {}
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        salida.countDown();
+        for (Future<?> trabajo : trabajos)
+            trabajo.get();
+        grupo.shutdown();
+
+        int n = 0;
+        for (int h = 0; h < HILOS; h++)
+            for (int i = 0; i < total; i++) {
+                int llave = i * HILOS + h;
+                Assert.assertTrue(diccionario.contiene(llave) == presentes[h][i]);
+                if (presentes[h][i])
+                    n++;
+            }
+        Assert.assertTrue(diccionario.getElementos() == n);
+    }
+
+    /**
+     * Prueba de estrés para {@link DiccionarioConcurrente#calculaSiAusente}:
+     * todos los hilos piden las mismas llaves a la vez, la función se llama
+     * una sola vez por llave, y todos reciben el mismo valor.
+     */
+    @Test public void testCalculaSiAusente() throws Exception {
+        AtomicIntegerArray llamadas = new AtomicIntegerArray(total);
+        String[][] vistos = new String[HILOS][total];
+        ExecutorService grupo = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch salida = new CountDownLatch(1);
+        Lista<Future<?>> trabajos = new Lista<Future<?>>();
+        for (int h = 0; h < HILOS; h++) {
+            int hilo = h;
+            trabajos.agrega(grupo.submit(() -> {
+                salida.await();
+                for (int i = 0; i < total; i++)
+                    vistos[hilo][i] = diccionario.calculaSiAusente(i, llave -> {
+                            llamadas.incrementAndGet(llave);
+                            return new String("v" + llave);
+                        });
+                return null;
+            }));
+        }
+        salida.countDown();
+        for (Future<?> trabajo : trabajos)
+            trabajo.get();
+        grupo.shutdown();
+
+        Assert.assertTrue(diccionario.getElementos() == total);
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(llamadas.get(i) == 1);
+            Assert.assertTrue(vistos[0][i].equals("v" + i));
+            for (int h = 1; h < HILOS; h++)
+                Assert.assertTrue(vistos[h][i] == vistos[0][i]);
+            Assert.assertTrue(diccionario.get(i) == vistos[0][i]);
+        }
+        try {
+            diccionario.calculaSiAusente(-1, llave -> null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertFalse(diccionario.contiene(-1));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#iterator} y {@link
+     * DiccionarioConcurrente#iteradorLlaves}.
+     */
+    @Test public void testIteradores() {
+        boolean[] vistas = new boolean[total];
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        Iterator<Integer> llaves = diccionario.iteradorLlaves();
+        int n = 0;
+        while (llaves.hasNext()) {
+            int llave = llaves.next();
+            Assert.assertFalse(vistas[llave]);
+            vistas[llave] = true;
+            n++;
+        }
+        Assert.assertTrue(n == total);
+        n = 0;
+        for (String valor : diccionario) {
+            Assert.assertTrue(vistas[Integer.parseInt(valor)]);
+            n++;
+        }
+        Assert.assertTrue(n == total);
+    }
+}
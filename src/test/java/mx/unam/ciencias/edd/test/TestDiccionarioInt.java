@@ -0,0 +1,195 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.DiccionarioInt;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioInt}.
+ */
+public class TestDiccionarioInt {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioInt<String> diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioInt() {
+        random = new Random();
+        total = 100 + random.nextInt(900);
+        diccionario = new DiccionarioInt<String>();
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioInt#DiccionarioInt}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.colisiones() == 0);
+        Assert.assertTrue(diccionario.colisionMaxima() == 0);
+        Assert.assertFalse(diccionario.iterator().hasNext());
+        Assert.assertFalse(diccionario.iteradorLlaves().hasNext());
+        Assert.assertTrue(diccionario.toString().equals("{}"));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioInt#agrega} y {@link
+     * DiccionarioInt#get}.
+     */
+    @Test public void testAgrega() {
+        try {
+            diccionario.agrega(1, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(i, String.valueOf(i));
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+            Assert.assertTrue(diccionario.carga() < DiccionarioInt.MAXIMA_CARGA);
+        }
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(diccionario.contiene(i));
+            Assert.assertTrue(diccionario.get(i).equals(String.valueOf(i)));
+        }
+        diccionario.agrega(0, "cero");
+        Assert.assertTrue(diccionario.getElementos() == total);
+        Assert.assertTrue(diccionario.get(0).equals("cero"));
+        Assert.assertFalse(diccionario.contiene(-1));
+        try {
+            diccionario.get(-1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        diccionario.agrega(Integer.MIN_VALUE, "minimo");
+        diccionario.agrega(Integer.MAX_VALUE, "maximo");
+        Assert.assertTrue(diccionario.get(Integer.MIN_VALUE).equals("minimo"));
+        Assert.assertTrue(diccionario.get(Integer.MAX_VALUE).equals("maximo"));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioInt#elimina}, comparando contra
+     * {@link Diccionario} con llaves en un rango pequeño y con bits bajos
+     * iguales.
+     */
+    @Test public void testElimina() {
+        Diccionario<Integer, String> referencia = new Diccionario<Integer, String>();
+        for (int k = 0; k < total * 4; k++) {
+            int llave = (random.nextInt(total) - total / 2) << 8;
+            if (random.nextBoolean()) {
+                diccionario.agrega(llave, String.valueOf(k));
+                referencia.agrega(llave, String.valueOf(k));
+            } else if (referencia.contiene(llave)) {
+                diccionario.elimina(llave);
+                referencia.elimina(llave);
+            } else {
+                try {
+                    diccionario.elimina(llave);
+                    Assert.fail();
+                } catch (NoSuchElementException nsee) {}
+            }
+            Assert.assertTrue(diccionario.getElementos() == referencia.getElementos());
+        }
+        for (int i = -total / 2; i < total; i++) {
+            int llave = i << 8;
+            Assert.assertTrue(diccionario.contiene(llave) == referencia.contiene(llave));
+            if (referencia.contiene(llave))
+                Assert.assertTrue(diccionario.get(llave).equals(referencia.get(llave)));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioInt#asegurarCapacidad}.
+     */
+    @Test public void testAsegurarCapacidad() {
+        try {
+            diccionario.asegurarCapacidad(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        diccionario.agrega(-1, "-1");
+        diccionario.asegurarCapacidad(total);
+        double carga = diccionario.carga();
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        // El diccionario no creció.
+        Assert.assertTrue(diccionario.carga() == carga * (total + 1));
+        Assert.assertTrue(diccionario.carga() <= 0.5);
+        for (int i = -1; i < total; i++)
+            Assert.assertTrue(diccionario.get(i).equals(String.valueOf(i)));
+        diccionario.asegurarCapacidad(0);
+        Assert.assertTrue(diccionario.carga() == carga * (total + 1));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioInt#colisiones} y {@link
+     * DiccionarioInt#colisionMaxima}.
+     */
+    @Test public void testColisiones() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(random.nextInt(), "x");
+        Assert.assertTrue(diccionario.colisiones() < diccionario.getElementos());
+        Assert.assertTrue(diccionario.colisionMaxima() < diccionario.getElementos());
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.colisiones() == 0);
+        Assert.assertTrue(diccionario.colisionMaxima() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioInt#iterator} y {@link
+     * DiccionarioInt#iteradorLlaves}.
+     */
+    @Test public void testIteradores() {
+        boolean[] vistas = new boolean[total];
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        PrimitiveIterator.OfInt llaves = diccionario.iteradorLlaves();
+        Iterator<String> valores = diccionario.iterator();
+        int n = 0;
+        while (llaves.hasNext()) {
+            int llave = llaves.nextInt();
+            Assert.assertFalse(vistas[llave]);
+            vistas[llave] = true;
+            Assert.assertTrue(valores.next().equals(String.valueOf(llave)));
+            n++;
+        }
+        Assert.assertFalse(valores.hasNext());
+        Assert.assertTrue(n == total);
+        try {
+            llaves.nextInt();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioInt#limpia} y {@link
+     * DiccionarioInt#equals}.
+     */
+    @Test public void testLimpiaEquals() {
+        DiccionarioInt<String> otro = new DiccionarioInt<String>(total);
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(i, String.valueOf(i));
+            otro.agrega(total - 1 - i, String.valueOf(total - 1 - i));
+        }
+        Assert.assertTrue(diccionario.equals(otro));
+        otro.agrega(0, "x");
+        Assert.assertFalse(diccionario.equals(otro));
+        Assert.assertFalse(diccionario.equals(null));
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertFalse(diccionario.contiene(1));
+        Assert.assertFalse(diccionario.iterator().hasNext());
+    }
+}
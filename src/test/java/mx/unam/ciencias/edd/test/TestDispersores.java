@@ -0,0 +1,185 @@
+package mx.unam.ciencias.edd.test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import mx.unam.ciencias.edd.AlgoritmoDispersor;
+import mx.unam.ciencias.edd.Dispersor;
+import mx.unam.ciencias.edd.Dispersores;
+import mx.unam.ciencias.edd.FabricaDispersores;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link Dispersores}. Los
+ * algoritmos conocidos se comparan contra los vectores de prueba publicados
+ * con sus implementaciones de referencia; XOR, Bob Jenkins y Daniel J.
+ * Bernstein, contra los resultados de su versión que lee de byte en byte.
+ */
+public class TestDispersores {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Frase para los prefijos de las pruebas de regresión. */
+    private static final String FRASE =
+        "El veloz murcielago hindu comia feliz cardillo y kiwi.";
+    /* Longitudes de los prefijos de las pruebas de regresión. */
+    private static final int[] LONGITUDES = {
+        0, 1, 2, 3, 4, 5, 7, 8, 9, 11, 12, 13, 16, 23, 24, 25, 54
+    };
+
+    /* Generador de números aleatorios. */
+    private Random random;
+
+    /**
+     * Crea el generador de números aleatorios.
+     */
+    public TestDispersores() {
+        random = new Random();
+    }
+
+    /* Regresa los bytes de una cadena. */
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaXOR}.
+     */
+    @Test public void testDispersaXOR() {
+        int[] esperados = {
+            0x00000000, 0x45000000, 0x456c0000, 0x456c2000, 0x456c2076,
+            0x206c2076, 0x20004f76, 0x20004f0c, 0x00004f0c, 0x006d3a0c,
+            0x006d3a7e, 0x636d3a7e, 0x63045f12, 0x6a0a5e32, 0x6a0a5e56,
+            0x1f0a5e56, 0x39487373
+        };
+        for (int i = 0; i < LONGITUDES.length; i++)
+            Assert.assertTrue(Dispersores.dispersaXOR(
+                                  bytes(FRASE.substring(0, LONGITUDES[i]))) == esperados[i]);
+        Assert.assertTrue(Dispersores.dispersaXOR(bytesAltos()) == 0x568181c3);
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaBJ}.
+     */
+    @Test public void testDispersaBJ() {
+        int[] esperados = {
+            0xbb742e94, 0x9f06f801, 0xa4a33743, 0xf048af49, 0x9aacad1e,
+            0x6629add0, 0xd5a7001b, 0x4044779a, 0x3bf3692c, 0x10c45272,
+            0xee066261, 0x721d5614, 0x072bd538, 0xef706bd4, 0xf702cd09,
+            0xaefa6ca1, 0x16761a9e
+        };
+        for (int i = 0; i < LONGITUDES.length; i++)
+            Assert.assertTrue(Dispersores.dispersaBJ(
+                                  bytes(FRASE.substring(0, LONGITUDES[i]))) == esperados[i]);
+        Assert.assertTrue(Dispersores.dispersaBJ(bytesAltos()) == 0x79037bbd);
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaDJB}.
+     */
+    @Test public void testDispersaDJB() {
+        int[] esperados = {
+            0x00001505, 0x0002b5ea, 0x00597396, 0x0b87e676, 0x7c84b5ac,
+            0x0d1b6b91, 0xc1a4a22c, 0xf638e826, 0xbd55ed06, 0x6a855508,
+            0xbb2ff67a, 0x212ec61d, 0x2712b917, 0x2e930b8d, 0x00f47d91,
+            0x1f843026, 0x037cb6ee
+        };
+        for (int i = 0; i < LONGITUDES.length; i++)
+            Assert.assertTrue(Dispersores.dispersaDJB(
+                                  bytes(FRASE.substring(0, LONGITUDES[i]))) == esperados[i]);
+        Assert.assertTrue(Dispersores.dispersaDJB(bytesAltos()) == 0xe4fe580e);
+        // Contra la definición de byte en byte, con llaves aleatorias.
+        for (int k = 0; k < 100; k++) {
+            byte[] llave = new byte[random.nextInt(100)];
+            random.nextBytes(llave);
+            int h = 5381;
+            for (byte b : llave)
+                h = h * 33 + (b & 0xFF);
+            Assert.assertTrue(Dispersores.dispersaDJB(llave) == h);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaMurmur3}.
+     */
+    @Test public void testDispersaMurmur3() {
+        Assert.assertTrue(Dispersores.dispersaMurmur3(bytes("")) == 0);
+        Assert.assertTrue(Dispersores.dispersaMurmur3(bytes(""), 1) == 0x514E28B7);
+        Assert.assertTrue(Dispersores.dispersaMurmur3(bytes(""), 0xffffffff) == 0x81F16F39);
+        Assert.assertTrue(Dispersores.dispersaMurmur3(new byte[4]) == 0x2362F9DE);
+        int semilla = 0x9747b28c;
+        Assert.assertTrue(Dispersores.dispersaMurmur3(bytes("a"), semilla) == 0x7FA09EA6);
+        Assert.assertTrue(Dispersores.dispersaMurmur3(bytes("aa"), semilla) == 0x5D211726);
+        Assert.assertTrue(Dispersores.dispersaMurmur3(bytes("aaa"), semilla) == 0x283E0130);
+        Assert.assertTrue(Dispersores.dispersaMurmur3(bytes("aaaa"), semilla) == 0x5A97808A);
+        Assert.assertTrue(Dispersores.dispersaMurmur3(bytes("abcd"), semilla) == 0xF0478627);
+        Assert.assertTrue(Dispersores.dispersaMurmur3(bytes("Hello, world!"), semilla) ==
+                          0x24884CBA);
+        Assert.assertTrue(Dispersores.dispersaMurmur3(
+                              bytes("The quick brown fox jumps over the lazy dog"), semilla) ==
+                          0x2FA826CD);
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaXXH32}.
+     */
+    @Test public void testDispersaXXH32() {
+        Assert.assertTrue(Dispersores.dispersaXXH32(bytes("")) == 0x02CC5D05);
+        Assert.assertTrue(Dispersores.dispersaXXH32(bytes("a")) == 0x550D7456);
+        Assert.assertTrue(Dispersores.dispersaXXH32(bytes("abc")) == 0x32D153FF);
+        Assert.assertTrue(Dispersores.dispersaXXH32(
+                              bytes("Nobody inspects the spammish repetition")) == 0xE2293B2F);
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaXXH64}.
+     */
+    @Test public void testDispersaXXH64() {
+        Assert.assertTrue(Dispersores.dispersaXXH64(bytes("")) == 0xEF46DB3751D8E999L);
+        Assert.assertTrue(Dispersores.dispersaXXH64(bytes("a")) == 0xD24EC4F1A98C6E5BL);
+        Assert.assertTrue(Dispersores.dispersaXXH64(bytes("abc")) == 0x44BC2CF5AD770999L);
+        Assert.assertTrue(Dispersores.dispersaXXH64(
+                              bytes("Nobody inspects the spammish repetition")) ==
+                          0xFBCEA83C8A378BF1L);
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaFNV1a}.
+     */
+    @Test public void testDispersaFNV1a() {
+        Assert.assertTrue(Dispersores.dispersaFNV1a(bytes("")) == 0x811c9dc5);
+        Assert.assertTrue(Dispersores.dispersaFNV1a(bytes("a")) == 0xe40c292c);
+        Assert.assertTrue(Dispersores.dispersaFNV1a(bytes("foobar")) == 0xbf9cf968);
+    }
+
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadena}.
+     */
+    @Test public void testFabrica() {
+        for (AlgoritmoDispersor algoritmo : AlgoritmoDispersor.values()) {
+            Dispersor<String> dispersor = FabricaDispersores.dispersorCadena(algoritmo);
+            Assert.assertTrue(dispersor.dispersa(FRASE) == dispersor.dispersa(new String(FRASE)));
+        }
+        Assert.assertTrue(FabricaDispersores.dispersorCadena(AlgoritmoDispersor.FNV1A_STRING)
+                          .dispersa("foobar") == 0xbf9cf968);
+        // Las cadenas se codifican en UTF-8, sin importar la plataforma.
+        Dispersor<String> fnv =
+            FabricaDispersores.dispersorCadena(AlgoritmoDispersor.FNV1A_STRING);
+        Assert.assertTrue(fnv.dispersa("a\u00f1o") ==
+                          Dispersores.dispersaFNV1a("a\u00f1o".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertTrue(fnv.dispersa("a\u00f1o") != fnv.dispersa("a\u00e9o"));
+        long h = Dispersores.dispersaXXH64(bytes("abc"));
+        Assert.assertTrue(FabricaDispersores.dispersorCadena(AlgoritmoDispersor.XXH64_STRING)
+                          .dispersa("abc") == (int)(h ^ (h >>> 32)));
+    }
+
+    /* Regresa una llave con bytes mayores a 127. */
+    private static byte[] bytesAltos() {
+        return new byte[] {
+            (byte)0xff, (byte)0x80, 0x7f, (byte)0xc3, (byte)0xa9, 1, (byte)0xfe
+        };
+    }
+}
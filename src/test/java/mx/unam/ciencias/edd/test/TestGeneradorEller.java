@@ -0,0 +1,66 @@
+package mx.unam.ciencias.edd.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import mx.unam.ciencias.edd.proyecto3.GeneradorEller;
+import mx.unam.ciencias.edd.proyecto3.Laberinto;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link GeneradorEller}.
+ */
+public class TestGeneradorEller {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Dimensiones del laberinto. */
+    private int ancho, alto;
+
+    /**
+     * Crea dimensiones al azar para cada prueba.
+     */
+    public TestGeneradorEller() {
+        random = new Random();
+        ancho = 2 + random.nextInt(100);
+        alto = 2 + random.nextInt(100);
+    }
+
+    /* Genera un laberinto con la semilla dada y regresa sus bytes. */
+    private byte[] genera(Integer semilla) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new GeneradorEller(ancho, alto, semilla).genera(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Prueba unitaria para {@link GeneradorEller#genera}: el archivo tiene el
+     * tamaño correcto, es válido, y la misma semilla da el mismo laberinto.
+     */
+    @Test public void testGenera() throws IOException {
+        int semilla = random.nextInt();
+        byte[] bytes = genera(semilla);
+        Assert.assertTrue(bytes.length == 6 + ancho * alto);
+        Assert.assertTrue(bytes[4] == alto && bytes[5] == ancho);
+        Assert.assertTrue(Arrays.equals(bytes, genera(semilla)));
+        Laberinto laberinto = new Laberinto(new ByteArrayInputStream(bytes));
+        laberinto.resolverLaberinto();
+        Assert.assertTrue(laberinto.getCosto() > 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link GeneradorEller#genera}: las paredes son
+     * consistentes entre vecinas y todas las casillas son alcanzables.
+     */
+    @Test public void testConexo() throws IOException {
+        ParedesLaberinto.revisaConexo(genera(null), ancho, alto);
+    }
+}
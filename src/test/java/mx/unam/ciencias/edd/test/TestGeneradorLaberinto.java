@@ -0,0 +1,120 @@
+package mx.unam.ciencias.edd.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import mx.unam.ciencias.edd.proyecto3.GeneradorArbolBinario;
+import mx.unam.ciencias.edd.proyecto3.GeneradorDFS;
+import mx.unam.ciencias.edd.proyecto3.GeneradorKruskal;
+import mx.unam.ciencias.edd.proyecto3.GeneradorLaberinto;
+import mx.unam.ciencias.edd.proyecto3.GeneradorMosaicos;
+import mx.unam.ciencias.edd.proyecto3.GeneradorPrim;
+import mx.unam.ciencias.edd.proyecto3.GeneradorWilson;
+import mx.unam.ciencias.edd.proyecto3.Laberinto;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de las implementaciones de
+ * {@link GeneradorLaberinto}.
+ */
+public class TestGeneradorLaberinto {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Dimensiones del laberinto. */
+    private int ancho, alto;
+    /* Los generadores que producen árboles generadores, sin ciclos. */
+    private GeneradorLaberinto[] arboles;
+
+    /**
+     * Crea dimensiones al azar para cada prueba.
+     */
+    public TestGeneradorLaberinto() {
+        random = new Random();
+        ancho = 2 + random.nextInt(100);
+        alto = 2 + random.nextInt(100);
+        arboles = new GeneradorLaberinto[] {
+            new GeneradorKruskal(), new GeneradorPrim(),
+            new GeneradorWilson(), new GeneradorArbolBinario()
+        };
+    }
+
+    /* Genera un laberinto con la semilla dada y regresa sus bytes. */
+    private byte[] genera(GeneradorLaberinto generador, Integer semilla)
+        throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        generador.genera(ancho, alto, semilla).imprimeBytes(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Prueba unitaria para {@link GeneradorLaberinto#genera}: cada generador
+     * produce un archivo válido, y la misma semilla da el mismo laberinto.
+     */
+    @Test public void testGenera() throws IOException {
+        for (GeneradorLaberinto generador : arboles) {
+            int semilla = random.nextInt();
+            byte[] bytes = genera(generador, semilla);
+            Assert.assertTrue(bytes.length == 6 + ancho * alto);
+            Assert.assertTrue(Arrays.equals(bytes, genera(generador, semilla)));
+            Laberinto laberinto = new Laberinto(new ByteArrayInputStream(bytes));
+            laberinto.resolverLaberinto();
+            Assert.assertTrue(laberinto.getCosto() > 0);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link GeneradorLaberinto#genera}: los laberintos
+     * son árboles generadores, conexos y con exactamente una pared interior
+     * tirada menos que casillas.
+     */
+    @Test public void testArbolGenerador() throws IOException {
+        for (GeneradorLaberinto generador : arboles) {
+            int[] celdas = ParedesLaberinto.paredes(genera(generador, null), ancho, alto);
+            Assert.assertTrue(ParedesLaberinto.abiertas(celdas, ancho, alto) ==
+                              ancho * alto - 1);
+            Assert.assertTrue(ParedesLaberinto.alcanzables(celdas, ancho, alto) ==
+                              ancho * alto);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link GeneradorLaberinto#genera} con dimensiones
+     * inválidas: todos los generadores las rechazan.
+     */
+    @Test public void testDimensionesInvalidas() {
+        GeneradorLaberinto[] generadores = Arrays.copyOf(arboles, arboles.length + 2);
+        generadores[arboles.length] = new GeneradorDFS();
+        generadores[arboles.length + 1] = new GeneradorMosaicos(2);
+        int[][] dimensiones = {
+            { 1, alto }, { ancho, 1 }, { 0, 0 }, { -1, alto }, { 1 << 16, 1 << 16 }
+        };
+        for (GeneradorLaberinto generador : generadores)
+            for (int[] d : dimensiones) {
+                try {
+                    generador.genera(d[0], d[1], 1);
+                    Assert.fail();
+                } catch (IllegalArgumentException iae) {}
+            }
+    }
+
+    /**
+     * Prueba unitaria para {@link GeneradorDFS#genera}: produce el mismo
+     * laberinto que {@link Laberinto#Laberinto(int,int,int)}.
+     */
+    @Test public void testGeneradorDFS() throws IOException {
+        int semilla = random.nextInt();
+        byte[] bytes = genera(new GeneradorDFS(), semilla);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Laberinto(ancho, alto, semilla).imprimeBytes(out);
+        Assert.assertTrue(Arrays.equals(bytes, out.toByteArray()));
+    }
+}
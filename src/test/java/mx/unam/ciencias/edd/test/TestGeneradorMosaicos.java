@@ -0,0 +1,106 @@
+package mx.unam.ciencias.edd.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import mx.unam.ciencias.edd.proyecto3.GeneradorMosaicos;
+import mx.unam.ciencias.edd.proyecto3.Laberinto;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link GeneradorMosaicos}.
+ */
+public class TestGeneradorMosaicos {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Dimensiones del laberinto y tamaño de los mosaicos. */
+    private int ancho, alto, tamano;
+
+    /**
+     * Crea dimensiones al azar para cada prueba.
+     */
+    public TestGeneradorMosaicos() {
+        random = new Random();
+        ancho = 2 + random.nextInt(200);
+        alto = 2 + random.nextInt(200);
+        tamano = 2 + random.nextInt(40);
+    }
+
+    /* Genera un laberinto con la semilla dada y regresa sus bytes. */
+    private byte[] genera(Integer semilla) throws IOException {
+        Laberinto laberinto = new GeneradorMosaicos(tamano).genera(ancho, alto, semilla);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        laberinto.imprimeBytes(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Prueba unitaria para {@link GeneradorMosaicos#GeneradorMosaicos}.
+     */
+    @Test public void testConstructor() {
+        try {
+            new GeneradorMosaicos(1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link GeneradorMosaicos#genera}: el archivo tiene
+     * el tamaño correcto, es válido, y la misma semilla con el mismo tamaño de
+     * mosaico da el mismo laberinto.
+     */
+    @Test public void testGenera() throws IOException {
+        int semilla = random.nextInt();
+        byte[] bytes = genera(semilla);
+        Assert.assertTrue(bytes.length == 6 + ancho * alto);
+        Assert.assertTrue((bytes[4] & 0xff) == alto && (bytes[5] & 0xff) == ancho);
+        Assert.assertTrue(Arrays.equals(bytes, genera(semilla)));
+        Laberinto laberinto = new Laberinto(new ByteArrayInputStream(bytes));
+        laberinto.resolverLaberinto();
+        Assert.assertTrue(laberinto.getCosto() > 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link GeneradorMosaicos#genera}: las paredes son
+     * consistentes entre vecinas y todas las casillas son alcanzables, aunque
+     * crucen las fronteras entre mosaicos.
+     */
+    @Test public void testConexo() throws IOException {
+        ParedesLaberinto.revisaConexo(genera(null), ancho, alto);
+    }
+
+    /**
+     * Prueba unitaria para {@link GeneradorMosaicos#genera} cuando el último
+     * mosaico de cada renglón mide una sola columna.
+     */
+    @Test public void testConexoUltimaColumna() throws IOException {
+        for (tamano = 2; tamano <= 12; tamano++) {
+            ancho = tamano + 1;
+            alto = 2 + random.nextInt(40);
+            for (int semilla = 0; semilla < 8; semilla++)
+                ParedesLaberinto.revisaConexo(genera(semilla), ancho, alto);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link GeneradorMosaicos#genera} cuando el último
+     * renglón de mosaicos mide un solo renglón.
+     */
+    @Test public void testConexoUltimoRenglon() throws IOException {
+        for (tamano = 2; tamano <= 12; tamano++) {
+            ancho = 2 + random.nextInt(40);
+            alto = tamano + 1;
+            for (int semilla = 0; semilla < 8; semilla++)
+                ParedesLaberinto.revisaConexo(genera(semilla), ancho, alto);
+        }
+    }
+}
@@ -230,6 +230,32 @@ public class TestGrafica {
         } catch (NoSuchElementException nsee) {}
     }
 
+    /**
+     * Prueba unitaria para {@link Grafica#elimina} con un vértice cuyos
+     * vecinos chocan en la misma secuencia de sondeo de su diccionario de
+     * vecinos.
+     */
+    @Test public void testEliminaVecinosConColisiones() {
+        int[] vecinos = { 5, 133, 261, 13, 389 };
+        grafica.agrega(0);
+        for (int v : vecinos) {
+            grafica.agrega(v);
+            grafica.conecta(0, v, v == 13 ? 1.5 : 1);
+        }
+        grafica.conecta(5, 133);
+        grafica.elimina(0);
+        Assert.assertFalse(grafica.contiene(0));
+        Assert.assertTrue(grafica.getElementos() == vecinos.length);
+        Assert.assertTrue(grafica.getAristas() == 1);
+        Assert.assertTrue(grafica.sonVecinos(5, 133));
+        for (int v : vecinos)
+            Assert.assertTrue(grafica.vertice(v).getGrado() ==
+                              (v == 5 || v == 133 ? 1 : 0));
+        grafica.elimina(5);
+        Assert.assertTrue(grafica.getAristas() == 0);
+        Assert.assertTrue(grafica.vertice(133).getGrado() == 0);
+    }
+
     /**
      * Prueba unitaria para {@link Grafica#sonVecinos}.
      */
@@ -737,4 +763,129 @@ public class TestGrafica {
             Assert.assertTrue(lista.equals(dijkstra));
         }
     }
+
+    /* Crea una gráfica con n vértices en la que cada vértice i está
+     * conectado con los vértices i+1, ..., i+alcance-1; las aristas entre
+     * vértices consecutivos pesan 1 y las demás son mucho más pesadas, así
+     * que la trayectoria mínima de 0 a i es 0, 1, ..., i. */
+    private void creaGraficaCadena(int n, int alcance) {
+        grafica = new Grafica<Integer>();
+        for (int i = 0; i < n; i++)
+            grafica.agrega(i);
+        for (int i = 0; i < n; i++) {
+            int m = Math.min(i + alcance, n);
+            for (int j = i+1; j < m; j++) {
+                double peso = (i + 1 == j) ? 1 :
+                    n * 5.0 + random.nextDouble() * n * 5.0;
+                grafica.conecta(i, j, peso);
+            }
+        }
+    }
+
+    /* Crea una gráfica con n vértices y a lo más m aristas al azar, con pesos
+     * reales entre 1 y 31; con pocas aristas la gráfica casi nunca es
+     * conexa. */
+    private void creaGraficaAleatoria(int n, int m) {
+        grafica = new Grafica<Integer>();
+        for (int i = 0; i < n; i++)
+            grafica.agrega(i);
+        for (int i = 0; i < m; i++) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            if (a == b || grafica.sonVecinos(a, b))
+                continue;
+            grafica.conecta(a, b, 1 + random.nextDouble() * 30);
+        }
+    }
+
+    /* Regresa el peso de una trayectoria en la gráfica. */
+    private double peso(Lista<VerticeGrafica<Integer>> trayectoria) {
+        double peso = 0;
+        VerticeGrafica<Integer> anterior = null;
+        for (VerticeGrafica<Integer> v : trayectoria) {
+            if (anterior != null)
+                peso += grafica.getPeso(anterior.get(), v.get());
+            anterior = v;
+        }
+        return peso;
+    }
+
+    /* Revisa que la trayectoria vaya de a a b y tenga el mismo peso que la
+     * que encuentra Dijkstra; si Dijkstra no encuentra trayectoria, la
+     * trayectoria debe ser vacía. */
+    private void revisaTrayectoria(int a, int b,
+                                   Lista<VerticeGrafica<Integer>> trayectoria) {
+        Lista<VerticeGrafica<Integer>> esperada = grafica.dijkstra(a, b);
+        Assert.assertTrue(esperada.esVacia() == trayectoria.esVacia());
+        if (esperada.esVacia())
+            return;
+        Assert.assertTrue(trayectoria.getPrimero().get() == a);
+        Assert.assertTrue(trayectoria.getUltimo().get() == b);
+        Assert.assertTrue(Math.abs(peso(trayectoria) - peso(esperada)) < 1e-9);
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#dijkstraBidireccional}: el peso de
+     * la trayectoria es el de Dijkstra, también cuando el origen es el
+     * destino y cuando no hay trayectoria.
+     */
+    @Test public void testDijkstraBidireccional() {
+        total = 200 + random.nextInt(300);
+        creaGraficaAleatoria(total, total);
+        grafica.agrega(total);
+        for (int k = 0; k < 50; k++) {
+            int a = random.nextInt(total);
+            int b = random.nextInt(total);
+            revisaTrayectoria(a, b, grafica.dijkstraBidireccional(a, b));
+        }
+        for (int a = 0; a < total; a += 1 + random.nextInt(20)) {
+            Lista<VerticeGrafica<Integer>> trayectoria =
+                grafica.dijkstraBidireccional(a, a);
+            Assert.assertTrue(trayectoria.getLongitud() == 1);
+            Assert.assertTrue(trayectoria.getPrimero().get() == a);
+            Assert.assertTrue(grafica.dijkstraBidireccional(a, total).esVacia());
+            Assert.assertTrue(grafica.dijkstraBidireccional(total, a).esVacia());
+        }
+        try {
+            grafica.dijkstraBidireccional(0, -1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#dijkstraPerezoso}: se detiene en
+     * cuanto asienta el destino, sin asentar los vértices más lejanos, y lo
+     * que queda de búsquedas anteriores no afecta a las siguientes.
+     */
+    @Test public void testDijkstraPerezoso() {
+        creaGraficaCadena(total, total);
+        Lista<VerticeGrafica<Integer>> lista =
+            new Lista<VerticeGrafica<Integer>>();
+        for (int i = 0; i < total; i++) {
+            lista.agrega(grafica.vertice(i));
+            Assert.assertTrue(lista.equals(grafica.dijkstraPerezoso(0, i)));
+            Assert.assertTrue(grafica.getVerticesAsentados() == i + 1);
+        }
+        grafica.agrega(total);
+        Assert.assertTrue(grafica.dijkstraPerezoso(0, total).esVacia());
+        Assert.assertTrue(grafica.getVerticesAsentados() == total);
+        try {
+            grafica.dijkstraPerezoso(0, -1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+
+        total = 200 + random.nextInt(300);
+        creaGraficaAleatoria(total, total * 3);
+        for (int k = 0; k < 50; k++) {
+            int a = random.nextInt(total);
+            int b = random.nextInt(total);
+            Lista<VerticeGrafica<Integer>> trayectoria =
+                grafica.dijkstraPerezoso(a, b);
+            int asentados = grafica.getVerticesAsentados();
+            revisaTrayectoria(a, b, trayectoria);
+            Assert.assertTrue(asentados <= total);
+            Assert.assertTrue(trayectoria.esVacia() ||
+                              asentados >= trayectoria.getLongitud());
+        }
+    }
 }
@@ -0,0 +1,196 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.GraficaCompacta;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.VerticeGrafica;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link GraficaCompacta}.
+ */
+public class TestGraficaCompacta {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La gráfica. */
+    private GraficaCompacta<Integer> grafica;
+
+    /**
+     * Crea una gráfica para cada prueba.
+     */
+    public TestGraficaCompacta() {
+        random = new Random();
+        total = 2 + random.nextInt(100);
+        grafica = new GraficaCompacta<Integer>();
+    }
+
+    /* Regresa el peso de una trayectoria en una gráfica. */
+    private static double peso(Grafica<Integer> grafica,
+                               Lista<VerticeGrafica<Integer>> trayectoria) {
+        double peso = 0;
+        VerticeGrafica<Integer> anterior = null;
+        for (VerticeGrafica<Integer> v : trayectoria) {
+            if (anterior != null)
+                peso += grafica.getPeso(anterior.get(), v.get());
+            anterior = v;
+        }
+        return peso;
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaCompacta#GraficaCompacta}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(grafica.getElementos() == 0);
+        Assert.assertTrue(grafica.getAristas() == 0);
+        Assert.assertFalse(grafica.iterator().hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaCompacta#agrega}.
+     */
+    @Test public void testAgrega() {
+        try {
+            grafica.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(grafica.agrega(i) == i);
+            Assert.assertTrue(grafica.contiene(i));
+            Assert.assertTrue(grafica.indice(i) == i);
+            Assert.assertTrue(grafica.getElemento(i) == i);
+            Assert.assertTrue(grafica.getElementos() == i+1);
+        }
+        Assert.assertFalse(grafica.contiene(-1));
+        int i = 0;
+        for (Integer e : grafica)
+            Assert.assertTrue(e == i++);
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaCompacta#conecta}.
+     */
+    @Test public void testConecta() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        int c = 0;
+        for (int i = 0; i < total; i++) {
+            for (int j = i+1; j < total; j++) {
+                Assert.assertFalse(grafica.sonVecinos(i, j));
+                grafica.conecta(i, j, i + j + 1);
+                Assert.assertTrue(grafica.sonVecinos(i, j));
+                Assert.assertTrue(grafica.sonVecinos(j, i));
+                Assert.assertTrue(grafica.getAristas() == ++c);
+                Assert.assertTrue(grafica.getPeso(i, j) == i + j + 1);
+                Assert.assertTrue(grafica.getPeso(j, i) == i + j + 1);
+            }
+        }
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(grafica.getGrado(i) == total - 1);
+        try {
+            grafica.conecta(0, 0, 1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            grafica.conecta(0, 1, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            grafica.conecta(-1, -2, 1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            grafica.conectaIndices(0, total, 1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaCompacta#trayectoriaMinima}.
+     */
+    @Test public void testTrayectoriaMinima() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        Lista<VerticeGrafica<Integer>> lista =
+            new Lista<VerticeGrafica<Integer>>();
+        lista.agrega(grafica.vertice(0));
+        Assert.assertTrue(lista.equals(grafica.trayectoriaMinima(0, 0)));
+        for (int i = 1; i < total; i++) {
+            grafica.conecta(i-1, i, 1);
+            lista.agrega(grafica.vertice(i));
+            Assert.assertTrue(lista.equals(grafica.trayectoriaMinima(0, i)));
+        }
+        grafica.agrega(total);
+        Assert.assertTrue(grafica.trayectoriaMinima(0, total).esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaCompacta#dijkstra}.
+     */
+    @Test public void testDijkstra() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        Lista<VerticeGrafica<Integer>> lista =
+            new Lista<VerticeGrafica<Integer>>();
+        for (int i = 0; i < total; i++) {
+            for (int j = i+1; j < total; j++) {
+                double peso = (i + 1 == j) ? 1 :
+                    total * 5.0 + random.nextDouble() * total * 5.0;
+                grafica.conecta(i, j, peso);
+            }
+        }
+        for (int i = 0; i < total; i++) {
+            lista.agrega(grafica.vertice(i));
+            Assert.assertTrue(lista.equals(grafica.dijkstra(0, i)));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaCompacta#dijkstraIndices}, comparando
+     * contra {@link Grafica#dijkstra} en gráficas aleatorias.
+     */
+    @Test public void testDijkstraIndices() {
+        total = 200 + random.nextInt(300);
+        Grafica<Integer> g = new Grafica<Integer>();
+        for (int i = 0; i < total; i++) {
+            g.agrega(i);
+            grafica.agrega(i);
+        }
+        for (int i = 0; i < total * 3; i++) {
+            int a = random.nextInt(total);
+            int b = random.nextInt(total);
+            if (a == b || g.sonVecinos(a, b))
+                continue;
+            double peso = 1 + random.nextInt(31);
+            g.conecta(a, b, peso);
+            grafica.conectaIndices(a, b, peso);
+        }
+        for (int k = 0; k < 20; k++) {
+            int a = random.nextInt(total);
+            int b = random.nextInt(total);
+            Lista<VerticeGrafica<Integer>> esperada = g.dijkstra(a, b);
+            int[] trayectoria = grafica.dijkstraIndices(a, b);
+            Assert.assertTrue(esperada.getLongitud() == 0 ?
+                              trayectoria.length == 0 :
+                              trayectoria[0] == a &&
+                              trayectoria[trayectoria.length - 1] == b);
+            double peso = 0;
+            for (int i = 1; i < trayectoria.length; i++) {
+                Assert.assertTrue(g.sonVecinos(trayectoria[i-1], trayectoria[i]));
+                peso += g.getPeso(trayectoria[i-1], trayectoria[i]);
+            }
+            Assert.assertTrue(peso == peso(g, esperada));
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package mx.unam.ciencias.edd.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import mx.unam.ciencias.edd.Conjunto;
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.VerticeGrafica;
+import mx.unam.ciencias.edd.proyecto3.ExcepcionArchivoInvalido;
+import mx.unam.ciencias.edd.proyecto3.Laberinto;
+import mx.unam.ciencias.edd.proyecto3.Solucion;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link Laberinto}.
+ */
+public class TestLaberinto {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba.
+     */
+    public TestLaberinto() {
+        random = new Random();
+    }
+
+    /**
+     * Prueba unitaria para {@link Laberinto#resolverLaberinto(boolean)},
+     * comparando el costo de A* contra el de Dijkstra.
+     */
+    @Test public void testResolverLaberintoAEstrella() {
+        for (int k = 0; k < 20; k++) {
+            int ancho = 2 + random.nextInt(100);
+            int alto = 2 + random.nextInt(100);
+            int semilla = random.nextInt();
+            Laberinto dijkstra = new Laberinto(ancho, alto, semilla);
+            Laberinto aEstrella = new Laberinto(ancho, alto, semilla);
+            Assert.assertTrue(dijkstra.getCosto() == -1);
+            dijkstra.resolverLaberinto();
+            aEstrella.resolverLaberinto(true);
+            Assert.assertTrue(dijkstra.getCosto() > 0);
+            Assert.assertTrue(aEstrella.getCosto() == dijkstra.getCosto());
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Laberinto#resuelve}, comparando el costo con
+     * el de {@link Grafica#dijkstra} sobre la gráfica equivalente del
+     * laberinto: una arista por cada pared interior tirada, con peso 1 más
+     * el puntaje de las dos casillas.
+     */
+    @Test public void testResuelveContraGrafica() {
+        int ancho = 2 + random.nextInt(30);
+        int alto = 2 + random.nextInt(30);
+        Laberinto laberinto = new Laberinto(ancho, alto, random.nextInt());
+        byte[] bytes = bytes(laberinto);
+        int n = ancho * alto;
+        Grafica<Integer> grafica = new Grafica<Integer>();
+        for (int k = 0; k < n; k++)
+            grafica.agrega(k);
+        for (int k = 0; k < n; k++) {
+            int celda = bytes[6 + k];
+            if (k % ancho < ancho - 1 && (celda & Laberinto.P_OESTE) == 0)
+                grafica.conecta(k, k + 1, peso(bytes, k, k + 1));
+            if (k / ancho < alto - 1 && (celda & Laberinto.P_SUR) == 0)
+                grafica.conecta(k, k + ancho, peso(bytes, k, k + ancho));
+        }
+
+        for (int q = 0; q < 50; q++) {
+            int origen = random.nextInt(n);
+            int destino = random.nextInt(n);
+            Lista<VerticeGrafica<Integer>> trayectoria =
+                grafica.dijkstra(origen, destino);
+            int esperado = 0;
+            VerticeGrafica<Integer> anterior = null;
+            for (VerticeGrafica<Integer> v : trayectoria) {
+                if (anterior != null)
+                    esperado += (int)grafica.getPeso(anterior.get(), v.get());
+                anterior = v;
+            }
+            if (trayectoria.esVacia())
+                esperado = -1;
+            Solucion dijkstra = laberinto.resuelve(origen, destino, false);
+            Solucion aEstrella = laberinto.resuelve(origen, destino, true);
+            Assert.assertTrue(dijkstra.getCosto() == esperado);
+            Assert.assertTrue(aEstrella.getCosto() == esperado);
+        }
+    }
+
+    /* Regresa el peso de la arista entre dos casillas vecinas: 1 más el
+     * puntaje de ambas. */
+    private static int peso(byte[] bytes, int a, int b) {
+        return 1 + ((bytes[6 + a] >> 4) & 0xf) + ((bytes[6 + b] >> 4) & 0xf);
+    }
+
+    /**
+     * Prueba unitaria para {@link Laberinto#getSolucion}: el camino va de la
+     * primera a la última columna por casillas vecinas, su peso es el costo,
+     * y el SVG tiene un segmento rojo por cada paso.
+     */
+    @Test public void testGetSolucion() {
+        int ancho = 2 + random.nextInt(100);
+        int alto = 2 + random.nextInt(100);
+        Laberinto laberinto = new Laberinto(ancho, alto, random.nextInt());
+        Assert.assertTrue(laberinto.getSolucion().length == 0);
+        laberinto.resolverLaberinto();
+        int[] solucion = laberinto.getSolucion();
+        Assert.assertTrue(solucion.length >= 2);
+        Assert.assertTrue(solucion[0] % ancho == 0);
+        Assert.assertTrue(solucion[solucion.length - 1] % ancho == ancho - 1);
+
+        byte[] bytes = bytes(laberinto);
+        int costo = 0;
+        for (int k = 1; k < solucion.length; k++) {
+            int a = solucion[k-1], b = solucion[k];
+            int diferencia = Math.abs(a - b);
+            Assert.assertTrue(diferencia == ancho ||
+                              (diferencia == 1 && a / ancho == b / ancho));
+            costo += 1 + ((bytes[6 + a] >> 4) & 0xf) + ((bytes[6 + b] >> 4) & 0xf);
+        }
+        Assert.assertTrue(costo == laberinto.getCosto());
+
+        String svg = laberinto.toSVG();
+        int rojos = 0;
+        for (int i = svg.indexOf("stroke=\"red\""); i != -1;
+             i = svg.indexOf("stroke=\"red\"", i + 1))
+            rojos++;
+        Assert.assertTrue(rojos == solucion.length - 1);
+
+        solucion[0] = -1;
+        Assert.assertTrue(laberinto.getSolucion()[0] != -1);
+        laberinto.resolverLaberinto();
+        Assert.assertTrue(laberinto.toSVG().equals(svg));
+    }
+
+    /**
+     * Prueba unitaria para {@link Laberinto#escribeSVG(java.io.OutputStream)}.
+     */
+    @Test public void testEscribeSVG() throws IOException {
+        int ancho = 2 + random.nextInt(50);
+        int alto = 2 + random.nextInt(50);
+        Laberinto laberinto = new Laberinto(ancho, alto, random.nextInt());
+        laberinto.resolverLaberinto();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        laberinto.escribeSVG(out);
+        String svg = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        Assert.assertTrue(svg.equals(laberinto.toSVG()));
+        Assert.assertTrue(svg.startsWith("<?xml"));
+        Assert.assertTrue(svg.contains(String.format("<svg width=\"%d\" height=\"%d\">",
+                                                     ancho * 20, alto * 20)));
+        Assert.assertTrue(svg.contains("fill=\"blue\""));
+        Assert.assertTrue(svg.contains("fill=\"red\""));
+        Assert.assertTrue(svg.endsWith("</svg>"));
+    }
+
+    /* Agrega al conjunto los segmentos unitarios de un segmento alineado. */
+    private static void agregaSegmentos(Conjunto<String> segmentos,
+                                        int x1, int y1, int x2, int y2) {
+        int dx = Integer.signum(x2 - x1) * 20, dy = Integer.signum(y2 - y1) * 20;
+        while (x1 != x2 || y1 != y2) {
+            int x = x1 + dx, y = y1 + dy;
+            segmentos.agrega(Math.min(x1, x) + "," + Math.min(y1, y) + "," +
+                             Math.max(x1, x) + "," + Math.max(y1, y));
+            x1 = x;
+            y1 = y;
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Laberinto#escribeSVG(java.io.Writer,
+     * boolean)} en modo compacto: los trazos unidos deben cubrir exactamente
+     * los mismos muros que las líneas individuales.
+     */
+    @Test public void testEscribeSVGCompacto() throws IOException {
+        int ancho = 2 + random.nextInt(50);
+        int alto = 2 + random.nextInt(50);
+        Laberinto laberinto = new Laberinto(ancho, alto, random.nextInt());
+        laberinto.resolverLaberinto();
+        String svg = laberinto.toSVG();
+        StringWriter sw = new StringWriter();
+        laberinto.escribeSVG(sw, true);
+        String compacto = sw.toString();
+        Assert.assertTrue(compacto.length() < svg.length());
+
+        Conjunto<String> muros = new Conjunto<String>();
+        Matcher m = Pattern.compile("x1=\"(\\d+)\" y1=\"(\\d+)\" x2=\"(\\d+)\" " +
+                                    "y2=\"(\\d+)\" stroke=\"black\"").matcher(svg);
+        while (m.find())
+            agregaSegmentos(muros, Integer.parseInt(m.group(1)),
+                            Integer.parseInt(m.group(2)),
+                            Integer.parseInt(m.group(3)),
+                            Integer.parseInt(m.group(4)));
+
+        Conjunto<String> tramos = new Conjunto<String>();
+        int negro = compacto.indexOf("stroke=\"black\"");
+        String trazo = compacto.substring(compacto.lastIndexOf("<path", negro), negro);
+        m = Pattern.compile("M(\\d+) (\\d+)([hv])(\\d+)").matcher(trazo);
+        int n = 0;
+        while (m.find()) {
+            int x = Integer.parseInt(m.group(1));
+            int y = Integer.parseInt(m.group(2));
+            int l = Integer.parseInt(m.group(4));
+            if (m.group(3).equals("h"))
+                agregaSegmentos(tramos, x, y, x + l, y);
+            else
+                agregaSegmentos(tramos, x, y, x, y + l);
+            n++;
+        }
+        Assert.assertTrue(n > 0);
+        Assert.assertTrue(tramos.getElementos() == muros.getElementos());
+        for (String segmento : muros)
+            Assert.assertTrue(tramos.contiene(segmento));
+        Assert.assertTrue(compacto.contains("stroke=\"red\""));
+    }
+
+    /* Regresa los bytes del archivo .mze de un laberinto. */
+    private static byte[] bytes(Laberinto laberinto) {
+        PrintStream salida = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out));
+        try {
+            laberinto.imprimeBytes();
+        } finally {
+            System.setOut(salida);
+        }
+        return out.toByteArray();
+    }
+
+    /* Nos dice si leer los bytes lanza ExcepcionArchivoInvalido. */
+    private static boolean esInvalido(byte[] bytes) throws IOException {
+        try {
+            new Laberinto(new ByteArrayInputStream(bytes));
+            return false;
+        } catch (ExcepcionArchivoInvalido eai) {
+            return true;
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Laberinto#Laberinto(java.io.InputStream)}.
+     */
+    @Test public void testLeeArchivo() throws IOException {
+        int ancho = 2 + random.nextInt(50);
+        int alto = 2 + random.nextInt(50);
+        byte[] bytes = bytes(new Laberinto(ancho, alto, random.nextInt()));
+        Laberinto laberinto = new Laberinto(new ByteArrayInputStream(bytes));
+        laberinto.resolverLaberinto();
+        Assert.assertTrue(laberinto.getCosto() > 0);
+
+        byte[] corto = new byte[bytes.length - 1 - random.nextInt(ancho * alto)];
+        System.arraycopy(bytes, 0, corto, 0, corto.length);
+        Assert.assertTrue(esInvalido(corto));
+
+        byte[] largo = new byte[bytes.length + 1];
+        System.arraycopy(bytes, 0, largo, 0, bytes.length);
+        Assert.assertTrue(esInvalido(largo));
+
+        byte[] magico = bytes.clone();
+        magico[random.nextInt(4)] ^= 0x20;
+        Assert.assertTrue(esInvalido(magico));
+
+        Assert.assertTrue(esInvalido(new byte[] { 'M', 'A', 'Z', 'E', 1, 5 }));
+        Assert.assertTrue(esInvalido(new byte[] { 'M', 'A', 'Z', 'E', 0, 9 }));
+        // Un laberinto de 2x2 cerrado no tiene entrada ni salida
+        Assert.assertTrue(esInvalido(new byte[] { 'M', 'A', 'Z', 'E', 2, 2,
+                                                  0x0f, 0x0f, 0x0f, 0x0f }));
+    }
+
+    /**
+     * Prueba unitaria para {@link Laberinto#Laberinto(java.nio.file.Path)}.
+     */
+    @Test public void testLeeArchivoMapeado() throws IOException {
+        int ancho = 2 + random.nextInt(50);
+        int alto = 2 + random.nextInt(50);
+        byte[] bytes = bytes(new Laberinto(ancho, alto, random.nextInt()));
+        Path archivo = Files.createTempFile("laberinto", ".mze");
+        try {
+            Files.write(archivo, bytes);
+            archivo.toFile().setReadOnly();
+            Laberinto mapeado = new Laberinto(archivo);
+            Laberinto leido = new Laberinto(new ByteArrayInputStream(bytes));
+            mapeado.resolverLaberinto();
+            leido.resolverLaberinto();
+            Assert.assertTrue(mapeado.getCosto() == leido.getCosto());
+            Assert.assertTrue(mapeado.toSVG().equals(leido.toSVG()));
+            // El archivo no cambia al marcar la entrada y la salida
+            Assert.assertTrue(Arrays.equals(Files.readAllBytes(archivo), bytes));
+
+            byte[] corto = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 0, corto, 0, corto.length);
+            archivo.toFile().setWritable(true);
+            Files.write(archivo, corto);
+            try {
+                new Laberinto(archivo);
+                Assert.fail();
+            } catch (ExcepcionArchivoInvalido eai) {}
+        } finally {
+            Files.delete(archivo);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Laberinto#imprimeBytes(java.io.OutputStream)}
+     * y {@link Laberinto#imprimeBytes(java.nio.channels.WritableByteChannel)}.
+     */
+    @Test public void testImprimeBytes() throws IOException {
+        int ancho = 2 + random.nextInt(300);
+        int alto = 2 + random.nextInt(300);
+        Laberinto laberinto = new Laberinto(ancho, alto, random.nextInt());
+        byte[] bytes = bytes(laberinto);
+        int encabezado = ancho <= 0xFF && alto <= 0xFF ? 6 : bytes.length - ancho * alto;
+        Assert.assertTrue(bytes.length == encabezado + ancho * alto);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        laberinto.imprimeBytes(out);
+        Assert.assertTrue(Arrays.equals(out.toByteArray(), bytes));
+
+        out = new ByteArrayOutputStream();
+        laberinto.imprimeBytes(Channels.newChannel(out));
+        Assert.assertTrue(Arrays.equals(out.toByteArray(), bytes));
+
+        // Un laberinto leído se escribe con su entrada y su salida marcadas,
+        // también si viene de un archivo mapeado
+        Laberinto leido = new Laberinto(new ByteArrayInputStream(bytes));
+        out = new ByteArrayOutputStream();
+        leido.imprimeBytes(out);
+        Path archivo = Files.createTempFile("laberinto", ".mze");
+        try {
+            Files.write(archivo, bytes);
+            ByteArrayOutputStream mapeado = new ByteArrayOutputStream();
+            new Laberinto(archivo).imprimeBytes(Channels.newChannel(mapeado));
+            Assert.assertTrue(Arrays.equals(mapeado.toByteArray(), out.toByteArray()));
+            mapeado = new ByteArrayOutputStream();
+            new Laberinto(archivo).imprimeBytes(mapeado);
+            Assert.assertTrue(Arrays.equals(mapeado.toByteArray(), out.toByteArray()));
+        } finally {
+            Files.delete(archivo);
+        }
+    }
+
+    /**
+     * Prueba unitaria para el encabezado extendido de los laberintos con más
+     * de 255 columnas o renglones: los bytes exactos del encabezado, la
+     * lectura con {@link Laberinto#Laberinto(java.io.InputStream)} y con
+     * {@link Laberinto#Laberinto(java.nio.file.Path)}, y los encabezados
+     * extendidos inválidos.
+     */
+    @Test public void testEncabezadoExtendido() throws IOException {
+        // 300 = 0xAC 0x02 y 256 = 0x80 0x02 en LEB128
+        revisaEncabezadoExtendido(300, 20, new byte[] { 'M', 'A', 'Z', 'E', 0, 1,
+                                                        20, (byte)0xAC, 2 });
+        revisaEncabezadoExtendido(3, 256, new byte[] { 'M', 'A', 'Z', 'E', 0, 1,
+                                                       (byte)0x80, 2, 3 });
+
+        byte[] bytes = bytes(new Laberinto(300, 20, 1));
+        byte[] version = bytes.clone();
+        version[5] = 2;
+        Assert.assertTrue(esInvalido(version));
+        Assert.assertTrue(esInvalidoMapeado(version));
+
+        byte[] largo = new byte[] { 'M', 'A', 'Z', 'E', 0, 1, (byte)0x80, (byte)0x80,
+                                    (byte)0x80, (byte)0x80, (byte)0x80, 1, 20 };
+        Assert.assertTrue(esInvalido(largo));
+        Assert.assertTrue(esInvalidoMapeado(largo));
+    }
+
+    /* Revisa que el laberinto con las dimensiones dadas se escriba con el
+     * encabezado dado, y que leerlo de una entrada o de un archivo mapeado
+     * dé el mismo laberinto. */
+    private void revisaEncabezadoExtendido(int ancho, int alto, byte[] encabezado)
+        throws IOException {
+        Laberinto laberinto = new Laberinto(ancho, alto, random.nextInt());
+        byte[] bytes = bytes(laberinto);
+        Assert.assertTrue(bytes.length == encabezado.length + ancho * alto);
+        Assert.assertTrue(Arrays.equals(Arrays.copyOf(bytes, encabezado.length),
+                                        encabezado));
+
+        // Al leerlo, la entrada es la primera abertura por renglones, así que
+        // se compara lo leído de las dos formas y no contra el original.
+        Laberinto leido = new Laberinto(new ByteArrayInputStream(bytes));
+        leido.resolverLaberinto();
+        byte[] releido = bytes(leido);
+        Assert.assertTrue(releido.length == bytes.length);
+        Assert.assertTrue(Arrays.equals(Arrays.copyOf(releido, encabezado.length),
+                                        encabezado));
+        Assert.assertTrue(leido.getCosto() > 0);
+
+        Path archivo = Files.createTempFile("laberinto", ".mze");
+        try {
+            Files.write(archivo, bytes);
+            Laberinto mapeado = new Laberinto(archivo);
+            mapeado.resolverLaberinto();
+            Assert.assertTrue(Arrays.equals(bytes(mapeado), releido));
+            Assert.assertTrue(mapeado.getCosto() == leido.getCosto());
+            Assert.assertTrue(mapeado.toSVG().equals(leido.toSVG()));
+        } finally {
+            Files.delete(archivo);
+        }
+    }
+
+    /* Nos dice si leer los bytes desde un archivo mapeado lanza
+     * ExcepcionArchivoInvalido. */
+    private static boolean esInvalidoMapeado(byte[] bytes) throws IOException {
+        Path archivo = Files.createTempFile("laberinto", ".mze");
+        try {
+            Files.write(archivo, bytes);
+            new Laberinto(archivo);
+            return false;
+        } catch (ExcepcionArchivoInvalido eai) {
+            return true;
+        } finally {
+            Files.delete(archivo);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloCubetas;
+import mx.unam.ciencias.edd.ValorIndexable;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MonticuloCubetas}.
+ */
+public class TestMonticuloCubetas {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* La cota de las llaves. */
+    private static final int COTA = 31;
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El montículo de cubetas. */
+    private MonticuloCubetas<ValorIndexable<String>> monticulo;
+    /* Arreglo auxiliar. */
+    private ValorIndexable<String>[] arreglo;
+
+    /**
+     * Crea un montículo de cubetas para cada prueba, con llaves enteras entre
+     * 0 y la cota.
+     */
+    public TestMonticuloCubetas() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        @SuppressWarnings("unchecked")
+            ValorIndexable<String>[] a =
+            (ValorIndexable<String>[])new ValorIndexable[total];
+        arreglo = a;
+        Lista<ValorIndexable<String>> lista = new Lista<ValorIndexable<String>>();
+        for (int i = 0; i < total; i++) {
+            String s = Integer.toString(random.nextInt());
+            ValorIndexable<String> idx =
+                new ValorIndexable<String>(s, random.nextInt(COTA + 1));
+            arreglo[i] = idx;
+            lista.agrega(idx);
+        }
+        monticulo = new MonticuloCubetas<ValorIndexable<String>>(
+            lista, total, COTA, v -> v.getValor());
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloCubetas#MonticuloCubetas}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(monticulo.getElementos() == total);
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(monticulo.get(i) == arreglo[i]);
+            Assert.assertTrue(arreglo[i].getIndice() == i);
+        }
+        Lista<ValorIndexable<String>> lista = new Lista<ValorIndexable<String>>();
+        lista.agrega(new ValorIndexable<String>("a", 0.5));
+        try {
+            new MonticuloCubetas<ValorIndexable<String>>(lista, 1, COTA,
+                                                          v -> v.getValor());
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloCubetas#elimina}.
+     */
+    @Test public void testElimina() {
+        double anterior = 0;
+        while (!monticulo.esVacia()) {
+            ValorIndexable<String> a = monticulo.elimina();
+            Assert.assertTrue(a.getIndice() == -1);
+            Assert.assertTrue(a.getValor() >= anterior);
+            anterior = a.getValor();
+            Assert.assertTrue(monticulo.getElementos() == --total);
+        }
+        try {
+            monticulo.elimina();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloCubetas#elimina} con elementos de
+     * llave infinita.
+     */
+    @Test public void testEliminaInfinitos() {
+        Lista<ValorIndexable<String>> lista = new Lista<ValorIndexable<String>>();
+        for (int i = 0; i < total; i++)
+            lista.agrega(new ValorIndexable<String>(Integer.toString(i),
+                                                    i == 0 ? 0 : Double.MAX_VALUE));
+        monticulo = new MonticuloCubetas<ValorIndexable<String>>(
+            lista, total, COTA, v -> v.getValor());
+        Assert.assertTrue(monticulo.elimina().getValor() == 0);
+        int n = 1;
+        while (!monticulo.esVacia()) {
+            Assert.assertTrue(monticulo.elimina().getValor() == Double.MAX_VALUE);
+            n++;
+        }
+        Assert.assertTrue(n == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloCubetas#reordena}.
+     */
+    @Test public void testReordena() {
+        ValorIndexable<String> minimo = monticulo.elimina();
+        double piso = minimo.getValor();
+        for (int i = 0; i < total; i++) {
+            ValorIndexable<String> idx = arreglo[random.nextInt(total)];
+            if (idx.getIndice() == -1 || idx.getValor() == piso)
+                continue;
+            idx.setValor(piso + random.nextInt((int)(idx.getValor() - piso)));
+            monticulo.reordena(idx);
+        }
+        double anterior = piso;
+        int n = 1;
+        while (!monticulo.esVacia()) {
+            ValorIndexable<String> a = monticulo.elimina();
+            Assert.assertTrue(a.getValor() >= anterior);
+            anterior = a.getValor();
+            n++;
+        }
+        Assert.assertTrue(n == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloCubetas#get}.
+     */
+    @Test public void testGet() {
+        try {
+            monticulo.get(-1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            monticulo.get(total);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < arreglo.length; i++)
+            Assert.assertTrue(monticulo.get(i) == arreglo[i]);
+    }
+}
@@ -0,0 +1,174 @@
+package mx.unam.ciencias.edd.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import mx.unam.ciencias.edd.proyecto3.Laberinto;
+import mx.unam.ciencias.edd.proyecto3.ProcesadorLotes;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ProcesadorLotes}.
+ */
+public class TestProcesadorLotes {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+    /** Directorio temporal para los laberintos y los SVG. */
+    @Rule public TemporaryFolder carpeta = new TemporaryFolder();
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número de laberintos del lote. */
+    private int total;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba.
+     */
+    public TestProcesadorLotes() {
+        random = new Random();
+        total = 2 + random.nextInt(8);
+    }
+
+    /* Regresa el SVG esperado de un laberinto, con el salto de línea final.
+     * Los laberintos de archivo se comparan contra el mismo archivo resuelto
+     * solo, porque al leerlo la entrada es la primera casilla abierta. */
+    private static String svg(Laberinto laberinto) {
+        laberinto.resolverLaberinto();
+        return laberinto.toSVG() + System.lineSeparator();
+    }
+
+    /* Lee un archivo como cadena. */
+    private static String lee(Path archivo) throws IOException {
+        return new String(Files.readAllBytes(archivo), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Prueba unitaria para {@link ProcesadorLotes#ProcesadorLotes}.
+     */
+    @Test public void testConstructor() {
+        try {
+            new ProcesadorLotes(false, false, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ProcesadorLotes#procesa} con un directorio:
+     * cada archivo .mze produce su SVG, igual al que se obtiene resolviéndolo
+     * solo, y los archivos inválidos se reportan sin detener a los demás.
+     */
+    @Test public void testProcesaDirectorio() throws IOException {
+        Path entrada = carpeta.newFolder("entrada").toPath();
+        Path salida = carpeta.getRoot().toPath().resolve("salida");
+        String[] esperados = new String[total];
+        for (int i = 0; i < total; i++) {
+            int ancho = 2 + random.nextInt(60), alto = 2 + random.nextInt(60);
+            int semilla = random.nextInt();
+            Path archivo = entrada.resolve("l" + i + ".mze");
+            try (OutputStream out = Files.newOutputStream(archivo)) {
+                new Laberinto(ancho, alto, semilla).imprimeBytes(out);
+            }
+            esperados[i] = svg(new Laberinto(archivo));
+        }
+        Files.write(entrada.resolve("roto.mze"), new byte[] { 'M', 'A', 'Z', 'E' });
+        Files.write(entrada.resolve("otro.txt"), new byte[] { 1 });
+
+        ByteArrayOutputStream errores = new ByteArrayOutputStream();
+        int fallidas = new ProcesadorLotes(false, false, 3)
+            .procesa(entrada, salida, new PrintStream(errores, true));
+        Assert.assertTrue(fallidas == 1);
+        Assert.assertTrue(errores.toString().startsWith("roto.svg: "));
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lee(salida.resolve("l" + i + ".svg")).equals(esperados[i]));
+        Assert.assertFalse(Files.exists(salida.resolve("otro.svg")));
+        Assert.assertFalse(Files.exists(salida.resolve("roto.svg")));
+    }
+
+    /**
+     * Prueba unitaria para {@link ProcesadorLotes#procesa} con un manifiesto
+     * de laberintos a generar y archivos.
+     */
+    @Test public void testProcesaManifiesto() throws IOException {
+        Path raiz = carpeta.getRoot().toPath();
+        StringBuilder manifiesto = new StringBuilder("# laberintos\n\n");
+        String[] nombres = new String[total];
+        String[] esperados = new String[total];
+        for (int i = 0; i < total; i++) {
+            int ancho = 2 + random.nextInt(60), alto = 2 + random.nextInt(60);
+            int semilla = random.nextInt();
+            if (i % 2 == 0) {
+                esperados[i] = svg(new Laberinto(ancho, alto, semilla));
+                manifiesto.append(ancho).append(' ').append(alto).append(' ')
+                    .append(semilla).append('\n');
+                nombres[i] = String.format("%dx%d_%d.svg", ancho, alto, semilla);
+            } else {
+                Path archivo = raiz.resolve("m" + i + ".mze");
+                try (OutputStream out = Files.newOutputStream(archivo)) {
+                    new Laberinto(ancho, alto, semilla).imprimeBytes(out);
+                }
+                esperados[i] = svg(new Laberinto(archivo));
+                manifiesto.append("m").append(i).append(".mze\n");
+                nombres[i] = "m" + i + ".svg";
+            }
+        }
+        manifiesto.append("1 5 7\n");
+        Path lote = raiz.resolve("lote.txt");
+        Files.write(lote, manifiesto.toString().getBytes(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream errores = new ByteArrayOutputStream();
+        int fallidas = new ProcesadorLotes(false, true, 2)
+            .procesa(lote, raiz, new PrintStream(errores, true));
+        Assert.assertTrue(fallidas == 1);
+        Assert.assertTrue(errores.toString().startsWith("1x5_7.svg: "));
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(Files.exists(raiz.resolve(nombres[i])));
+
+        new ProcesadorLotes(false, false, 2)
+            .procesa(lote, raiz, new PrintStream(errores, true));
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lee(raiz.resolve(nombres[i])).equals(esperados[i]));
+    }
+
+    /**
+     * Prueba unitaria para {@link ProcesadorLotes#procesa} con entradas que
+     * dan el mismo nombre de SVG: cada una se escribe en su propio archivo.
+     */
+    @Test public void testProcesaNombresRepetidos() throws IOException {
+        Path raiz = carpeta.getRoot().toPath();
+        Path a = carpeta.newFolder("a").toPath().resolve("x.mze");
+        Path b = carpeta.newFolder("b").toPath().resolve("x.mze");
+        try (OutputStream out = Files.newOutputStream(a)) {
+            new Laberinto(30, 20, 1).imprimeBytes(out);
+        }
+        try (OutputStream out = Files.newOutputStream(b)) {
+            new Laberinto(20, 30, 2).imprimeBytes(out);
+        }
+        String manifiesto = "a/x.mze\nb/x.mze\n10 10 1\n10 10 1\n10 10 1\n";
+        Path lote = raiz.resolve("lote.txt");
+        Files.write(lote, manifiesto.getBytes(StandardCharsets.UTF_8));
+        Path salida = raiz.resolve("salida");
+
+        ByteArrayOutputStream errores = new ByteArrayOutputStream();
+        int fallidas = new ProcesadorLotes(false, false, 4)
+            .procesa(lote, salida, new PrintStream(errores, true));
+        Assert.assertTrue(fallidas == 0);
+        Assert.assertTrue(errores.size() == 0);
+        Assert.assertTrue(lee(salida.resolve("x.svg")).equals(svg(new Laberinto(a))));
+        Assert.assertTrue(lee(salida.resolve("x_2.svg")).equals(svg(new Laberinto(b))));
+        String generado = svg(new Laberinto(10, 10, 1));
+        Assert.assertTrue(lee(salida.resolve("10x10_1.svg")).equals(generado));
+        Assert.assertTrue(lee(salida.resolve("10x10_1_2.svg")).equals(generado));
+        Assert.assertTrue(lee(salida.resolve("10x10_1_3.svg")).equals(generado));
+        Assert.assertTrue(salida.toFile().list().length == 5);
+    }
+}
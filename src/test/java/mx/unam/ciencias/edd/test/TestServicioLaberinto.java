@@ -0,0 +1,139 @@
+package mx.unam.ciencias.edd.test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import mx.unam.ciencias.edd.proyecto3.Laberinto;
+import mx.unam.ciencias.edd.proyecto3.ServicioLaberinto;
+import mx.unam.ciencias.edd.proyecto3.Solucion;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ServicioLaberinto}.
+ */
+public class TestServicioLaberinto {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Dimensiones del laberinto. */
+    private int ancho, alto;
+    /* El laberinto. */
+    private Laberinto laberinto;
+
+    /**
+     * Crea un laberinto al azar para cada prueba.
+     */
+    public TestServicioLaberinto() {
+        random = new Random();
+        ancho = 2 + random.nextInt(60);
+        alto = 2 + random.nextInt(60);
+        laberinto = new Laberinto(ancho, alto, random.nextInt());
+    }
+
+    /**
+     * Prueba unitaria para {@link ServicioLaberinto#ServicioLaberinto}.
+     */
+    @Test public void testConstructor() {
+        try {
+            new ServicioLaberinto(laberinto, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Laberinto#resuelve}: de la entrada a la
+     * salida da lo mismo que {@link Laberinto#resolverLaberinto}.
+     */
+    @Test public void testResuelve() {
+        Solucion s = laberinto.resuelve(laberinto.getEntrada(),
+                                        laberinto.getSalida(), false);
+        laberinto.resolverLaberinto();
+        Assert.assertTrue(s.getCosto() == laberinto.getCosto());
+        Assert.assertTrue(Arrays.equals(s.getCamino(), laberinto.getSolucion()));
+        Assert.assertTrue(s.getLongitud() == laberinto.getSolucion().length);
+        try {
+            laberinto.resuelve(-1, 0, false);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ServicioLaberinto#solicita}: muchas
+     * consultas concurrentes dan los mismos costos que resueltas una por una.
+     */
+    @Test public void testSolicita() throws Exception {
+        int n = ancho * alto;
+        int total = 500;
+        int[] origenes = new int[total], destinos = new int[total];
+        @SuppressWarnings("unchecked") Future<Solucion>[] futuras = new Future[total];
+        ServicioLaberinto servicio = new ServicioLaberinto(laberinto, 4);
+        for (int i = 0; i < total; i++) {
+            origenes[i] = random.nextInt(n);
+            destinos[i] = random.nextInt(n);
+            futuras[i] = servicio.solicita(origenes[i], destinos[i], random.nextBoolean());
+        }
+        for (int i = 0; i < total; i++) {
+            Solucion esperada = laberinto.resuelve(origenes[i], destinos[i], false);
+            Solucion s = futuras[i].get();
+            Assert.assertTrue(s.getCosto() == esperada.getCosto());
+            int[] camino = s.getCamino();
+            Assert.assertTrue(camino[0] == origenes[i]);
+            Assert.assertTrue(camino[camino.length - 1] == destinos[i]);
+        }
+        try {
+            servicio.solicita(0, n, false).get();
+            Assert.fail();
+        } catch (ExecutionException ee) {
+            Assert.assertTrue(ee.getCause() instanceof NoSuchElementException);
+        }
+        servicio.cierra();
+    }
+
+    /**
+     * Prueba unitaria para {@link ServicioLaberinto#atiende}: las respuestas
+     * salen en el orden de las consultas.
+     */
+    @Test public void testAtiende() throws IOException {
+        int total = 200;
+        StringBuilder consultas = new StringBuilder("\n");
+        Solucion[] esperadas = new Solucion[total];
+        for (int i = 0; i < total; i++) {
+            int r1 = random.nextInt(alto), c1 = random.nextInt(ancho);
+            int r2 = random.nextInt(alto), c2 = random.nextInt(ancho);
+            consultas.append(r1).append(' ').append(c1).append(' ')
+                .append(r2).append(' ').append(c2).append('\n');
+            esperadas[i] = laberinto.resuelve(r1 * ancho + c1, r2 * ancho + c2, true);
+        }
+        consultas.append("0 0 ").append(alto).append(" 0\n").append("a b\n");
+
+        ServicioLaberinto servicio = new ServicioLaberinto(laberinto, 3);
+        StringWriter out = new StringWriter();
+        servicio.atiende(new BufferedReader(new StringReader(consultas.toString())),
+                         out, true);
+        servicio.cierra();
+
+        String[] lineas = out.toString().split(System.lineSeparator());
+        Assert.assertTrue(lineas.length == total + 3);
+        laberinto.resolverLaberinto();
+        Assert.assertTrue(lineas[0].startsWith(laberinto.getCosto() + " "));
+        for (int i = 0; i < total; i++) {
+            String[] campos = lineas[i + 1].split(" ");
+            Assert.assertTrue(Integer.parseInt(campos[0]) == esperadas[i].getCosto());
+            Assert.assertTrue(campos.length == esperadas[i].getLongitud() + 1);
+        }
+        Assert.assertTrue(lineas[total + 1].startsWith("error: "));
+        Assert.assertTrue(lineas[total + 2].startsWith("error: "));
+    }
+}